@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# ONNX 임베딩 모델을 int8 동적 양자화(dynamic quantization) 모델로 변환합니다.
+# - 가중치만 int8로 저장하고, 활성값은 추론 시점에 양자화하므로 보정(calibration) 데이터가 필요 없습니다.
+# - 결과 파일(model_int8.onnx)은 원본과 같은 폴더에 생성됩니다.
+# - 앱 실행: AI_SEARCH_EMBED_PROVIDER=onnx AI_SEARCH_EMBED_QUANTIZATION=int8 ./gradlew bootRun
+#   (기동 시 fp32 대비 코사인 drift를 측정하고, 허용치를 넘으면 기동을 중단합니다.)
+#
+# 사용법: ./sh_bin/model/10_quantize_onnx_int8.sh [모델 폴더]
+#   예) ./sh_bin/model/10_quantize_onnx_int8.sh src/main/resources/model/multilingual-e5-small-ko-v2-onnx
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+MODEL_DIR="${1:-${ROOT_DIR}/src/main/resources/model/multilingual-e5-small-ko-v2-onnx}"
+INPUT_FILE="${MODEL_DIR}/model.onnx"
+OUTPUT_FILE="${MODEL_DIR}/model_int8.onnx"
+
+if [ ! -f "${INPUT_FILE}" ]; then
+  echo "[ERROR] ONNX model not found: ${INPUT_FILE}"
+  echo "        먼저 djl-convert -f OnnxRuntime 으로 변환하세요. (docs/03.model_로컬설치_dji-convert.md)"
+  exit 1
+fi
+
+if ! python3 -c "import onnxruntime.quantization" >/dev/null 2>&1; then
+  echo "[INFO] installing onnxruntime (python)"
+  python3 -m pip install --user onnxruntime onnx
+fi
+
+echo "[INFO] quantizing ${INPUT_FILE} -> ${OUTPUT_FILE}"
+python3 - "${INPUT_FILE}" "${OUTPUT_FILE}" <<'PY'
+import sys
+from onnxruntime.quantization import QuantType, quantize_dynamic
+
+quantize_dynamic(
+    model_input=sys.argv[1],
+    model_output=sys.argv[2],
+    weight_type=QuantType.QInt8,
+    per_channel=True,
+)
+PY
+
+ls -lh "${INPUT_FILE}" "${OUTPUT_FILE}"
+echo "[INFO] done"
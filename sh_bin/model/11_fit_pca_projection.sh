@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# 상품 임베딩으로 PCA 투영 파일을 만듭니다. (ai-search.embedding-reduction.mode=pca 용)
+# - 상품 임베딩 텍스트를 원본 모델로 임베딩(L2 정규화)한 뒤 평균/주성분을 구합니다.
+# - 출력 형식: 첫 줄 평균 벡터, 다음 줄부터 분산이 큰 순서의 주성분 (공백 구분)
+# - 앱 실행: AI_SEARCH_EMBED_REDUCTION_MODE=pca AI_SEARCH_EMBED_REDUCTION_DIMS=256 ./gradlew bootRun
+#   (차원이 바뀌므로 전체 롤아웃으로 새 인덱스를 만들어야 합니다.)
+# - Matryoshka 학습 모델(예: bge-m3 계열 일부)은 PCA 없이 mode=truncate 로도 충분할 수 있습니다.
+#   DimensionReductionRecallTest 로 recall@10 을 먼저 확인하세요.
+#
+# 사용법: ./sh_bin/model/11_fit_pca_projection.sh [HF 모델 ID] [출력 파일] [최대 주성분 수]
+#   예) ./sh_bin/model/11_fit_pca_projection.sh dragonkue/multilingual-e5-small-ko-v2 \
+#         src/main/resources/model/multilingual-e5-small-ko-v2-pca.txt 256
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+MODEL_ID="${1:-dragonkue/multilingual-e5-small-ko-v2}"
+OUTPUT_FILE="${2:-${ROOT_DIR}/src/main/resources/model/multilingual-e5-small-ko-v2-pca.txt}"
+MAX_COMPONENTS="${3:-256}"
+DATA_FILE="${DATA_FILE:-${ROOT_DIR}/src/main/resources/data/goods_template.json}"
+
+if [ ! -f "${DATA_FILE}" ]; then
+  echo "[ERROR] data file not found: ${DATA_FILE}"
+  exit 1
+fi
+
+if ! python3 -c "import sentence_transformers, numpy" >/dev/null 2>&1; then
+  echo "[INFO] installing sentence-transformers (python)"
+  python3 -m pip install --user sentence-transformers numpy
+fi
+
+echo "[INFO] fitting PCA. model=${MODEL_ID}, data=${DATA_FILE}, maxComponents=${MAX_COMPONENTS}"
+python3 - "${MODEL_ID}" "${DATA_FILE}" "${OUTPUT_FILE}" "${MAX_COMPONENTS}" <<'PY'
+import json
+import sys
+
+import numpy as np
+from sentence_transformers import SentenceTransformer
+
+model_id, data_file, output_file, max_components = sys.argv[1], sys.argv[2], sys.argv[3], int(sys.argv[4])
+fields = ["goodsName", "goodsFullName", "promotionName", "lev2CategoryIdName",
+          "lev3CategoryIdName", "searchKeyword", "brandName", "storageMethodName"]
+prefix = "passage: " if "e5" in model_id.lower() else ""
+
+with open(data_file, encoding="utf-8") as f:
+    foods = json.load(f)
+texts = [prefix + " ".join(str(food.get(field) or "") for field in fields).strip() for food in foods]
+
+vectors = SentenceTransformer(model_id).encode(texts, batch_size=32, normalize_embeddings=True)
+mean = vectors.mean(axis=0)
+_, _, components = np.linalg.svd(vectors - mean, full_matrices=False)
+components = components[:max_components]
+
+with open(output_file, "w", encoding="utf-8") as out:
+    out.write(f"# model={model_id} documents={len(texts)} dims={vectors.shape[1]} components={len(components)}\n")
+    out.write(" ".join(f"{v:.7g}" for v in mean) + "\n")
+    for row in components:
+        out.write(" ".join(f"{v:.7g}" for v in row) + "\n")
+PY
+
+ls -lh "${OUTPUT_FILE}"
+echo "[INFO] done"
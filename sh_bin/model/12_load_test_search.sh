@@ -0,0 +1,109 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# /api/search 부하 테스트 (외부 도구 없이 python3 표준 라이브러리만 사용)
+#
+# 사용 예:
+#   ./sh_bin/model/12_load_test_search.sh http://localhost:8091 platform
+#   ./sh_bin/model/12_load_test_search.sh http://localhost:8091 virtual
+#
+# 환경 변수:
+#   CONCURRENCY       동시 요청 수 (기본 64)
+#   DURATION_SECONDS  측정 시간 (기본 30)
+#   QUERIES_FILE      검색어 목록 (기본 src/main/resources/data/top_queries.txt)
+#   RESULT_FILE       결과를 한 줄씩 추가할 TSV 파일 (기본 build/load-test/search.tsv)
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+
+BASE_URL="${1:-http://localhost:8091}"
+LABEL="${2:-run}"
+CONCURRENCY="${CONCURRENCY:-64}"
+DURATION_SECONDS="${DURATION_SECONDS:-30}"
+QUERIES_FILE="${QUERIES_FILE:-${ROOT_DIR}/src/main/resources/data/top_queries.txt}"
+RESULT_FILE="${RESULT_FILE:-${ROOT_DIR}/build/load-test/search.tsv}"
+
+if [ ! -f "${QUERIES_FILE}" ]; then
+  echo "[ERROR] queries file not found: ${QUERIES_FILE}"
+  exit 1
+fi
+
+mkdir -p "$(dirname "${RESULT_FILE}")"
+
+echo "[INFO] url=${BASE_URL} label=${LABEL} concurrency=${CONCURRENCY} duration=${DURATION_SECONDS}s"
+
+python3 - "${BASE_URL}" "${LABEL}" "${CONCURRENCY}" "${DURATION_SECONDS}" "${QUERIES_FILE}" "${RESULT_FILE}" <<'PY'
+import itertools
+import pathlib
+import sys
+import threading
+import time
+import urllib.error
+import urllib.parse
+import urllib.request
+
+base_url, label, concurrency, duration, queries_file, result_file = sys.argv[1:]
+concurrency = int(concurrency)
+duration = float(duration)
+queries = [line.split("\t")[0].strip() for line in pathlib.Path(queries_file).read_text(encoding="utf-8").splitlines()
+           if line.strip() and not line.startswith("#")]
+query_cycle = itertools.cycle(queries)
+cycle_lock = threading.Lock()
+
+latencies = []
+errors = 0
+stats_lock = threading.Lock()
+deadline = time.monotonic() + duration
+
+
+def next_url():
+    with cycle_lock:
+        query = next(query_cycle)
+    return f"{base_url}/api/search?q={urllib.parse.quote(query)}&page=1&size=10"
+
+
+def worker():
+    global errors
+    local_latencies = []
+    local_errors = 0
+    while time.monotonic() < deadline:
+        started = time.perf_counter()
+        try:
+            with urllib.request.urlopen(next_url(), timeout=10) as response:
+                response.read()
+            local_latencies.append((time.perf_counter() - started) * 1000.0)
+        except (urllib.error.URLError, TimeoutError, ConnectionError):
+            local_errors += 1
+    with stats_lock:
+        latencies.extend(local_latencies)
+        errors += local_errors
+
+
+threads = [threading.Thread(target=worker) for _ in range(concurrency)]
+for thread in threads:
+    thread.start()
+for thread in threads:
+    thread.join()
+
+latencies.sort()
+
+
+def percentile(p):
+    if not latencies:
+        return 0.0
+    return latencies[min(len(latencies) - 1, int(len(latencies) * p))]
+
+
+rps = len(latencies) / duration
+summary = (f"{label}\t{concurrency}\t{len(latencies)}\t{errors}\t{rps:.1f}\t"
+           f"{percentile(0.50):.1f}\t{percentile(0.90):.1f}\t{percentile(0.99):.1f}")
+path = pathlib.Path(result_file)
+if not path.exists():
+    path.write_text("label\tconcurrency\trequests\terrors\trps\tp50_ms\tp90_ms\tp99_ms\n", encoding="utf-8")
+with path.open("a", encoding="utf-8") as out:
+    out.write(summary + "\n")
+
+print(f"[RESULT] requests={len(latencies)} errors={errors} rps={rps:.1f} "
+      f"p50={percentile(0.50):.1f}ms p90={percentile(0.90):.1f}ms p99={percentile(0.99):.1f}ms")
+print(f"[INFO] appended to {result_file}")
+PY
@@ -1,14 +1,43 @@
 package com.example.aisearch;
 
+import com.example.aisearch.config.AiSearchAnnSearchProperties;
+import com.example.aisearch.config.AiSearchEmbeddingProperties;
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
+import com.example.aisearch.config.AiSearchEmbeddingReductionProperties;
+import com.example.aisearch.config.AiSearchEmbeddingStoreProperties;
+import com.example.aisearch.config.AiSearchEmbeddingTextProperties;
+import com.example.aisearch.config.AiSearchHedgeProperties;
+import com.example.aisearch.config.AiSearchIndexingProperties;
 import com.example.aisearch.config.AiSearchK8sProperties;
+import com.example.aisearch.config.AiSearchOnnxEmbeddingProperties;
 import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.config.AiSearchQueryEmbeddingProperties;
+import com.example.aisearch.config.AiSearchResultCacheProperties;
+import com.example.aisearch.config.AiSearchRrfSearchProperties;
+import com.example.aisearch.config.AiSearchVectorIndexProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Primary;
 
 @SpringBootApplication
-@EnableConfigurationProperties({AiSearchProperties.class, AiSearchK8sProperties.class})
+@EnableConfigurationProperties({
+        AiSearchProperties.class,
+        AiSearchK8sProperties.class,
+        AiSearchEmbeddingProperties.class,
+        AiSearchEmbeddingStoreProperties.class,
+        AiSearchOnnxEmbeddingProperties.class,
+        AiSearchEmbeddingQuantizationProperties.class,
+        AiSearchEmbeddingReductionProperties.class,
+        AiSearchEmbeddingTextProperties.class,
+        AiSearchIndexingProperties.class,
+        AiSearchQueryEmbeddingProperties.class,
+        AiSearchVectorIndexProperties.class,
+        AiSearchAnnSearchProperties.class,
+        AiSearchRrfSearchProperties.class,
+        AiSearchResultCacheProperties.class,
+        AiSearchHedgeProperties.class
+})
 public class AiSearchGptApplication {
 
     /*
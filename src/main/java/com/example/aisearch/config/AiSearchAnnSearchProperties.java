@@ -0,0 +1,20 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.search.ann")
+public record AiSearchAnnSearchProperties(
+    /**
+     * kNN 단계에서 가져올 벡터 후보 수 (페이지 끝(from + size)보다 작으면 페이지 끝으로 올린다)
+     */
+    int k,
+    /**
+     * 샤드별 HNSW 탐색 후보 수. 클수록 recall이 오르고 지연이 늘어난다 (k 이상)
+     */
+    int numCandidates,
+    /**
+     * 하이브리드 점수/카테고리 부스팅 스크립트를 다시 계산할 상위 후보 수 (rescore window)
+     */
+    int rescoreWindowSize
+) {
+}
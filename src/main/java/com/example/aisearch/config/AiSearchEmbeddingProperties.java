@@ -0,0 +1,28 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.embedding")
+public record AiSearchEmbeddingProperties(
+    /**
+     * 임베딩 구현체 선택 (djl, onnx, stub)
+     */
+    String provider,
+    /**
+     * 배치 추론 시 한 번의 forward pass에 넣을 최대 문장 수
+     */
+    int batchSize,
+    /**
+     * 공유 모델에서 만들어 두는 Predictor 수 (검색어 임베딩과 색인 워커가 함께 사용)
+     */
+    int predictorPoolSize,
+    /**
+     * Predictor를 빌리기 위해 기다리는 최대 시간(ms)
+     */
+    long predictorBorrowTimeoutMillis,
+    /**
+     * 토큰화 결과 LRU 캐시에 보관할 최대 토큰 수 합계 (같은 문자열은 다시 토큰화하지 않는다, djl은 로컬 모델에만 적용)
+     */
+    long tokenCacheMaxTokens
+) {
+}
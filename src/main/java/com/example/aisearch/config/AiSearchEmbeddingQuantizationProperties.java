@@ -0,0 +1,28 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.embedding-quantization")
+public record AiSearchEmbeddingQuantizationProperties(
+    /**
+     * 양자화 추론 모드 (none, int8). int8은 embedding.provider=onnx 일 때만 지원 (djl이면 기동 실패)
+     */
+    String mode,
+    /**
+     * ONNX 모델 디렉터리 안의 int8 동적 양자화 모델 파일명 (sh_bin/model/10_quantize_onnx_int8.sh로 생성)
+     */
+    String modelFileName,
+    /**
+     * 기동 시 fp32 대비 코사인 drift를 측정할 샘플 문장 목록 경로 (한 줄에 문장 하나)
+     */
+    String driftSamplesPath,
+    /**
+     * 허용하는 최대 drift (1 - 샘플별 최소 코사인 유사도)
+     */
+    double maxDrift,
+    /**
+     * drift가 max-drift를 넘으면 기동을 중단할지 여부. false면 경고 로그만 남긴다
+     */
+    boolean failOnDrift
+) {
+}
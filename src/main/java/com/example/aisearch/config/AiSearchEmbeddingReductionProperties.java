@@ -0,0 +1,21 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.embedding-reduction")
+public record AiSearchEmbeddingReductionProperties(
+    /**
+     * 벡터 차원 축소 모드 (none, truncate, pca). truncate는 앞쪽 K차원만 남기고(Matryoshka 학습 모델용),
+     * pca는 저장된 PCA 투영 행렬을 곱한다. 축소 후에는 다시 L2 정규화한다
+     */
+    String mode,
+    /**
+     * 축소 후 차원 수 K. dense_vector 매핑 dims와 검색어 벡터 차원이 모두 K가 된다
+     */
+    int dimensions,
+    /**
+     * pca 모드에서 사용할 투영 파일 경로 (sh_bin/model/11_fit_pca_projection.sh로 생성)
+     */
+    String projectionPath
+) {
+}
@@ -0,0 +1,20 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.embedding-store")
+public record AiSearchEmbeddingStoreProperties(
+    /**
+     * 색인용 문서 임베딩 디스크 저장소 사용 여부
+     */
+    boolean enabled,
+    /**
+     * 세그먼트 파일을 저장할 디렉터리
+     */
+    String directory,
+    /**
+     * 세그먼트 파일 최대 크기(byte). 초과 시 롤아웃 종료 후 compaction 수행
+     */
+    long maxBytes
+) {
+}
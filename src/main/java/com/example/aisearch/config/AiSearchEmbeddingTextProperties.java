@@ -0,0 +1,19 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "ai-search.embedding-text")
+public record AiSearchEmbeddingTextProperties(
+    /**
+     * 문서 임베딩 텍스트 최대 토큰 수(공백 단위). 초과분은 우선순위가 낮은 필드 뒤쪽부터 잘린다
+     */
+    int maxTokens,
+    /**
+     * 필드별 최대 토큰 수 (goods-name, goods-full-name, promotion-name, lev2-category-name,
+     * lev3-category-name, search-keyword, brand-name, storage-method-name). 없는 필드는 기본값 사용
+     */
+    Map<String, Integer> fieldTokenBudgets
+) {
+}
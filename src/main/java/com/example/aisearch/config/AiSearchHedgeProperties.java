@@ -0,0 +1,16 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.search.hedge")
+public record AiSearchHedgeProperties(
+    /**
+     * 검색어 임베딩이 늦을 때 BM25 fallback 검색을 미리 함께 보낼지 여부
+     */
+    boolean enabled,
+    /**
+     * 임베딩이 이 시간(ms) 안에 준비되지 않으면 BM25 fallback 검색을 병렬로 보낸다 (query-embedding-timeout-millis보다 작게)
+     */
+    long softDeadlineMillis
+) {
+}
@@ -0,0 +1,44 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.indexing")
+public record AiSearchIndexingProperties(
+    /**
+     * 색인 시 병렬로 임베딩을 수행할 워커 수 (워커마다 Predictor 1개)
+     */
+    int embeddingWorkers,
+    /**
+     * 임베딩 워커 -> bulk writer 사이의 대기열 크기 (배치 단위, backpressure 기준)
+     */
+    int pipelineQueueCapacity,
+    /**
+     * 롤아웃 대량 적재 시 bulk 요청 1건에 담을 최대 문서 수
+     */
+    int bulkMaxOperations,
+    /**
+     * 롤아웃 대량 적재 시 bulk 요청 1건의 최대 바이트 크기
+     */
+    long bulkMaxBytes,
+    /**
+     * 롤아웃 대량 적재 시 동시에 진행할 수 있는 bulk 요청 수
+     */
+    int bulkConcurrentRequests,
+    /**
+     * 색인 완료 후 서비스 투입 시 적용할 replica 수
+     */
+    int servingReplicas,
+    /**
+     * 색인 완료 후 서비스 투입 시 적용할 refresh_interval (예: 1s)
+     */
+    String servingRefreshInterval,
+    /**
+     * 색인 완료 후 force merge 목표 세그먼트 수 (0 이하면 생략)
+     */
+    int forceMergeMaxSegments,
+    /**
+     * alias 전환 전 green health 대기 제한 시간(초)
+     */
+    long healthWaitTimeoutSeconds
+) {
+}
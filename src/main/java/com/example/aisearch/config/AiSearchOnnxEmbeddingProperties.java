@@ -0,0 +1,20 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.embedding-onnx")
+public record AiSearchOnnxEmbeddingProperties(
+    /**
+     * ONNX 모델 디렉터리 (model.onnx, tokenizer.json, serving.properties). embedding.provider=onnx 일 때 사용
+     */
+    String modelPath,
+    /**
+     * 디렉터리 안의 ONNX 모델 파일명
+     */
+    String modelFileName,
+    /**
+     * 연산자 하나를 병렬 처리할 스레드 수 (intra-op). 0 이하면 ONNX Runtime 기본값
+     */
+    int intraOpThreads
+) {
+}
@@ -0,0 +1,48 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.query-embedding")
+public record AiSearchQueryEmbeddingProperties(
+    /**
+     * 검색어 임베딩 캐시 저장 형식 (float32, float16, int8)
+     */
+    String cacheEncoding,
+    /**
+     * 검색어 임베딩 캐시 최대 크기(byte). 0 이하면 query-embedding-cache-max-size(엔트리 수) 기준을 사용
+     */
+    long cacheMaxBytes,
+    /**
+     * 기동 후 인기 검색어로 임베딩 캐시를 미리 채울지 여부
+     */
+    boolean warmupEnabled,
+    /**
+     * warm-up 인기 검색어 목록 경로 (classpath: 또는 파일 경로, 한 줄에 검색어 하나)
+     */
+    String warmupQueriesPath,
+    /**
+     * warm-up 최대 검색어 수 (캐시 덤프 + 인기 검색어 목록 합산)
+     */
+    int warmupMaxQueries,
+    /**
+     * warm-up 배치 추론 단위
+     */
+    int warmupBatchSize,
+    /**
+     * warm-up 최대 수행 시간(초). 초과 시 남은 검색어는 건너뛴다
+     */
+    long warmupTimeBudgetSeconds,
+    /**
+     * 종료 시 캐시의 인기 검색어를 기록하고 다음 기동 warm-up에 사용하는 파일 경로 (비어 있으면 사용 안 함)
+     */
+    String cacheDumpPath,
+    /**
+     * 동시 cache miss를 묶어 한 번에 추론할 최대 검색어 수. 1이면 요청마다 단건 추론
+     */
+    int batchMaxSize,
+    /**
+     * 추론 스레드가 모두 바쁠 때 배치를 더 모으기 위해 기다리는 최대 시간(ms)
+     */
+    long batchMaxWaitMillis
+) {
+}
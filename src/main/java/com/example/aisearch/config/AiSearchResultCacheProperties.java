@@ -0,0 +1,20 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.search.result-cache")
+public record AiSearchResultCacheProperties(
+    /**
+     * 검색 결과 캐시 사용 여부
+     */
+    boolean enabled,
+    /**
+     * 검색 결과 캐시 최대 크기(byte, 추정치 기준)
+     */
+    long maxBytes,
+    /**
+     * 검색 결과 캐시 TTL(초). alias 전환 외의 변경(증분 색인, 다른 파드의 alias 전환)은 이 시간 뒤 반영된다
+     */
+    long ttlSeconds
+) {
+}
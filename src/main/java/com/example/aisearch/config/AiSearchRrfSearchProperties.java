@@ -0,0 +1,20 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.search.rrf")
+public record AiSearchRrfSearchProperties(
+    /**
+     * 레그(kNN, BM25)마다 가져와 순위를 융합할 상위 문서 수 (페이지 끝(from + size)보다 작으면 페이지 끝으로 올린다)
+     */
+    int rankWindowSize,
+    /**
+     * RRF 상수 c. score = Σ 1 / (c + rank). 클수록 상위 순위 간 점수 차이가 줄어든다
+     */
+    int rankConstant,
+    /**
+     * kNN 레그의 샤드별 HNSW 탐색 후보 수 (rankWindowSize 이상)
+     */
+    int numCandidates
+) {
+}
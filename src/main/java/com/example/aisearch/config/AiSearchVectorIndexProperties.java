@@ -0,0 +1,20 @@
+package com.example.aisearch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ai-search.vector-index")
+public record AiSearchVectorIndexProperties(
+    /**
+     * product_vector 색인 방식 (hnsw, int8_hnsw, flat). int8_hnsw는 벡터를 int8로 양자화해 HNSW 메모리를 약 1/4로 줄인다
+     */
+    String type,
+    /**
+     * HNSW 노드당 연결 수 (hnsw/int8_hnsw 전용). 클수록 recall과 메모리가 함께 늘어난다
+     */
+    int m,
+    /**
+     * HNSW 그래프 생성 시 후보 수 (hnsw/int8_hnsw 전용). 클수록 색인이 느려지고 그래프 품질이 좋아진다
+     */
+    int efConstruction
+) {
+}
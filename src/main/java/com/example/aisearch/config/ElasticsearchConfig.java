@@ -1,5 +1,6 @@
 package com.example.aisearch.config;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
@@ -55,4 +56,11 @@ public class ElasticsearchConfig {
         // 고수준 Elasticsearch Java Client
         return new ElasticsearchClient(transport);
     }
+
+    @Bean
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(ElasticsearchTransport transport) {
+        // 비동기 Elasticsearch Java Client (같은 전송 계층을 공유한다)
+        // 대량 적재(BulkIngester)처럼 여러 요청을 동시에 진행할 때 사용한다.
+        return new ElasticsearchAsyncClient(transport);
+    }
 }
@@ -1,8 +1,11 @@
 package com.example.aisearch.controller;
 
+import com.example.aisearch.controller.dto.DeltaIndexRequestDto;
+import com.example.aisearch.controller.dto.DeltaIndexResponseDto;
 import com.example.aisearch.controller.dto.RestoreIndexCandidatesResponseDto;
 import com.example.aisearch.controller.dto.RestoreIndexRequestDto;
 import com.example.aisearch.controller.dto.RestoreIndexResponseDto;
+import com.example.aisearch.service.indexing.orchestration.DeltaIndexingService;
 import com.example.aisearch.service.indexing.orchestration.IndexRestoreService;
 import com.example.aisearch.service.indexing.orchestration.result.RestoreIndexCandidatesResult;
 import com.example.aisearch.service.indexing.orchestration.result.RestoreIndexResult;
@@ -15,9 +18,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class IndexController {
 
     private final IndexRestoreService indexRestoreService;
+    private final DeltaIndexingService deltaIndexingService;
 
-    public IndexController(IndexRestoreService indexRestoreService) {
+    public IndexController(IndexRestoreService indexRestoreService, DeltaIndexingService deltaIndexingService) {
         this.indexRestoreService = indexRestoreService;
+        this.deltaIndexingService = deltaIndexingService;
     }
 
     @GetMapping("/api/admin/index-restore/candidates")
@@ -36,4 +41,12 @@ public class IndexController {
         RestoreIndexResult result = indexRestoreService.restoreTo(requestDto.targetIndex());
         return RestoreIndexResponseDto.from(result);
     }
+
+    @PostMapping("/api/admin/index-delta")
+    public DeltaIndexResponseDto applyDelta(
+            @RequestBody(required = false) DeltaIndexRequestDto requestDto
+    ) {
+        String dataPath = requestDto == null ? null : requestDto.dataPath();
+        return DeltaIndexResponseDto.from(deltaIndexingService.applyChanges(dataPath));
+    }
 }
@@ -4,6 +4,9 @@ import com.example.aisearch.controller.dto.ReloadSynonymsRequestDto;
 import com.example.aisearch.controller.dto.ReloadSynonymsResponseDto;
 import com.example.aisearch.controller.dto.SearchResponseDto;
 import com.example.aisearch.controller.dto.ModelRuntimeInfoResponseDto;
+import com.example.aisearch.controller.dto.QueryEmbeddingWarmupResponseDto;
+import com.example.aisearch.controller.dto.SearchResultCacheStatsResponseDto;
+import com.example.aisearch.controller.dto.LexicalFallbackHedgeStatsResponseDto;
 import com.example.aisearch.config.AiSearchProperties;
 import com.example.aisearch.model.search.SearchPageResult;
 import com.example.aisearch.model.search.SearchPagingPolicy;
@@ -11,7 +14,9 @@ import com.example.aisearch.model.search.SearchPrice;
 import com.example.aisearch.model.search.ProductSearchRequest;
 import com.example.aisearch.model.search.SearchSortOption;
 import com.example.aisearch.service.embedding.EmbeddingService;
+import com.example.aisearch.service.embedding.QueryEmbeddingWarmupService;
 import com.example.aisearch.service.search.ProductSearchService;
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedge;
 import com.example.aisearch.service.synonym.SynonymReloadRequest;
 import com.example.aisearch.service.synonym.SynonymReloadResult;
 import com.example.aisearch.service.synonym.SynonymReloadService;
@@ -26,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Validated
 @RestController
@@ -36,21 +42,28 @@ public class SearchController {
     private final SynonymReloadService synonymReloadService;
     private final EmbeddingService embeddingService;
     private final AiSearchProperties aiSearchProperties;
+    private final QueryEmbeddingWarmupService queryEmbeddingWarmupService;
+    private final LexicalFallbackHedge lexicalFallbackHedge;
 
     public SearchController(
             ProductSearchService productSearchService,
             SynonymReloadService synonymReloadService,
             EmbeddingService embeddingService,
-            AiSearchProperties aiSearchProperties
+            AiSearchProperties aiSearchProperties,
+            QueryEmbeddingWarmupService queryEmbeddingWarmupService,
+            LexicalFallbackHedge lexicalFallbackHedge
     ) {
         this.productSearchService = productSearchService;
         this.synonymReloadService = synonymReloadService;
         this.embeddingService = embeddingService;
         this.aiSearchProperties = aiSearchProperties;
+        this.queryEmbeddingWarmupService = queryEmbeddingWarmupService;
+        this.lexicalFallbackHedge = lexicalFallbackHedge;
     }
 
+    // 검색은 비동기로 처리한다. 임베딩/ES 응답을 기다리는 동안 요청 스레드를 컨테이너에 반환한다.
     @GetMapping("/api/search")
-    public SearchResponseDto search(
+    public CompletableFuture<SearchResponseDto> search(
             @RequestParam(value = "q", required = false) String query,
             @RequestParam(value = "page", defaultValue = "1") Integer page,
             @RequestParam(value = "size", defaultValue = "5") Integer size,
@@ -65,8 +78,20 @@ public class SearchController {
         ProductSearchRequest request = new ProductSearchRequest(query, searchPrice, categoryIds, sortOption);
         Pageable pageable = SearchPagingPolicy.toPageable(page, size);
 
-        SearchPageResult pageResult = productSearchService.searchPage(request, pageable);
         List<Integer> normalizedCategoryIds = categoryIds == null ? List.of() : categoryIds;
+        return productSearchService.searchPageAsync(request, pageable)
+                .thenApply(pageResult -> toResponse(
+                        query, minPrice, maxPrice, normalizedCategoryIds, sortOption, pageResult));
+    }
+
+    private SearchResponseDto toResponse(
+            String query,
+            Integer minPrice,
+            Integer maxPrice,
+            List<Integer> normalizedCategoryIds,
+            SearchSortOption sortOption,
+            SearchPageResult pageResult
+    ) {
         return new SearchResponseDto(
                 query,
                 pageResult.page(),
@@ -95,10 +120,26 @@ public class SearchController {
                 embeddingService.dimensions(),
                 heapUsedBytes,
                 heapMaxBytes,
-                modelSource
+                modelSource,
+                embeddingService.predictorPoolStats().orElse(null)
         );
     }
 
+    @GetMapping("/api/search/query-embedding/warmup")
+    public QueryEmbeddingWarmupResponseDto queryEmbeddingWarmupStatus() {
+        return QueryEmbeddingWarmupResponseDto.from(queryEmbeddingWarmupService.status());
+    }
+
+    @GetMapping("/api/search/result-cache")
+    public SearchResultCacheStatsResponseDto resultCacheStats() {
+        return SearchResultCacheStatsResponseDto.from(productSearchService.resultCacheStats());
+    }
+
+    @GetMapping("/api/search/hedge")
+    public LexicalFallbackHedgeStatsResponseDto hedgeStats() {
+        return LexicalFallbackHedgeStatsResponseDto.from(lexicalFallbackHedge.stats());
+    }
+
     @PostMapping("/api/search/reload-synonyms")
     public ReloadSynonymsResponseDto reloadSynonyms(
             @RequestBody(required = false) ReloadSynonymsRequestDto requestDto
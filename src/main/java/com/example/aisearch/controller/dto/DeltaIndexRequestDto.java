@@ -0,0 +1,6 @@
+package com.example.aisearch.controller.dto;
+
+public record DeltaIndexRequestDto(
+        String dataPath
+) {
+}
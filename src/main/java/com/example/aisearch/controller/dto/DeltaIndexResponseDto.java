@@ -0,0 +1,19 @@
+package com.example.aisearch.controller.dto;
+
+import com.example.aisearch.service.indexing.orchestration.result.DeltaIndexingResult;
+
+public record DeltaIndexResponseDto(
+        String targetIndex,
+        long totalCount,
+        long reembeddedCount,
+        long partialUpdatedCount
+) {
+    public static DeltaIndexResponseDto from(DeltaIndexingResult result) {
+        return new DeltaIndexResponseDto(
+                result.targetIndex(),
+                result.totalCount(),
+                result.reembeddedCount(),
+                result.partialUpdatedCount()
+        );
+    }
+}
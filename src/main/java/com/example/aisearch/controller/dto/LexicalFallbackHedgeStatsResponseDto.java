@@ -0,0 +1,29 @@
+package com.example.aisearch.controller.dto;
+
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedgeStats;
+
+public record LexicalFallbackHedgeStatsResponseDto(
+        boolean enabled,
+        long softDeadlineMillis,
+        long searches,
+        long hedgesFired,
+        long hedgeWins,
+        double fireRate,
+        double winRate
+) {
+    public static LexicalFallbackHedgeStatsResponseDto from(LexicalFallbackHedgeStats stats) {
+        return new LexicalFallbackHedgeStatsResponseDto(
+                stats.enabled(),
+                stats.softDeadlineMillis(),
+                stats.searches(),
+                stats.hedgesFired(),
+                stats.hedgeWins(),
+                ratio(stats.hedgesFired(), stats.searches()),
+                ratio(stats.hedgeWins(), stats.hedgesFired())
+        );
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+}
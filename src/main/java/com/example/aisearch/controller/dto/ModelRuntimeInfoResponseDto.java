@@ -1,9 +1,12 @@
 package com.example.aisearch.controller.dto;
 
+import com.example.aisearch.service.embedding.PredictorPoolStats;
+
 public record ModelRuntimeInfoResponseDto(
         int dimensions,
         long heapUsedBytes,
         long heapMaxBytes,
-        String modelSource
+        String modelSource,
+        PredictorPoolStats predictorPool
 ) {
 }
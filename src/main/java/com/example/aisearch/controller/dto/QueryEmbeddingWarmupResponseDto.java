@@ -0,0 +1,25 @@
+package com.example.aisearch.controller.dto;
+
+import com.example.aisearch.service.embedding.QueryEmbeddingWarmupStatus;
+
+public record QueryEmbeddingWarmupResponseDto(
+        String state,
+        int totalQueries,
+        int processedQueries,
+        int warmedQueries,
+        long elapsedMillis,
+        long timeBudgetMillis,
+        String message
+) {
+    public static QueryEmbeddingWarmupResponseDto from(QueryEmbeddingWarmupStatus status) {
+        return new QueryEmbeddingWarmupResponseDto(
+                status.state(),
+                status.totalQueries(),
+                status.processedQueries(),
+                status.warmedQueries(),
+                status.elapsedMillis(),
+                status.timeBudgetMillis(),
+                status.message()
+        );
+    }
+}
@@ -5,13 +5,15 @@ import com.example.aisearch.service.indexing.orchestration.result.RestoreIndexCa
 public record RestoreIndexCandidateDto(
         String indexName,
         boolean current,
-        boolean restorable
+        boolean restorable,
+        String vectorIndex
 ) {
     public static RestoreIndexCandidateDto from(RestoreIndexCandidate candidate) {
         return new RestoreIndexCandidateDto(
                 candidate.indexName(),
                 candidate.current(),
-                candidate.restorable()
+                candidate.restorable(),
+                candidate.vectorIndex()
         );
     }
 }
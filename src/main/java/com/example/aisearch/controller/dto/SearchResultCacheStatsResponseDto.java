@@ -0,0 +1,29 @@
+package com.example.aisearch.controller.dto;
+
+import com.example.aisearch.service.search.cache.SearchResultCacheStats;
+
+public record SearchResultCacheStatsResponseDto(
+        boolean enabled,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long entryCount,
+        long weightedBytes,
+        long maxBytes,
+        long aliasGeneration
+) {
+    public static SearchResultCacheStatsResponseDto from(SearchResultCacheStats stats) {
+        return new SearchResultCacheStatsResponseDto(
+                stats.enabled(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.entryCount(),
+                stats.weightedBytes(),
+                stats.maxBytes(),
+                stats.aliasGeneration()
+        );
+    }
+}
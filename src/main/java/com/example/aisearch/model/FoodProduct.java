@@ -389,22 +389,4 @@ public class FoodProduct {
     public void setRecommendedGoods(Boolean recommendedGoods) {
         this.recommendedGoods = recommendedGoods;
     }
-
-    public String toEmbeddingText() {
-        // goods_template 기준 주요 검색 필드를 합쳐 임베딩 텍스트로 사용한다.
-        return String.join(" ",
-                safe(goodsName),
-                safe(goodsFullName),
-                safe(promotionName),
-                safe(lev2CategoryIdName),
-                safe(lev3CategoryIdName),
-                safe(searchKeyword),
-                safe(brandName),
-                safe(storageMethodName)
-        ).trim();
-    }
-
-    private String safe(String value) {
-        return value == null ? "" : value;
-    }
 }
@@ -0,0 +1,58 @@
+package com.example.aisearch.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 검색 결과 한 건의 상품 _source.
+ *
+ * <p>ES 응답을 Map이 아닌 이 record로 바로 역직렬화한다. 필드명은 색인 문서({@code FoodProductDocumentMapper})와 같다.
+ * 벡터/임베딩 해시는 검색 요청의 _source excludes로 받지 않으므로 필드가 없다.
+ * API 응답에는 값이 있는 필드만 원래 색인 필드명으로 내려간다.
+ * (null 필드와 이 record에 없는 색인 필드는 응답에서 빠진다)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductHitSource(
+        @JsonProperty("id") String id,
+        @JsonProperty("goods_id") String goodsId,
+        @JsonProperty("goods_name") String goodsName,
+        @JsonProperty("goods_full_name") String goodsFullName,
+        @JsonProperty("promotion_name") String promotionName,
+        @JsonProperty("thumbnail_path") String thumbnailPath,
+        @JsonProperty("supplier_id") String supplierId,
+        @JsonProperty("brand_id") String brandId,
+        @JsonProperty("search_keyword") String searchKeyword,
+        @JsonProperty("brand_name") String brandName,
+        @JsonProperty("lev2_category_id") String lev2CategoryId,
+        @JsonProperty("lev2_category_id_name") String lev2CategoryIdName,
+        @JsonProperty("lev3_category_id")
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        List<Integer> lev3CategoryIds,
+        @JsonProperty("primary_lev3_category_id") Integer primaryLev3CategoryId,
+        @JsonProperty("lev3_category_id_name") String lev3CategoryIdName,
+        @JsonProperty("main_lev1_category_id") String mainLev1CategoryId,
+        @JsonProperty("main_lev1_category_id_name") String mainLev1CategoryIdName,
+        @JsonProperty("mall_id_name") String mallIdName,
+        @JsonProperty("delivery_type_id_name") String deliveryTypeIdName,
+        @JsonProperty("benefit_type_id_name") String benefitTypeIdName,
+        @JsonProperty("certification_type_id_name") String certificationTypeIdName,
+        @JsonProperty("storage_method_name") String storageMethodName,
+        @JsonProperty("recommended_price") Integer recommendedPrice,
+        @JsonProperty("sale_price") Integer salePrice,
+        @JsonProperty("discount_rate") Integer discountRate,
+        @JsonProperty("popularity_score") Double popularityScore,
+        @JsonProperty("satisfaction_score") Double satisfactionScore,
+        @JsonProperty("satisfaction_count") Integer satisfactionCount,
+        @JsonProperty("is_best_goods") Boolean bestGoods,
+        @JsonProperty("is_recommended_goods") Boolean recommendedGoods
+) {
+
+    public List<Integer> lev3CategoryIds() {
+        return lev3CategoryIds == null ? List.of() : lev3CategoryIds;
+    }
+}
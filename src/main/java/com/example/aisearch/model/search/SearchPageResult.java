@@ -11,7 +11,8 @@ public record SearchPageResult(
         int size,
         long totalElements,
         int totalPages,
-        List<SearchHitResult> results
+        List<SearchHitResult> results,
+        boolean cacheable
 ) {
     public static SearchPageResult of(Pageable pageable, long totalElements, List<SearchHitResult> results) {
         PageImpl<SearchHitResult> page = new PageImpl<>(results, pageable, totalElements);
@@ -21,7 +22,15 @@ public record SearchPageResult(
                 page.getSize(),
                 page.getTotalElements(),
                 page.getTotalPages(),
-                results
+                results,
+                true
         );
     }
+
+    /**
+     * 검색 결과 캐시에 저장하지 않을 결과로 표시한다. (임베딩 장애 시 BM25 fallback 등 일시적으로 품질이 낮은 결과)
+     */
+    public SearchPageResult uncacheable() {
+        return new SearchPageResult(page, size, totalElements, totalPages, results, false);
+    }
 }
@@ -98,6 +98,13 @@ public enum SearchSortOption {
 
     public abstract List<SortOptions> toSortOptions();
 
+    /**
+     * 점수(_score) 순서가 최종 순서인지 여부. (rescore/순위 융합은 점수 정렬에서만 적용한다)
+     */
+    public boolean sortsByScore() {
+        return this == RELEVANCE_DESC || this == CATEGORY_BOOSTING_DESC;
+    }
+
     private static SortOptions numericFieldSort(String field, SortOrder order) {
         return fieldSort(field, order);
     }
@@ -0,0 +1,103 @@
+package com.example.aisearch.service.embedding;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.translate.Translator;
+import ai.djl.translate.TranslatorContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link CachingTokenizer}의 캐시된 토큰화 결과를 token id 텐서로 바꿔 DJL 모델에 넣는 translator.
+ *
+ * <p>DJL 기본 TextEmbeddingTranslator는 입력 문자열을 매번 직접 토큰화한다.
+ * 이 translator는 길이 버킷팅에 쓴 것과 같은 {@link ai.djl.huggingface.tokenizers.Encoding}을 재사용하므로
+ * 같은 입력을 두 번 토큰화하지 않고, 반복되는 검색어/상품명 조각은 캐시에서 바로 가져온다.
+ *
+ * <p>모델 입력과 pooling은 {@link EncodingBatch}로 만들어 OnnxEmbeddingService와 같은 배열을 쓴다.
+ * - 입력: input_ids, attention_mask (+ includeTokenTypes=true면 token_type_ids), int64, 오른쪽 패딩
+ * - 출력: last_hidden_state [batch, seq, hidden]를 cls 또는 mean pooling 후 L2 정규화
+ *   (문장 임베딩 [batch, hidden]을 바로 출력하는 모델은 정규화만 한다)
+ *
+ * <p>batchifier는 기본값(STACK)을 유지해 Predictor가 항상 batchProcessInput/batchProcessOutput을 호출하게 한다.
+ * 단건 predict도 크기 1인 배치로 처리된다.
+ */
+final class CachedEncodingEmbeddingTranslator implements Translator<String, float[]> {
+
+    private static final String ENCODING_BATCH = "encodingBatch";
+
+    private final CachingTokenizer tokenizer;
+    private final boolean clsPooling;
+    private final boolean includeTokenTypes;
+
+    CachedEncodingEmbeddingTranslator(CachingTokenizer tokenizer, boolean clsPooling, boolean includeTokenTypes) {
+        this.tokenizer = tokenizer;
+        this.clsPooling = clsPooling;
+        this.includeTokenTypes = includeTokenTypes;
+    }
+
+    @Override
+    public NDList processInput(TranslatorContext ctx, String input) {
+        return batchProcessInput(ctx, List.of(input));
+    }
+
+    @Override
+    public float[] processOutput(TranslatorContext ctx, NDList list) {
+        return batchProcessOutput(ctx, list).get(0);
+    }
+
+    @Override
+    public NDList batchProcessInput(TranslatorContext ctx, List<String> inputs) {
+        EncodingBatch batch = EncodingBatch.pad(tokenizer.encodeAll(inputs));
+        ctx.setAttachment(ENCODING_BATCH, batch);
+
+        NDManager manager = ctx.getNDManager();
+        NDList list = new NDList(
+                manager.create(batch.inputIds()),
+                manager.create(batch.attentionMask())
+        );
+        if (includeTokenTypes) {
+            list.add(manager.create(batch.tokenTypeIds()));
+        }
+        return list;
+    }
+
+    @Override
+    public List<float[]> batchProcessOutput(TranslatorContext ctx, NDList list) {
+        EncodingBatch batch = (EncodingBatch) ctx.getAttachment(ENCODING_BATCH);
+        NDArray output = list.get("last_hidden_state");
+        if (output == null) {
+            output = list.get(0);
+        }
+
+        long[] shape = output.getShape().getShape();
+        float[] values = output.toFloatArray();
+        if (shape.length == 2) {
+            // 문장 임베딩을 바로 출력하는 모델
+            int hidden = (int) shape[1];
+            List<float[]> vectors = new ArrayList<>(batch.size());
+            for (int row = 0; row < shape[0]; row++) {
+                float[] embedding = new float[hidden];
+                System.arraycopy(values, row * hidden, embedding, 0, hidden);
+                vectors.add(EmbeddingVectors.l2Normalize(embedding));
+            }
+            return vectors;
+        }
+        if (shape.length != 3) {
+            throw new IllegalStateException("지원하지 않는 DJL 출력 형식입니다. shape=" + output.getShape());
+        }
+
+        int batchSize = (int) shape[0];
+        int sequenceLength = (int) shape[1];
+        int hidden = (int) shape[2];
+        float[][][] hiddenStates = new float[batchSize][sequenceLength][hidden];
+        for (int row = 0; row < batchSize; row++) {
+            for (int t = 0; t < sequenceLength; t++) {
+                System.arraycopy(values, (row * sequenceLength + t) * hidden, hiddenStates[row][t], 0, hidden);
+            }
+        }
+        return batch.pool(hiddenStates, clsPooling);
+    }
+}
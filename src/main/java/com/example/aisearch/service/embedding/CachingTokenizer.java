@@ -0,0 +1,72 @@
+package com.example.aisearch.service.embedding;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모델 앞단의 토큰화 단계. 같은 문자열의 토큰화 결과(token id, attention mask)를 LRU 캐시에 보관한다.
+ *
+ * <p>반복되는 검색어나 상품명 조각은 토큰화를 다시 하지 않는다.
+ * 결과는 패딩하지 않은 원래 길이이므로 {@link LengthBucketing}의 길이 기준으로도 사용한다.
+ * 패딩은 배치를 만들 때 배치 안 최대 길이에 맞춰 호출 측에서 붙인다.
+ */
+final class CachingTokenizer implements AutoCloseable {
+
+    private final HuggingFaceTokenizer tokenizer;
+    private final Cache<String, Encoding> cache;
+
+    private CachingTokenizer(HuggingFaceTokenizer tokenizer, long cacheMaxTokens) {
+        this.tokenizer = tokenizer;
+        // 긴 상품 설명 몇 건이 캐시를 독점하지 않도록 엔트리 수가 아닌 토큰 수 합계로 제한한다.
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1L, cacheMaxTokens))
+                .<String, Encoding>weigher((text, encoding) -> Math.max(1, encoding.getIds().length))
+                .build();
+    }
+
+    /**
+     * 모델 디렉터리의 tokenizer.json으로 토크나이저를 연다. maxLength를 넘는 입력은 잘라낸다.
+     */
+    static CachingTokenizer open(Path modelDirectory, int maxLength, long cacheMaxTokens) throws IOException {
+        HuggingFaceTokenizer tokenizer = HuggingFaceTokenizer.newInstance(modelDirectory, Map.of(
+                "padding", "false",
+                "truncation", "true",
+                "maxLength", String.valueOf(maxLength)
+        ));
+        return new CachingTokenizer(tokenizer, cacheMaxTokens);
+    }
+
+    Encoding encode(String text) {
+        return cache.get(text, tokenizer::encode);
+    }
+
+    List<Encoding> encodeAll(List<String> texts) {
+        List<Encoding> encodings = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            encodings.add(encode(text));
+        }
+        return encodings;
+    }
+
+    int[] tokenLengths(List<String> texts) {
+        int[] lengths = new int[texts.size()];
+        for (int i = 0; i < texts.size(); i++) {
+            lengths[i] = encode(texts.get(i)).getIds().length;
+        }
+        return lengths;
+    }
+
+    @Override
+    public void close() {
+        cache.invalidateAll();
+        tokenizer.close();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.aisearch.service.embedding;
+
+/**
+ * 검색어 임베딩 캐시에 저장되는 벡터 표현.
+ *
+ * <p>float32는 원본 배열을 그대로 보관하고,
+ * float16/int8은 primitive 배열로 압축해 두었다가 캐시 hit 시 float[]로 복원한다.
+ */
+sealed interface CompactEmbedding {
+
+    // 캐시 hit 시 검색 요청에 사용할 float 벡터
+    float[] toFloats();
+
+    // Caffeine weigher에 사용할 벡터 payload 크기(byte)
+    int payloadBytes();
+
+    record Float32(float[] values) implements CompactEmbedding {
+
+        @Override
+        public float[] toFloats() {
+            // 원본 배열을 공유한다. QueryEmbeddingService 호출자는 벡터를 수정하지 않는다.
+            return values;
+        }
+
+        @Override
+        public int payloadBytes() {
+            return values.length * Float.BYTES;
+        }
+    }
+
+    record Float16(short[] values) implements CompactEmbedding {
+
+        static Float16 encode(float[] vector) {
+            short[] encoded = new short[vector.length];
+            for (int i = 0; i < vector.length; i++) {
+                encoded[i] = Float.floatToFloat16(vector[i]);
+            }
+            return new Float16(encoded);
+        }
+
+        @Override
+        public float[] toFloats() {
+            float[] decoded = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                decoded[i] = Float.float16ToFloat(values[i]);
+            }
+            return decoded;
+        }
+
+        @Override
+        public int payloadBytes() {
+            return values.length * Short.BYTES;
+        }
+    }
+
+    /**
+     * 벡터 전체에 scale 하나를 쓰는 대칭 int8 양자화.
+     * L2 정규화된 벡터는 성분 범위가 좁아 차원별 scale 없이도 코사인 유사도 오차가 작다.
+     */
+    record Int8(byte[] values, float scale) implements CompactEmbedding {
+
+        static Int8 encode(float[] vector) {
+            float maxAbs = 0f;
+            for (float value : vector) {
+                maxAbs = Math.max(maxAbs, Math.abs(value));
+            }
+            float scale = maxAbs == 0f ? 1f : maxAbs / Byte.MAX_VALUE;
+            byte[] encoded = new byte[vector.length];
+            for (int i = 0; i < vector.length; i++) {
+                encoded[i] = (byte) Math.round(vector[i] / scale);
+            }
+            return new Int8(encoded, scale);
+        }
+
+        @Override
+        public float[] toFloats() {
+            float[] decoded = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                decoded[i] = values[i] * scale;
+            }
+            return decoded;
+        }
+
+        @Override
+        public int payloadBytes() {
+            return values.length + Float.BYTES;
+        }
+    }
+}
@@ -8,8 +8,11 @@ import ai.djl.repository.zoo.ModelNotFoundException;
 import ai.djl.repository.zoo.ZooModel;
 import ai.djl.training.util.ProgressBar;
 import ai.djl.translate.TranslateException;
+import com.example.aisearch.config.AiSearchEmbeddingProperties;
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
 import com.example.aisearch.service.embedding.model.EmbeddingModelSource;
 import com.example.aisearch.service.embedding.model.EmbeddingModelSourceLoader;
+import com.example.aisearch.service.embedding.model.ModelServingProperties;
 import com.example.aisearch.service.embedding.EmbeddingService;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -19,8 +22,12 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 텍스트를 숫자 벡터(임베딩)로 바꿔주는 서비스입니다.
@@ -31,10 +38,25 @@ import java.util.List;
  *
  * 이 클래스가 하는 일:
  * 1) 애플리케이션 시작 시 임베딩 모델을 메모리에 로드
- * 2) 입력 텍스트를 임베딩 벡터로 변환
+ * 2) 입력 텍스트를 임베딩 벡터로 변환 (단건 / micro-batch 배치 추론)
  * 3) 벡터 길이를 1로 맞추는 정규화(L2) 수행
  * 4) 종료 시 모델/예측기 리소스 정리
  *
+ * Predictor는 스레드 안전이 보장되지 않으므로 하나의 ZooModel에서 만든 Predictor 풀({@link PredictorPool})을
+ * 두고, 검색어 임베딩과 색인 워커 모두 호출마다 하나를 빌려 쓰고 반납한다.
+ * 동시 추론 수는 ai-search.embedding.predictor-pool-size로 조절한다.
+ *
+ * 배치 추론 시 입력을 토큰 길이가 비슷한 것끼리 묶는다({@link LengthBucketing}).
+ * 배치는 배치 안 최대 길이에 맞춰 패딩되므로, 짧은 검색어가 긴 상품 설명 길이만큼 계산되지 않게 한다.
+ *
+ * 로컬 경로 모델(tokenizer.json 포함)은 토큰화 결과를 {@link CachingTokenizer}로 캐시하고,
+ * {@link CachedEncodingEmbeddingTranslator}가 같은 Encoding을 token id 텐서로 바꿔 모델에 넣는다.
+ * 길이 버킷팅과 추론이 한 번의 토큰화 결과를 함께 쓰며, 입력 배열과 pooling은 OnnxEmbeddingService와 같다.
+ * URL 모델과 cls/mean 이외의 pooling은 DJL 기본 translator가 직접 토큰화하므로 길이는 문자열 길이로 어림한다.
+ *
+ * 임베딩 양자화(ai-search.embedding-quantization.mode)는 ONNX provider만 지원한다.
+ * mode가 none이 아니면 모델을 로드하기 전에 기동을 중단한다. (설정이 조용히 무시되지 않게 한다)
+ *
  * 모델 상세는 docs/01.embedding-model.md 참고
  */
 @Service
@@ -44,16 +66,40 @@ public class DjlEmbeddingService implements EmbeddingService {
     private static final Logger log = LoggerFactory.getLogger(DjlEmbeddingService.class);
 
     private final EmbeddingModelSourceLoader modelSourceResolver;
+    private final int batchSize;
+    private final int predictorPoolSize;
+    private final long predictorBorrowTimeoutMillis;
+    private final long tokenCacheMaxTokens;
+    private final String quantizationMode;
+    private final EmbeddingDimensionReducer dimensionReducer;
+    private CachingTokenizer tokenizer;
     private ZooModel<String, float[]> model;
-    private Predictor<String, float[]> predictor;
+    private PredictorPool<Predictor<String, float[]>> predictorPool;
     private int dimensions;
 
-    public DjlEmbeddingService(EmbeddingModelSourceLoader modelSourceResolver) {
+    public DjlEmbeddingService(
+            EmbeddingModelSourceLoader modelSourceResolver,
+            AiSearchEmbeddingProperties embeddingProperties,
+            AiSearchEmbeddingQuantizationProperties quantizationProperties,
+            EmbeddingDimensionReducer dimensionReducer
+    ) {
         this.modelSourceResolver = modelSourceResolver;
+        this.dimensionReducer = dimensionReducer;
+        this.batchSize = Math.max(1, embeddingProperties.batchSize());
+        this.predictorPoolSize = Math.max(1, embeddingProperties.predictorPoolSize());
+        this.predictorBorrowTimeoutMillis = Math.max(1L, embeddingProperties.predictorBorrowTimeoutMillis());
+        this.tokenCacheMaxTokens = embeddingProperties.tokenCacheMaxTokens();
+        this.quantizationMode = quantizationProperties.mode();
     }
 
     @PostConstruct
     public void init() throws ModelNotFoundException, MalformedModelException, IOException {
+        if (quantizationMode != null && !quantizationMode.isBlank() && !quantizationMode.equalsIgnoreCase("none")) {
+            // 양자화 모드만 바뀌면 임베딩 저장소 식별자가 달라져 유효한 fp32 저장소를 버리게 된다.
+            throw new IllegalStateException("djl provider는 임베딩 양자화를 지원하지 않습니다. mode=" + quantizationMode
+                    + ", 양자화 모델을 쓰려면 ai-search.embedding.provider=onnx로 설정하세요.");
+        }
+
         // DJL가 모델을 어떻게 로드할지 설정한다.
         // .optApplication(Application.NLP.TEXT_EMBEDDING)
         //      - 이 모델을 NLP 임베딩 용도로 사용한다고 DJL에 알려준다.
@@ -75,7 +121,14 @@ public class DjlEmbeddingService implements EmbeddingService {
         if (modelSource.isPathBased()) {
             criteria.optModelPath(modelSource.modelPath());
 
-            if (modelSource.requiresTranslatorFactory()) {
+            ModelServingProperties serving = ModelServingProperties.load(modelSource.modelPath());
+            tokenizer = openCachingTokenizer(modelSource.modelPath(), serving);
+            if (tokenizer != null) {
+                // 캐시된 토큰화 결과를 그대로 모델 입력으로 쓰는 translator.
+                // serving.properties의 translatorFactory보다 우선한다.
+                criteria.optTranslator(new CachedEncodingEmbeddingTranslator(
+                        tokenizer, serving.pooling().equals("cls"), serving.includeTokenTypes()));
+            } else if (modelSource.requiresTranslatorFactory()) {
                 // 로컬 경로 모델 중 일부는 DJL이 translator를 자동 추론하지 못할 수 있다.
                 // 이 경우 TextEmbeddingTranslatorFactory를 명시해
                 // "입력 텍스트를 임베딩 벡터로 변환하는 방식"을 강제로 지정한다.
@@ -89,31 +142,99 @@ public class DjlEmbeddingService implements EmbeddingService {
 
         Criteria<String, float[]> buildCriteria = criteria.build();
 
-        // 모델/예측기 로딩
+        // 모델/예측기 풀 로딩
         model = buildCriteria.loadModel();
-        predictor = model.newPredictor();
+        predictorPool = new PredictorPool<>(
+                "djl-predictor",
+                predictorPoolSize,
+                predictorBorrowTimeoutMillis,
+                model::newPredictor,
+                Predictor::close
+        );
 
         // 모델이 생성하는 벡터 차원을 확인하기 위해 샘플 문장 1회 추론한다.
-        // 차원 수는 Elasticsearch dense_vector 매핑과 반드시 일치해야 한다.
+        // 차원 수는 Elasticsearch dense_vector 매핑과 반드시 일치해야 한다. (차원 축소 시 축소 후 차원)
         float[] probe = predictRaw("한글 식품 벡터 검색 테스트");
-        dimensions = probe.length;
+        dimensions = dimensionReducer.reduce(EmbeddingVectors.l2Normalize(probe)).length;
 
-        log.info("Embedding model initialized. dimensions={}", dimensions);
+        log.info("Embedding model initialized. modelDimensions={}, dimensions={}, reduction={}, batchSize={}, predictorPoolSize={}, cachedTokenizer={}",
+                probe.length, dimensions, dimensionReducer.identity(), batchSize, predictorPoolSize, tokenizer != null);
+    }
+
+    /**
+     * tokenizer.json이 있고 pooling이 cls/mean인 로컬 모델이면 캐시 토크나이저를 연다.
+     * 그 외에는 null을 돌려주고 DJL 기본 translator를 사용한다.
+     */
+    private CachingTokenizer openCachingTokenizer(Path modelDirectory, ModelServingProperties serving) throws IOException {
+        if (!Files.isRegularFile(modelDirectory.resolve("tokenizer.json"))) {
+            return null;
+        }
+        if (!serving.pooling().equals("cls") && !serving.pooling().equals("mean")) {
+            log.info("Cached tokenizer disabled. unsupported pooling={}", serving.pooling());
+            return null;
+        }
+        // maxLength를 넘는 입력은 잘라내고, 패딩은 translator가 배치 안 최대 길이에 맞춰 붙인다.
+        return CachingTokenizer.open(modelDirectory, serving.maxLength(), tokenCacheMaxTokens);
     }
 
     @Override
-    public List<Float> toEmbeddingVector(String text) {
+    public float[] toEmbeddingVector(String text) {
         // 1) 모델 추론으로 원본 벡터 생성
         // 2) L2 정규화로 벡터 길이를 1로 맞춘다.
         //    코사인 유사도 계산 시 더 안정적이고 일관된 결과를 얻을 수 있다.
-        float[] raw = predictRaw(text);
-        float[] normalized = l2Normalize(raw);
+        // 3) 차원 축소 설정이 있으면 K차원으로 줄인 뒤 다시 정규화한다.
+        return dimensionReducer.reduce(EmbeddingVectors.l2Normalize(predictRaw(text)));
+    }
 
-        List<Float> values = new ArrayList<>(normalized.length);
-        for (float value : normalized) {
-            values.add(value);
+    /**
+     * 여러 텍스트를 batchSize 단위의 micro-batch로 나눠 한 번의 forward pass로 추론한다.
+     * - 문장마다 predict를 호출하면 작은 텐서가 반복 생성되어 CPU가 대부분 유휴 상태로 남는다.
+     * - batchPredict는 translator가 입력을 패딩해 하나의 배치 텐서로 묶어 처리한다.
+     */
+    @Override
+    public List<float[]> toEmbeddingVectors(List<String> texts) {
+        if (texts.isEmpty()) {
+            return List.of();
         }
-        return values;
+
+        float[][] vectors = new float[texts.size()][];
+        for (int[] group : LengthBucketing.group(lengths(texts), batchSize)) {
+            List<String> chunk = new ArrayList<>(group.length);
+            for (int index : group) {
+                chunk.add(texts.get(index));
+            }
+            // micro-batch 단위로 빌려 쓰고 반납해 긴 색인 요청이 검색어 임베딩을 오래 막지 않게 한다.
+            List<float[]> raw = predictorPool.execute(predictor -> predictRawBatch(predictor, chunk));
+            for (int i = 0; i < group.length; i++) {
+                vectors[group[i]] = dimensionReducer.reduce(EmbeddingVectors.l2Normalize(raw.get(i)));
+            }
+        }
+        return Arrays.asList(vectors);
+    }
+
+    private int[] lengths(List<String> texts) {
+        if (tokenizer != null) {
+            // 여기서 캐시에 올린 Encoding을 translator가 그대로 재사용한다.
+            return tokenizer.tokenLengths(texts);
+        }
+        // DJL 기본 translator는 직접 토큰화하므로 정렬 기준으로 문자열 길이를 쓴다.
+        return texts.stream()
+                .mapToInt(String::length)
+                .toArray();
+    }
+
+    /**
+     * 색인 워커도 같은 Predictor 풀을 사용하므로 워커 전용 자원을 따로 만들지 않는다.
+     * 색인 워커 수가 풀 크기보다 많으면 초과 워커는 borrow 단계에서 대기한다.
+     */
+    @Override
+    public EmbeddingWorker openWorker() {
+        return this::toEmbeddingVectors;
+    }
+
+    @Override
+    public Optional<PredictorPoolStats> predictorPoolStats() {
+        return Optional.ofNullable(predictorPool).map(PredictorPool::stats);
     }
 
     @Override
@@ -122,46 +243,36 @@ public class DjlEmbeddingService implements EmbeddingService {
     }
 
     private float[] predictRaw(String text) {
-        try {
-            // DJL Predictor로 텍스트 임베딩을 생성한다.
-            return predictor.predict(text);
-        } catch (TranslateException e) {
-            throw new IllegalStateException("임베딩 생성 실패", e);
-        }
+        // DJL Predictor로 텍스트 임베딩을 생성한다.
+        return predictorPool.execute(predictor -> {
+            try {
+                return predictor.predict(text);
+            } catch (TranslateException e) {
+                throw new IllegalStateException("임베딩 생성 실패", e);
+            }
+        });
     }
 
-    /**
-     * 벡터의 크기값을 없애고, 방향값만 남기는 함수(메서드)
-     * - 단어의 유사한 정도는 크기보다 방향이 더 적합하기 때문에 방향값만 사용함
-     * - 노멀라이저 설명 :
-     *  EmbeddingNormalizer.md
-     */
-    private float[] l2Normalize(float[] vector) {
-        double sum = 0.0;
-        for (float value : vector) {
-            sum += value * value;
-        }
-        double norm = Math.sqrt(sum);
-        if (norm == 0.0) {
-            return vector;
-        }
-
-        float[] normalized = new float[vector.length];
-        for (int i = 0; i < vector.length; i++) {
-            normalized[i] = (float) (vector[i] / norm);
+    private List<float[]> predictRawBatch(Predictor<String, float[]> targetPredictor, List<String> texts) {
+        try {
+            return targetPredictor.batchPredict(texts);
+        } catch (TranslateException e) {
+            throw new IllegalStateException("배치 임베딩 생성 실패. batchSize=" + texts.size(), e);
         }
-        return normalized;
     }
 
     @PreDestroy
     public void close() {
         // 애플리케이션 종료 시 모델/예측기 리소스를 명시적으로 해제한다.
         // 해제하지 않으면 테스트/재시작 시 메모리 사용량이 누적될 수 있다.
-        if (predictor != null) {
-            predictor.close();
+        if (predictorPool != null) {
+            predictorPool.close();
         }
         if (model != null) {
             model.close();
         }
+        if (tokenizer != null) {
+            tokenizer.close();
+        }
     }
 }
@@ -0,0 +1,185 @@
+package com.example.aisearch.service.embedding;
+
+import com.example.aisearch.config.AiSearchEmbeddingReductionProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 모델이 만든 전체 차원 벡터를 K차원으로 줄인다. (문서/검색어 양쪽에 같은 변환을 적용한다)
+ *
+ * <p>모드:
+ * - none: 그대로 사용
+ * - truncate: 앞쪽 K차원만 남긴다. Matryoshka 방식으로 학습된 모델은 앞쪽 차원에 정보가 몰려 있다.
+ * - pca: 저장된 평균/주성분으로 (x - mean) · component 를 계산한다. 일반 모델에도 쓸 수 있다.
+ *
+ * <p>입력은 L2 정규화된 벡터이고, 축소 결과도 다시 L2 정규화해 코사인 유사도 의미를 유지한다.
+ * 차원이 줄면 Elasticsearch HNSW 그래프 메모리와 벡터 비교 비용이 비례해서 줄어든다.
+ *
+ * <p>PCA 투영 파일 형식(공백 구분 숫자, '#' 줄은 주석):
+ * - 첫 줄: 평균 벡터 (원본 차원 D개)
+ * - 다음 줄부터: 주성분 벡터 (분산 큰 순, 각 D개). 앞쪽 K개만 사용한다.
+ */
+@Component
+public class EmbeddingDimensionReducer {
+
+    private static final String MODE_NONE = "none";
+    private static final String MODE_TRUNCATE = "truncate";
+    private static final String MODE_PCA = "pca";
+
+    private final String mode;
+    private final int targetDimensions;
+    private final float[] mean;
+    private final float[][] components;
+    private final String identity;
+
+    @Autowired
+    public EmbeddingDimensionReducer(ResourceLoader resourceLoader, AiSearchEmbeddingReductionProperties properties) {
+        this.mode = normalizeMode(properties.mode());
+        this.targetDimensions = properties.dimensions();
+        if (!mode.equals(MODE_NONE) && targetDimensions <= 0) {
+            throw new IllegalStateException("차원 축소 dimensions는 1 이상이어야 합니다. mode=" + mode
+                    + ", dimensions=" + targetDimensions);
+        }
+        if (mode.equals(MODE_PCA)) {
+            List<float[]> rows = loadProjection(resourceLoader, properties.projectionPath());
+            if (rows.size() - 1 < targetDimensions) {
+                throw new IllegalStateException("PCA 투영 파일의 주성분 수가 부족합니다. path="
+                        + properties.projectionPath() + ", components=" + (rows.size() - 1)
+                        + ", dimensions=" + targetDimensions);
+            }
+            this.mean = rows.get(0);
+            this.components = rows.subList(1, targetDimensions + 1).toArray(float[][]::new);
+            this.identity = MODE_PCA + ":" + targetDimensions + ":" + properties.projectionPath();
+        } else {
+            this.mean = null;
+            this.components = null;
+            this.identity = mode.equals(MODE_NONE) ? MODE_NONE : MODE_TRUNCATE + ":" + targetDimensions;
+        }
+    }
+
+    private EmbeddingDimensionReducer(String mode, int targetDimensions) {
+        this.mode = mode;
+        this.targetDimensions = targetDimensions;
+        this.mean = null;
+        this.components = null;
+        this.identity = mode.equals(MODE_NONE) ? MODE_NONE : MODE_TRUNCATE + ":" + targetDimensions;
+    }
+
+    public static EmbeddingDimensionReducer none() {
+        return new EmbeddingDimensionReducer(MODE_NONE, 0);
+    }
+
+    public static EmbeddingDimensionReducer truncate(int dimensions) {
+        return new EmbeddingDimensionReducer(MODE_TRUNCATE, dimensions);
+    }
+
+    /**
+     * L2 정규화된 전체 차원 벡터를 축소한다. none 모드면 입력을 그대로 반환한다.
+     *
+     * @throws IllegalStateException 모델 차원이 축소 차원보다 작거나 PCA 투영 행렬과 맞지 않는 경우
+     */
+    public float[] reduce(float[] vector) {
+        return switch (mode) {
+            case MODE_TRUNCATE -> truncateVector(vector);
+            case MODE_PCA -> project(vector);
+            default -> vector;
+        };
+    }
+
+    public boolean enabled() {
+        return !mode.equals(MODE_NONE);
+    }
+
+    /**
+     * 임베딩 저장소 무효화 판단에 쓰는 변환 식별자 (모드/차원/투영 파일).
+     */
+    public String identity() {
+        return identity;
+    }
+
+    private float[] truncateVector(float[] vector) {
+        if (vector.length < targetDimensions) {
+            throw new IllegalStateException("축소 차원이 모델 차원보다 큽니다. modelDimensions="
+                    + vector.length + ", dimensions=" + targetDimensions);
+        }
+        float[] reduced = new float[targetDimensions];
+        System.arraycopy(vector, 0, reduced, 0, targetDimensions);
+        return EmbeddingVectors.l2Normalize(reduced);
+    }
+
+    private float[] project(float[] vector) {
+        if (vector.length != mean.length) {
+            throw new IllegalStateException("PCA 투영 행렬 차원이 모델 차원과 다릅니다. modelDimensions="
+                    + vector.length + ", projectionDimensions=" + mean.length);
+        }
+        float[] reduced = new float[targetDimensions];
+        for (int j = 0; j < targetDimensions; j++) {
+            float[] component = components[j];
+            double sum = 0.0;
+            for (int i = 0; i < vector.length; i++) {
+                sum += (vector[i] - mean[i]) * component[i];
+            }
+            reduced[j] = (float) sum;
+        }
+        return EmbeddingVectors.l2Normalize(reduced);
+    }
+
+    private static String normalizeMode(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return MODE_NONE;
+        }
+        String normalized = mode.trim().toLowerCase(Locale.ROOT);
+        if (!normalized.equals(MODE_NONE) && !normalized.equals(MODE_TRUNCATE) && !normalized.equals(MODE_PCA)) {
+            throw new IllegalStateException("지원하지 않는 차원 축소 모드입니다. mode=" + mode);
+        }
+        return normalized;
+    }
+
+    private static List<float[]> loadProjection(ResourceLoader resourceLoader, String projectionPath) {
+        if (projectionPath == null || projectionPath.isBlank()) {
+            throw new IllegalStateException("pca 모드에는 projection-path가 필요합니다.");
+        }
+        String location = projectionPath.contains(":") ? projectionPath : "classpath:" + projectionPath;
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            throw new IllegalStateException("PCA 투영 파일이 없습니다. path=" + projectionPath);
+        }
+        List<float[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] values = trimmed.split("\\s+");
+                float[] row = new float[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    row[i] = Float.parseFloat(values[i]);
+                }
+                if (!rows.isEmpty() && row.length != rows.get(0).length) {
+                    throw new IllegalStateException("PCA 투영 파일의 행 길이가 일정하지 않습니다. path="
+                            + projectionPath + ", row=" + rows.size());
+                }
+                rows.add(row);
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("PCA 투영 파일 로딩 실패. path=" + projectionPath, e);
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("PCA 투영 파일이 비어 있습니다. path=" + projectionPath);
+        }
+        return rows;
+    }
+}
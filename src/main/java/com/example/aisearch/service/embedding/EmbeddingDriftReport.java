@@ -0,0 +1,43 @@
+package com.example.aisearch.service.embedding;
+
+import java.util.List;
+
+/**
+ * 기준 모델(fp32)과 비교 모델(int8 등)이 같은 샘플에 대해 만든 벡터의 코사인 유사도 요약.
+ *
+ * drift = 1 - 코사인 유사도. maxDrift는 가장 많이 벗어난 샘플 기준이다.
+ */
+public record EmbeddingDriftReport(
+        int sampleCount,
+        double meanCosine,
+        double minCosine,
+        String worstSample
+) {
+
+    public double maxDrift() {
+        return 1.0 - minCosine;
+    }
+
+    public double meanDrift() {
+        return 1.0 - meanCosine;
+    }
+
+    public static EmbeddingDriftReport compare(List<String> samples, List<float[]> baseline, List<float[]> candidate) {
+        if (samples.isEmpty() || samples.size() != baseline.size() || samples.size() != candidate.size()) {
+            throw new IllegalArgumentException("drift 비교 대상 수가 맞지 않습니다. samples=" + samples.size()
+                    + ", baseline=" + baseline.size() + ", candidate=" + candidate.size());
+        }
+        double sum = 0.0;
+        double min = Double.MAX_VALUE;
+        String worst = null;
+        for (int i = 0; i < samples.size(); i++) {
+            double cosine = EmbeddingVectors.cosine(baseline.get(i), candidate.get(i));
+            sum += cosine;
+            if (cosine < min) {
+                min = cosine;
+                worst = samples.get(i);
+            }
+        }
+        return new EmbeddingDriftReport(samples.size(), sum / samples.size(), min, worst);
+    }
+}
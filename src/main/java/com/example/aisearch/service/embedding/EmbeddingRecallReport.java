@@ -0,0 +1,96 @@
+package com.example.aisearch.service.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 축소 차원 벡터로 찾은 top-K 문서가 전체 차원 벡터로 찾은 top-K와 얼마나 겹치는지 요약한다.
+ *
+ * recall@K = |축소 차원 top-K ∩ 전체 차원 top-K| / K (검색어별 평균/최소). 둘 다 전수 코사인 비교 기준이다.
+ */
+public record EmbeddingRecallReport(
+        int queryCount,
+        int k,
+        int sourceDimensions,
+        int reducedDimensions,
+        double meanRecall,
+        double minRecall
+) {
+
+    /**
+     * @param documents 전체 차원 문서 벡터 (L2 정규화)
+     * @param queries   전체 차원 검색어 벡터 (L2 정규화)
+     * @param reducer   비교할 차원 축소 변환
+     * @param k         비교할 상위 문서 수
+     */
+    public static EmbeddingRecallReport evaluate(
+            List<float[]> documents,
+            List<float[]> queries,
+            UnaryOperator<float[]> reducer,
+            int k
+    ) {
+        if (documents.isEmpty() || queries.isEmpty() || k <= 0) {
+            throw new IllegalArgumentException("recall 비교 대상이 비어 있습니다. documents="
+                    + documents.size() + ", queries=" + queries.size() + ", k=" + k);
+        }
+        int topK = Math.min(k, documents.size());
+        List<float[]> reducedDocuments = new ArrayList<>(documents.size());
+        for (float[] document : documents) {
+            reducedDocuments.add(reducer.apply(document.clone()));
+        }
+
+        double sum = 0.0;
+        double min = 1.0;
+        for (float[] query : queries) {
+            int[] expected = topIndexes(documents, query, topK);
+            int[] actual = topIndexes(reducedDocuments, reducer.apply(query.clone()), topK);
+            double recall = (double) overlap(expected, actual) / topK;
+            sum += recall;
+            min = Math.min(min, recall);
+        }
+        return new EmbeddingRecallReport(
+                queries.size(),
+                topK,
+                documents.get(0).length,
+                reducedDocuments.get(0).length,
+                sum / queries.size(),
+                min
+        );
+    }
+
+    private static int[] topIndexes(List<float[]> documents, float[] query, int k) {
+        int[] top = new int[k];
+        double[] scores = new double[k];
+        int filled = 0;
+        for (int index = 0; index < documents.size(); index++) {
+            double score = EmbeddingVectors.cosine(documents.get(index), query);
+            if (filled == k && score <= scores[k - 1]) {
+                continue;
+            }
+            // 점수 내림차순을 유지하는 삽입 정렬 (k가 작으므로 힙보다 단순하다)
+            int position = filled < k ? filled++ : k - 1;
+            while (position > 0 && scores[position - 1] < score) {
+                scores[position] = scores[position - 1];
+                top[position] = top[position - 1];
+                position--;
+            }
+            scores[position] = score;
+            top[position] = index;
+        }
+        return top;
+    }
+
+    private static int overlap(int[] expected, int[] actual) {
+        int count = 0;
+        for (int left : expected) {
+            for (int right : actual) {
+                if (left == right) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -1,11 +1,31 @@
 package com.example.aisearch.service.embedding;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface EmbeddingService {
 
-    // 텍스트를 임베딩 벡터로 변환
-    List<Float> toEmbeddingVector(String text);
+    // 텍스트를 임베딩 벡터로 변환 (boxing 없이 primitive 배열로 반환한다)
+    float[] toEmbeddingVector(String text);
+
+    // 여러 텍스트를 한 번에 임베딩 벡터로 변환 (결과 순서는 입력 순서와 같다)
+    // 배치 추론을 지원하지 않는 구현체는 단건 변환을 반복한다.
+    default List<float[]> toEmbeddingVectors(List<String> texts) {
+        return texts.stream()
+                .map(this::toEmbeddingVector)
+                .toList();
+    }
+
+    // 색인 워커 전용 배치 임베딩 핸들을 연다.
+    // 스레드 간 공유 자원이 없는 구현체는 자기 자신의 배치 변환을 그대로 사용한다.
+    default EmbeddingWorker openWorker() {
+        return this::toEmbeddingVectors;
+    }
+
+    // 추론기 풀 사용 현황 (풀을 쓰지 않는 구현체는 empty)
+    default Optional<PredictorPoolStats> predictorPoolStats() {
+        return Optional.empty();
+    }
 
     // 임베딩 벡터 차원 수
     int dimensions();
@@ -0,0 +1,52 @@
+package com.example.aisearch.service.embedding;
+
+/**
+ * 임베딩 엔진 구현체들이 공통으로 쓰는 벡터 연산.
+ */
+public final class EmbeddingVectors {
+
+    private EmbeddingVectors() {
+    }
+
+    /**
+     * 벡터의 크기값을 없애고, 방향값만 남긴다. (제자리에서 정규화)
+     * - 단어의 유사한 정도는 크기보다 방향이 더 적합하기 때문에 방향값만 사용함
+     * - 노멀라이저 설명 : EmbeddingNormalizer.md
+     */
+    public static float[] l2Normalize(float[] vector) {
+        double sum = 0.0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        double norm = Math.sqrt(sum);
+        if (norm == 0.0) {
+            return vector;
+        }
+
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) (vector[i] / norm);
+        }
+        return vector;
+    }
+
+    /**
+     * 두 벡터의 코사인 유사도. 길이가 0인 벡터가 있으면 0을 반환한다.
+     */
+    public static double cosine(float[] left, float[] right) {
+        if (left.length != right.length) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다. left=" + left.length + ", right=" + right.length);
+        }
+        double dot = 0.0;
+        double leftNorm = 0.0;
+        double rightNorm = 0.0;
+        for (int i = 0; i < left.length; i++) {
+            dot += left[i] * right[i];
+            leftNorm += left[i] * left[i];
+            rightNorm += right[i] * right[i];
+        }
+        if (leftNorm == 0.0 || rightNorm == 0.0) {
+            return 0.0;
+        }
+        return dot / Math.sqrt(leftNorm * rightNorm);
+    }
+}
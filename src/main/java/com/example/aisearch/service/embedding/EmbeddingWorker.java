@@ -0,0 +1,20 @@
+package com.example.aisearch.service.embedding;
+
+import java.util.List;
+
+/**
+ * 색인 파이프라인의 임베딩 워커 한 개가 독점해서 사용하는 배치 임베딩 핸들.
+ *
+ * <p>워커마다 별도 핸들을 열어 사용하면 구현체 내부 자원(예: DJL Predictor)을
+ * 스레드 간에 공유하지 않고 병렬로 추론할 수 있다.
+ * 사용이 끝나면 반드시 close 해서 자원을 반납한다.
+ */
+public interface EmbeddingWorker extends AutoCloseable {
+
+    // 여러 텍스트를 임베딩 벡터로 변환 (결과 순서는 입력 순서와 같다)
+    List<float[]> toEmbeddingVectors(List<String> texts);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.aisearch.service.embedding;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캐시된 토큰화 결과({@link Encoding})를 배치 안 최대 길이에 맞춰 오른쪽 패딩한 모델 입력과 pooling.
+ *
+ * <p>ONNX 세션과 DJL 모델에 같은 input_ids / attention_mask / token_type_ids 배열을 넣고,
+ * 출력(last_hidden_state)도 같은 방식(cls 또는 attention mask 평균)으로 문장 벡터를 만든다.
+ * 패딩 위치는 attention mask가 0이라 실제 토큰 출력과 mean pooling에 영향을 주지 않는다.
+ */
+final class EncodingBatch {
+
+    private final long[][] inputIds;
+    private final long[][] attentionMask;
+    private final long[][] tokenTypeIds;
+
+    private EncodingBatch(long[][] inputIds, long[][] attentionMask, long[][] tokenTypeIds) {
+        this.inputIds = inputIds;
+        this.attentionMask = attentionMask;
+        this.tokenTypeIds = tokenTypeIds;
+    }
+
+    static EncodingBatch pad(List<Encoding> encodings) {
+        int sequenceLength = encodings.stream()
+                .mapToInt(encoding -> encoding.getIds().length)
+                .max()
+                .orElse(0);
+        long[][] inputIds = new long[encodings.size()][sequenceLength];
+        long[][] attentionMask = new long[encodings.size()][sequenceLength];
+        long[][] tokenTypeIds = new long[encodings.size()][sequenceLength];
+        for (int i = 0; i < encodings.size(); i++) {
+            Encoding encoding = encodings.get(i);
+            System.arraycopy(encoding.getIds(), 0, inputIds[i], 0, encoding.getIds().length);
+            System.arraycopy(encoding.getAttentionMask(), 0, attentionMask[i], 0, encoding.getAttentionMask().length);
+            System.arraycopy(encoding.getTypeIds(), 0, tokenTypeIds[i], 0, encoding.getTypeIds().length);
+        }
+        return new EncodingBatch(inputIds, attentionMask, tokenTypeIds);
+    }
+
+    long[][] inputIds() {
+        return inputIds;
+    }
+
+    long[][] attentionMask() {
+        return attentionMask;
+    }
+
+    long[][] tokenTypeIds() {
+        return tokenTypeIds;
+    }
+
+    int size() {
+        return inputIds.length;
+    }
+
+    /**
+     * 토큰별 출력 [batch, seq, hidden]을 문장 벡터로 pooling하고 L2 정규화한다.
+     */
+    List<float[]> pool(float[][][] hiddenStates, boolean clsPooling) {
+        List<float[]> vectors = new ArrayList<>(hiddenStates.length);
+        for (int row = 0; row < hiddenStates.length; row++) {
+            float[][] tokens = hiddenStates[row];
+            float[] pooled;
+            if (clsPooling) {
+                pooled = tokens[0];
+            } else {
+                pooled = new float[tokens[0].length];
+                long tokenCount = 0;
+                for (int t = 0; t < attentionMask[row].length; t++) {
+                    if (attentionMask[row][t] == 0) {
+                        continue;
+                    }
+                    tokenCount++;
+                    for (int d = 0; d < pooled.length; d++) {
+                        pooled[d] += tokens[t][d];
+                    }
+                }
+                for (int d = 0; d < pooled.length; d++) {
+                    pooled[d] /= Math.max(1L, tokenCount);
+                }
+            }
+            vectors.add(EmbeddingVectors.l2Normalize(pooled));
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.aisearch.service.embedding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 배치 추론 전에 입력을 토큰 길이가 비슷한 것끼리 묶는다.
+ *
+ * <p>배치 텐서는 배치 안에서 가장 긴 입력에 맞춰 패딩되므로, 짧은 검색어가 긴 상품 설명과 같은 배치에 들어가면
+ * 패딩 토큰까지 모두 계산하게 된다. 길이 순으로 정렬한 뒤 batchSize씩 자르면 배치마다 패딩이 최소가 된다.
+ *
+ * <p>반환값은 원래 입력 위치(index) 묶음이므로 호출 측은 결과를 원래 순서로 되돌려 놓아야 한다.
+ */
+final class LengthBucketing {
+
+    private LengthBucketing() {
+    }
+
+    static List<int[]> group(int[] lengths, int batchSize) {
+        int size = Math.max(1, batchSize);
+        int[] order = IntStream.range(0, lengths.length)
+                .boxed()
+                .sorted(Comparator.comparingInt(index -> lengths[index]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        List<int[]> groups = new ArrayList<>((order.length + size - 1) / size);
+        for (int from = 0; from < order.length; from += size) {
+            int to = Math.min(from + size, order.length);
+            int[] group = new int[to - from];
+            System.arraycopy(order, from, group, 0, group.length);
+            groups.add(group);
+        }
+        return groups;
+    }
+}
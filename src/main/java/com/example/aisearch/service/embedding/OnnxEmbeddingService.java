@@ -0,0 +1,326 @@
+package com.example.aisearch.service.embedding;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.example.aisearch.config.AiSearchEmbeddingProperties;
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
+import com.example.aisearch.config.AiSearchOnnxEmbeddingProperties;
+import com.example.aisearch.service.embedding.model.EmbeddingModelSourceLoader;
+import com.example.aisearch.service.embedding.model.ModelServingProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ONNX Runtime으로 임베딩을 생성하는 서비스. (ai-search.embedding.provider=onnx)
+ *
+ * 왜 필요한가?
+ * - CPU 전용 검색 파드에서는 PyTorch 네이티브 라이브러리의 기동 시간/메모리 비용이 크다.
+ * - 같은 모델을 ONNX로 export해 두면 더 가벼운 ONNX Runtime으로 같은 벡터를 만들 수 있다.
+ *
+ * 모델 디렉터리 구성 (djl-convert --output-format OnnxRuntime 결과와 같다):
+ * - model.onnx: 모델 본체 (출력은 last_hidden_state [batch, seq, hidden])
+ * - tokenizer.json: Hugging Face 토크나이저
+ * - serving.properties: pooling(cls/mean, 기본 mean), maxLength(기본 512)
+ *
+ * 토큰화 결과는 {@link CachingTokenizer}로 캐시해 {@link EncodingBatch}로 패딩하고, 배치는 {@link LengthBucketing}으로 길이가 비슷한 입력끼리 만든다.
+ *
+ * DJL TextEmbeddingTranslator와 같은 순서(토큰화 -> 추론 -> pooling -> L2 정규화)로 처리하므로
+ * DjlEmbeddingService와 같은 벡터를 만든다. 일치 여부는 OnnxDjlEmbeddingParityTest로 확인한다.
+ *
+ * OrtSession.run은 스레드 안전하므로 Predictor 풀 없이 세션 하나를 공유한다.
+ * 동시 추론 수는 호출 측(검색어 임베딩 스레드, 색인 워커)에서, 연산 병렬도는 intra-op-threads로 조절한다.
+ *
+ * int8 양자화 모드(ai-search.embedding-quantization.mode=int8):
+ * - 같은 디렉터리의 동적 양자화 모델(model_int8.onnx)로 추론한다.
+ * - 기동 시 샘플 문장으로 fp32 모델 대비 코사인 drift를 측정해 로그로 남기고,
+ *   fail-on-drift=true이면 max-drift를 넘을 때 기동을 중단한다.
+ * - fp32 세션은 측정 후 바로 닫으므로 상시 메모리는 int8 모델만 사용한다.
+ */
+@Service
+@ConditionalOnProperty(prefix = "ai-search.embedding", name = "provider", havingValue = "onnx")
+public class OnnxEmbeddingService implements EmbeddingService {
+
+    private static final Logger log = LoggerFactory.getLogger(OnnxEmbeddingService.class);
+    private static final String DEFAULT_MODEL_FILE_NAME = "model.onnx";
+    private static final String QUANTIZATION_INT8 = "int8";
+    private static final String DEFAULT_QUANTIZED_MODEL_FILE_NAME = "model_int8.onnx";
+
+    private final EmbeddingModelSourceLoader modelSourceLoader;
+    private final ResourceLoader resourceLoader;
+    private final AiSearchEmbeddingQuantizationProperties quantizationProperties;
+    private final String modelPath;
+    private final String modelFileName;
+    private final int intraOpThreads;
+    private final int batchSize;
+    private final long tokenCacheMaxTokens;
+    private final EmbeddingDimensionReducer dimensionReducer;
+
+    private OrtEnvironment environment;
+    private OrtSession session;
+    private CachingTokenizer tokenizer;
+    private Set<String> inputNames;
+    private boolean clsPooling;
+    private int dimensions;
+    private EmbeddingDriftReport driftReport;
+
+    public OnnxEmbeddingService(
+            EmbeddingModelSourceLoader modelSourceLoader,
+            ResourceLoader resourceLoader,
+            AiSearchOnnxEmbeddingProperties onnxProperties,
+            AiSearchEmbeddingProperties embeddingProperties,
+            AiSearchEmbeddingQuantizationProperties quantizationProperties,
+            EmbeddingDimensionReducer dimensionReducer
+    ) {
+        this.modelSourceLoader = modelSourceLoader;
+        this.resourceLoader = resourceLoader;
+        this.quantizationProperties = quantizationProperties;
+        this.dimensionReducer = dimensionReducer;
+        this.modelPath = onnxProperties.modelPath();
+        this.modelFileName = onnxProperties.modelFileName() == null || onnxProperties.modelFileName().isBlank()
+                ? DEFAULT_MODEL_FILE_NAME
+                : onnxProperties.modelFileName();
+        this.intraOpThreads = onnxProperties.intraOpThreads();
+        this.batchSize = Math.max(1, embeddingProperties.batchSize());
+        this.tokenCacheMaxTokens = embeddingProperties.tokenCacheMaxTokens();
+    }
+
+    @PostConstruct
+    public void init() throws IOException, OrtException {
+        Path modelDirectory = modelSourceLoader.resolveModelPath(modelPath);
+        ModelServingProperties serving = ModelServingProperties.load(modelDirectory);
+        String pooling = serving.pooling();
+        int maxLength = serving.maxLength();
+        if (!pooling.equals("cls") && !pooling.equals("mean")) {
+            throw new IllegalStateException("지원하지 않는 pooling 방식입니다. pooling=" + pooling);
+        }
+        clsPooling = pooling.equals("cls");
+
+        // maxLength를 넘는 입력은 잘라내고, 패딩은 배치를 만들 때 배치 안 최대 길이에 맞춰 붙인다.
+        tokenizer = CachingTokenizer.open(modelDirectory, maxLength, tokenCacheMaxTokens);
+
+        environment = OrtEnvironment.getEnvironment();
+        Path modelFile = modelDirectory.resolve(modelFileName);
+        session = createSession(modelFile);
+        inputNames = session.getInputNames();
+        if (isInt8Mode()) {
+            modelFile = switchToQuantizedModel(modelDirectory);
+        }
+
+        // 차원 수는 Elasticsearch dense_vector 매핑과 반드시 일치해야 한다. (차원 축소 시 축소 후 차원)
+        dimensions = toEmbeddingVector("한글 식품 벡터 검색 테스트").length;
+        log.info("ONNX embedding model initialized. path={}, dimensions={}, reduction={}, pooling={}, maxLength={}, intraOpThreads={}",
+                modelFile, dimensions, dimensionReducer.identity(), pooling, maxLength, intraOpThreads);
+    }
+
+    /**
+     * 양자화 모델 사용 시 기동 시점에 측정한 fp32 대비 drift. fp32 모드면 empty.
+     */
+    public Optional<EmbeddingDriftReport> driftReport() {
+        return Optional.ofNullable(driftReport);
+    }
+
+    private boolean isInt8Mode() {
+        String mode = quantizationProperties.mode();
+        if (mode == null || mode.isBlank() || mode.equalsIgnoreCase("none")) {
+            return false;
+        }
+        if (!mode.equalsIgnoreCase(QUANTIZATION_INT8)) {
+            throw new IllegalStateException("지원하지 않는 양자화 모드입니다. mode=" + mode);
+        }
+        return true;
+    }
+
+    private Path switchToQuantizedModel(Path modelDirectory) throws IOException, OrtException {
+        String fileName = quantizationProperties.modelFileName() == null || quantizationProperties.modelFileName().isBlank()
+                ? DEFAULT_QUANTIZED_MODEL_FILE_NAME
+                : quantizationProperties.modelFileName();
+        Path quantizedFile = modelDirectory.resolve(fileName);
+        if (!Files.isRegularFile(quantizedFile)) {
+            throw new IllegalStateException("int8 양자화 모델이 없습니다. sh_bin/model/10_quantize_onnx_int8.sh로 생성하세요. path="
+                    + quantizedFile);
+        }
+
+        OrtSession fp32Session = session;
+        OrtSession int8Session = createSession(quantizedFile);
+        try {
+            List<String> samples = loadDriftSamples();
+            driftReport = EmbeddingDriftReport.compare(
+                    samples,
+                    embedAll(fp32Session, samples),
+                    embedAll(int8Session, samples)
+            );
+        } catch (RuntimeException e) {
+            int8Session.close();
+            throw e;
+        } finally {
+            // 측정이 끝나면 fp32 세션은 더 이상 쓰지 않는다.
+            fp32Session.close();
+            session = int8Session;
+        }
+
+        double maxDrift = quantizationProperties.maxDrift();
+        log.info("Int8 embedding drift measured. model={}, {}, maxAllowedDrift={}", quantizedFile, driftReport, maxDrift);
+        if (driftReport.maxDrift() > maxDrift) {
+            if (quantizationProperties.failOnDrift()) {
+                throw new IllegalStateException("int8 양자화 모델의 drift가 허용치를 넘었습니다. maxDrift="
+                        + driftReport.maxDrift() + ", allowed=" + maxDrift + ", worstSample=" + driftReport.worstSample());
+            }
+            log.warn("Int8 embedding drift exceeds threshold. maxDrift={}, allowed={}, worstSample={}",
+                    driftReport.maxDrift(), maxDrift, driftReport.worstSample());
+        }
+        return quantizedFile;
+    }
+
+    private List<String> loadDriftSamples() throws IOException {
+        String samplesPath = quantizationProperties.driftSamplesPath();
+        if (samplesPath == null || samplesPath.isBlank()) {
+            throw new IllegalStateException("int8 drift 측정 샘플 경로(drift-samples-path)가 비어 있습니다.");
+        }
+        String location = samplesPath.contains(":") ? samplesPath : "classpath:" + samplesPath;
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            throw new IllegalStateException("int8 drift 측정 샘플 파일이 없습니다. path=" + samplesPath);
+        }
+        List<String> samples = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String sample = line.trim();
+                if (!sample.isEmpty() && !sample.startsWith("#")) {
+                    samples.add(sample);
+                }
+            }
+        }
+        if (samples.isEmpty()) {
+            throw new IllegalStateException("int8 drift 측정 샘플이 비어 있습니다. path=" + samplesPath);
+        }
+        return samples;
+    }
+
+    private OrtSession createSession(Path modelFile) throws OrtException {
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            if (intraOpThreads > 0) {
+                options.setIntraOpNumThreads(intraOpThreads);
+            }
+            return environment.createSession(modelFile.toString(), options);
+        }
+    }
+
+    @Override
+    public float[] toEmbeddingVector(String text) {
+        return toEmbeddingVectors(List.of(text)).get(0);
+    }
+
+    @Override
+    public List<float[]> toEmbeddingVectors(List<String> texts) {
+        List<float[]> vectors = embedAll(session, texts);
+        if (!dimensionReducer.enabled()) {
+            return vectors;
+        }
+        // int8 drift 측정은 전체 차원끼리 비교하고, 축소는 서비스 경로에서만 적용한다.
+        return vectors.stream()
+                .map(dimensionReducer::reduce)
+                .toList();
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    private List<float[]> embedAll(OrtSession targetSession, List<String> texts) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+
+        // 토큰 길이가 비슷한 입력끼리 배치를 만들어 패딩 토큰 계산을 줄이고, 결과는 원래 순서로 되돌린다.
+        List<Encoding> encodings = tokenizer.encodeAll(texts);
+        int[] lengths = encodings.stream()
+                .mapToInt(encoding -> encoding.getIds().length)
+                .toArray();
+        float[][] vectors = new float[texts.size()][];
+        for (int[] group : LengthBucketing.group(lengths, batchSize)) {
+            List<Encoding> batch = new ArrayList<>(group.length);
+            for (int index : group) {
+                batch.add(encodings.get(index));
+            }
+            List<float[]> embedded = embedBatch(targetSession, batch);
+            for (int i = 0; i < group.length; i++) {
+                vectors[group[i]] = embedded.get(i);
+            }
+        }
+        return Arrays.asList(vectors);
+    }
+
+    private List<float[]> embedBatch(OrtSession targetSession, List<Encoding> encodings) {
+        EncodingBatch batch = EncodingBatch.pad(encodings);
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put("input_ids", OnnxTensor.createTensor(environment, batch.inputIds()));
+            inputs.put("attention_mask", OnnxTensor.createTensor(environment, batch.attentionMask()));
+            // XLM-RoBERTa 계열(bge-m3, KURE) export에는 token_type_ids 입력이 없다.
+            if (inputNames.contains("token_type_ids")) {
+                inputs.put("token_type_ids", OnnxTensor.createTensor(environment, batch.tokenTypeIds()));
+            }
+            try (OrtSession.Result result = targetSession.run(inputs)) {
+                return pool(result.get(0), batch);
+            }
+        } catch (OrtException e) {
+            throw new IllegalStateException("ONNX 임베딩 생성 실패. batchSize=" + encodings.size(), e);
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    private List<float[]> pool(OnnxValue output, EncodingBatch batch) throws OrtException {
+        Object value = output.getValue();
+        if (value instanceof float[][] sentenceEmbeddings) {
+            // 문장 임베딩을 바로 출력하도록 export한 모델
+            List<float[]> vectors = new ArrayList<>(sentenceEmbeddings.length);
+            for (float[] embedding : sentenceEmbeddings) {
+                vectors.add(EmbeddingVectors.l2Normalize(embedding));
+            }
+            return vectors;
+        }
+        if (!(value instanceof float[][][] hiddenStates)) {
+            throw new IllegalStateException("지원하지 않는 ONNX 출력 형식입니다. info=" + output.getInfo());
+        }
+        return batch.pool(hiddenStates, clsPooling);
+    }
+
+    @PreDestroy
+    public void close() throws OrtException {
+        if (session != null) {
+            session.close();
+        }
+        if (tokenizer != null) {
+            tokenizer.close();
+        }
+    }
+}
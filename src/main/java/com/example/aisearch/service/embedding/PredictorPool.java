@@ -0,0 +1,139 @@
+package com.example.aisearch.service.embedding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 하나의 모델에서 만든 추론기(예: DJL Predictor)를 크기 제한 풀로 관리한다.
+ *
+ * <p>배경:
+ * - Predictor는 스레드 안전이 보장되지 않으므로 동시에 한 스레드만 사용해야 한다.
+ * - 모델 가중치는 공유되므로 Predictor를 여러 개 만들어도 메모리는 크게 늘지 않는다.
+ *
+ * <p>동작:
+ * - 생성 시 size개의 추론기를 미리 만들어 둔다.
+ * - {@link #execute(Function)}는 추론기 하나를 빌려 작업을 실행하고 반드시 반납한다.
+ * - borrowTimeoutMillis 안에 빌리지 못하면 IllegalStateException을 던진다.
+ * - 대기 시간/시간 초과 횟수를 누적해 {@link #stats()}로 노출한다.
+ *
+ * @param <P> 추론기 타입
+ */
+public class PredictorPool<P> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PredictorPool.class);
+
+    private final String name;
+    private final int size;
+    private final long borrowTimeoutMillis;
+    private final BlockingQueue<P> idle;
+    private final Consumer<P> closer;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    public PredictorPool(String name, int size, long borrowTimeoutMillis, Supplier<P> factory, Consumer<P> closer) {
+        this.name = name;
+        this.size = Math.max(1, size);
+        this.borrowTimeoutMillis = Math.max(1L, borrowTimeoutMillis);
+        this.idle = new ArrayBlockingQueue<>(this.size);
+        this.closer = closer;
+        for (int i = 0; i < this.size; i++) {
+            idle.add(factory.get());
+        }
+    }
+
+    /**
+     * 추론기 하나를 빌려 작업을 실행한 뒤 반납한다.
+     *
+     * @throws IllegalStateException 제한 시간 안에 추론기를 빌리지 못했거나 풀이 닫힌 경우
+     */
+    public <R> R execute(Function<P, R> task) {
+        P predictor = borrow();
+        try {
+            return task.apply(predictor);
+        } finally {
+            release(predictor);
+        }
+    }
+
+    /**
+     * 추론기 하나를 빌린다. 사용 후 반드시 {@link #release(Object)}로 반납해야 한다.
+     *
+     * @throws IllegalStateException 제한 시간 안에 추론기를 빌리지 못했거나 풀이 닫힌 경우
+     */
+    public P borrow() {
+        if (closed) {
+            throw new IllegalStateException("추론기 풀이 닫혔습니다. pool=" + name);
+        }
+        long startedAt = System.nanoTime();
+        P predictor;
+        try {
+            predictor = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("추론기 대기 중 인터럽트 발생. pool=" + name, e);
+        }
+        long waited = System.nanoTime() - startedAt;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (predictor == null) {
+            timeoutCount.incrementAndGet();
+            throw new IllegalStateException("추론기 대기 시간 초과. pool=" + name
+                    + ", size=" + size + ", borrowTimeoutMillis=" + borrowTimeoutMillis);
+        }
+        borrowCount.incrementAndGet();
+        return predictor;
+    }
+
+    public void release(P predictor) {
+        if (closed) {
+            closer.accept(predictor);
+            return;
+        }
+        idle.offer(predictor);
+        // close()가 closed 확인과 offer 사이에 idle을 이미 비웠다면 반납한 추론기는 아무도 닫지 않는다.
+        // 다시 확인해 아직 큐에 남아 있으면 직접 꺼내 닫는다. (close()가 먼저 꺼냈다면 remove가 false라 중복으로 닫지 않는다)
+        if (closed && idle.remove(predictor)) {
+            closer.accept(predictor);
+        }
+    }
+
+    public PredictorPoolStats stats() {
+        long borrows = borrowCount.get();
+        long timeouts = timeoutCount.get();
+        long attempts = borrows + timeouts;
+        double averageWaitMillis = attempts == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / attempts;
+        return new PredictorPoolStats(
+                name,
+                size,
+                idle.size(),
+                borrows,
+                timeouts,
+                averageWaitMillis,
+                maxWaitNanos.get() / 1_000_000.0
+        );
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        log.info("Predictor pool closed. {}", stats());
+        // 사용 중인 추론기는 release 시점에 닫힌다.
+        List<P> remaining = new ArrayList<>();
+        idle.drainTo(remaining);
+        remaining.forEach(closer);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.aisearch.service.embedding;
+
+/**
+ * 추론기 풀 사용 현황. 대기 시간은 borrow 시도(성공+시간 초과) 기준이다.
+ */
+public record PredictorPoolStats(
+        String name,
+        int size,
+        int idle,
+        long borrowCount,
+        long timeoutCount,
+        double averageWaitMillis,
+        double maxWaitMillis
+) {
+}
@@ -0,0 +1,187 @@
+package com.example.aisearch.service.embedding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시에 들어온 검색어 임베딩 요청을 모아 한 번의 배치 추론으로 처리하는 micro-batching 디스패처.
+ *
+ * <p>동작:
+ * - 요청은 대기열에 넣고 즉시 CompletableFuture를 돌려준다.
+ * - 디스패처 스레드는 추론 스레드 하나가 비면 대기열에 쌓인 요청을 최대 maxBatchSize개까지 꺼낸다.
+ * - 다른 추론 스레드도 모두 바쁜 경우(부하 상황)에만 maxWaitMillis 동안 더 모은다.
+ *   한가할 때는 기다리지 않으므로 단건 요청 지연(p50)은 늘지 않는다.
+ * - 배치 결과를 입력 순서대로 각 future에 전달하고, 실패하면(Error 포함) 배치의 모든 future를 실패 처리한다.
+ *
+ * <p>호출자가 시간 초과로 취소한 요청은 추론 전에 배치에서 제외한다.
+ * 호출자는 future만 받으므로 virtual thread에서 기다려도 carrier를 고정하지 않는다.
+ */
+final class QueryEmbeddingBatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryEmbeddingBatcher.class);
+
+    private final EmbeddingService embeddingService;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingEmbedding> queue = new LinkedBlockingQueue<>();
+    private final Semaphore idleWorkers;
+    private final ExecutorService workers;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    QueryEmbeddingBatcher(EmbeddingService embeddingService, int workerThreads, int maxBatchSize, long maxWaitMillis) {
+        this.embeddingService = embeddingService;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxWaitMillis));
+        int threads = Math.max(1, workerThreads);
+        this.idleWorkers = new Semaphore(threads);
+        this.workers = Executors.newFixedThreadPool(threads, new QueryEmbeddingThreadFactory());
+        // 디스패처는 대기열/세마포어 대기만 하고 추론은 하지 않으므로 virtual thread로 충분하다.
+        this.dispatcher = Thread.ofVirtual()
+                .name("query-embedding-dispatcher")
+                .start(this::dispatchLoop);
+    }
+
+    /**
+     * 임베딩 입력 텍스트를 다음 배치에 추가한다.
+     *
+     * @param text formatter가 적용된 임베딩 입력
+     * @return 배치 추론이 끝나면 완료되는 future
+     */
+    CompletableFuture<float[]> submit(String text) {
+        CompletableFuture<float[]> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("검색어 임베딩 디스패처가 종료되었습니다."));
+            return future;
+        }
+        queue.add(new PendingEmbedding(text, future));
+        return future;
+    }
+
+    private void dispatchLoop() {
+        try {
+            while (!closed) {
+                idleWorkers.acquire();
+                List<PendingEmbedding> batch;
+                try {
+                    batch = collectBatch();
+                } catch (InterruptedException | RuntimeException e) {
+                    idleWorkers.release();
+                    throw e;
+                }
+                if (batch.isEmpty()) {
+                    idleWorkers.release();
+                    continue;
+                }
+                try {
+                    workers.execute(() -> {
+                        try {
+                            embed(batch);
+                        } finally {
+                            idleWorkers.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    idleWorkers.release();
+                    batch.forEach(pending -> pending.future().completeExceptionally(e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Query embedding dispatcher stopped unexpectedly.", e);
+        } finally {
+            failPending();
+        }
+    }
+
+    private List<PendingEmbedding> collectBatch() throws InterruptedException {
+        List<PendingEmbedding> batch = new ArrayList<>(maxBatchSize);
+        batch.add(queue.take());
+        queue.drainTo(batch, maxBatchSize - batch.size());
+
+        // 다른 추론 스레드가 모두 바쁠 때만 조금 더 모은다. 어차피 바로 처리되지 못하는 구간이다.
+        if (maxWaitNanos > 0L && batch.size() < maxBatchSize && idleWorkers.availablePermits() == 0) {
+            long deadline = System.nanoTime() + maxWaitNanos;
+            while (batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    break;
+                }
+                PendingEmbedding next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+        }
+        batch.removeIf(pending -> pending.future().isDone());
+        return batch;
+    }
+
+    private void embed(List<PendingEmbedding> batch) {
+        try {
+            List<float[]> embeddings = embeddingService.toEmbeddingVectors(batch.stream()
+                    .map(PendingEmbedding::text)
+                    .toList());
+            if (embeddings.size() != batch.size()) {
+                throw new IllegalStateException("배치 임베딩 결과 수가 입력 수와 다릅니다. expected="
+                        + batch.size() + ", actual=" + embeddings.size());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(embeddings.get(i));
+            }
+        } catch (Throwable e) {
+            // Error(OOM, 네이티브 라이브러리 링크 실패 등)도 future에 전달한다.
+            // 그러지 않으면 배치의 future가 영원히 끝나지 않아 같은 검색어가 죽은 in-flight 항목에 묶인다.
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    private void failPending() {
+        List<PendingEmbedding> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        IllegalStateException failure = new IllegalStateException("검색어 임베딩 디스패처가 종료되었습니다.");
+        remaining.forEach(pending -> pending.future().completeExceptionally(failure));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        workers.shutdownNow();
+    }
+
+    private record PendingEmbedding(String text, CompletableFuture<float[]> future) {
+    }
+
+    /**
+     * 추론 전용 platform 스레드. DJL/ONNX 추론은 CPU 바운드 네이티브 호출이라 virtual thread에서 실행하면
+     * carrier 스레드를 고정하므로, virtual thread 모드에서도 크기가 고정된 이 풀에서만 추론한다.
+     */
+    private static final class QueryEmbeddingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "query-embedding-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
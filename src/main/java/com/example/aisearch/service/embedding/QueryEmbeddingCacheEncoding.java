@@ -0,0 +1,33 @@
+package com.example.aisearch.service.embedding;
+
+import java.util.Locale;
+
+/**
+ * 검색어 임베딩 캐시 저장 형식.
+ *
+ * <p>384차원 기준 엔트리당 벡터 크기: float32 1,536byte / float16 768byte / int8 388byte
+ */
+enum QueryEmbeddingCacheEncoding {
+    FLOAT32,
+    FLOAT16,
+    INT8;
+
+    static QueryEmbeddingCacheEncoding from(String value) {
+        if (value == null || value.isBlank()) {
+            return FLOAT32;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 검색어 임베딩 캐시 형식입니다. cacheEncoding=" + value, e);
+        }
+    }
+
+    CompactEmbedding encode(float[] vector) {
+        return switch (this) {
+            case FLOAT32 -> new CompactEmbedding.Float32(vector);
+            case FLOAT16 -> CompactEmbedding.Float16.encode(vector);
+            case INT8 -> CompactEmbedding.Int8.encode(vector);
+        };
+    }
+}
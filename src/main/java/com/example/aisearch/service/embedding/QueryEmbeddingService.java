@@ -1,91 +1,222 @@
 package com.example.aisearch.service.embedding;
 
 import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.config.AiSearchQueryEmbeddingProperties;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 검색어 임베딩 생성의 운영 정책을 담당한다.
  *
  * <p>역할:
  * - 검색어 정규화
- * - 동일 검색어 임베딩 캐시
+ * - 동일 검색어 임베딩 캐시 (float32/float16/int8 형식, 엔트리 수 또는 byte 기준 제한)
  * - 동일 시점 중복 요청 합류(in-flight dedup)
+ * - 서로 다른 검색어의 동시 cache miss를 micro-batch로 묶어 한 번에 추론 ({@link QueryEmbeddingBatcher})
  * - 시간 제한 초과 시 예외 변환
+ *
+ * <p>반환 벡터는 캐시와 같은 배열을 공유하므로 호출자는 수정하지 않아야 한다.
  */
 @Service
 public class QueryEmbeddingService {
 
+    // 캐시 엔트리당 고정 오버헤드 추정치 (Caffeine 노드, 키 String 헤더, 벡터 배열 헤더)
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    // float32 + 엔트리 수 기준 캐시, warm-up/micro-batching 미사용
+    private static final AiSearchQueryEmbeddingProperties DEFAULT_QUERY_EMBEDDING_PROPERTIES =
+            new AiSearchQueryEmbeddingProperties(null, 0L, false, null, 0, 0, 0L, null, 1, 0L);
+
     private final EmbeddingService embeddingService;
     private final EmbeddingInputFormatter embeddingInputFormatter;
-    private final Cache<String, List<Float>> cache;
-    private final ConcurrentMap<String, CompletableFuture<List<Float>>> inFlight;
-    private final ExecutorService executor;
+    private final QueryEmbeddingCacheEncoding cacheEncoding;
+    private final Cache<String, CompactEmbedding> cache;
+    private final ConcurrentMap<String, CompletableFuture<float[]>> inFlight;
+    private final QueryEmbeddingBatcher batcher;
     private final long timeoutMillis;
 
     public QueryEmbeddingService(
             EmbeddingService embeddingService,
             EmbeddingInputFormatter embeddingInputFormatter,
             AiSearchProperties properties
+    ) {
+        this(embeddingService, embeddingInputFormatter, properties, DEFAULT_QUERY_EMBEDDING_PROPERTIES);
+    }
+
+    @Autowired
+    public QueryEmbeddingService(
+            EmbeddingService embeddingService,
+            EmbeddingInputFormatter embeddingInputFormatter,
+            AiSearchProperties properties,
+            AiSearchQueryEmbeddingProperties queryEmbeddingProperties
     ) {
         this.embeddingService = embeddingService;
         this.embeddingInputFormatter = embeddingInputFormatter;
-        this.cache = Caffeine.newBuilder()
-                .maximumSize(Math.max(1L, properties.queryEmbeddingCacheMaxSize()))
-                .expireAfterWrite(Duration.ofSeconds(Math.max(1L, properties.queryEmbeddingCacheTtlSeconds())))
-                .build();
+        this.cacheEncoding = QueryEmbeddingCacheEncoding.from(queryEmbeddingProperties.cacheEncoding());
+        this.cache = buildCache(properties, queryEmbeddingProperties);
         this.inFlight = new ConcurrentHashMap<>();
         this.timeoutMillis = Math.max(1L, properties.queryEmbeddingTimeoutMillis());
-        this.executor = Executors.newFixedThreadPool(
-                Math.max(1, properties.queryEmbeddingExecutorThreads()),
-                new QueryEmbeddingThreadFactory()
+        this.batcher = new QueryEmbeddingBatcher(
+                embeddingService,
+                properties.queryEmbeddingExecutorThreads(),
+                queryEmbeddingProperties.batchMaxSize(),
+                queryEmbeddingProperties.batchMaxWaitMillis()
         );
     }
 
-    public List<Float> toQueryEmbedding(String query) {
+    public float[] toQueryEmbedding(String query) {
         String cacheKey = normalize(query);
         validateQueryKey(cacheKey);
 
-        List<Float> cached = cache.getIfPresent(cacheKey);
+        CompactEmbedding cached = cache.getIfPresent(cacheKey);
         if (cached != null) {
-            return cached;
+            return cached.toFloats();
         }
 
         return awaitEmbedding(cacheKey, getOrStartInFlight(cacheKey));
     }
 
+    /**
+     * {@link #toQueryEmbedding(String)}의 비동기 버전. 호출 스레드는 추론 완료를 기다리지 않는다.
+     *
+     * <p>시간 초과/추론 실패 시 반환 future는 {@link QueryEmbeddingUnavailableException}으로 실패한다.
+     * 캐시 hit이면 이미 완료된 future를 반환한다.
+     *
+     * @throws IllegalArgumentException 검색어가 비어 있는 경우 (즉시)
+     */
+    public CompletableFuture<float[]> toQueryEmbeddingAsync(String query) {
+        return toQueryEmbeddingAsync(query, true);
+    }
+
+    /**
+     * @param cancelOnTimeout false면 시간 초과 시 호출자 future만 실패시키고 추론은 계속 진행한다.
+     *                        늦게 끝난 벡터도 캐시에 들어가 다음 같은 검색어 요청은 바로 hit 된다.
+     *                        (BM25 hedge가 응답을 이미 맡은 경우에 사용)
+     */
+    public CompletableFuture<float[]> toQueryEmbeddingAsync(String query, boolean cancelOnTimeout) {
+        String cacheKey = normalize(query);
+        validateQueryKey(cacheKey);
+
+        CompactEmbedding cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.toFloats());
+        }
+
+        CompletableFuture<float[]> future = getOrStartInFlight(cacheKey);
+        // 다른 요청과 공유하는 in-flight future에 시간 제한을 직접 걸지 않도록 사본에 건다.
+        return future.copy()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((embedding, throwable) -> {
+                    if (throwable == null) {
+                        return embedding;
+                    }
+                    Throwable cause = unwrap(throwable);
+                    if (cause instanceof TimeoutException) {
+                        if (cancelOnTimeout) {
+                            future.cancel(true);
+                            inFlight.remove(cacheKey, future);
+                        }
+                        throw new QueryEmbeddingUnavailableException(
+                                "검색어 임베딩 생성 시간 초과. timeoutMillis=" + timeoutMillis + ", query=" + cacheKey,
+                                cause
+                        );
+                    }
+                    if (cause instanceof QueryEmbeddingUnavailableException unavailable) {
+                        throw unavailable;
+                    }
+                    throw new QueryEmbeddingUnavailableException("검색어 임베딩 생성 실패. query=" + cacheKey, cause);
+                });
+    }
+
+    /**
+     * 검색어 목록을 배치 추론해 캐시에 미리 채운다. 이미 캐시에 있는 검색어는 건너뛴다.
+     *
+     * <p>검색 요청 처리 스레드풀과 경쟁하지 않도록 호출 스레드에서 전달받은 전용 워커로 추론한다.
+     *
+     * @param worker  warm-up 전용 임베딩 워커
+     * @param queries 원본 검색어 목록
+     * @return 새로 캐시에 채운 검색어 수
+     */
+    public int warmUp(EmbeddingWorker worker, List<String> queries) {
+        Set<String> cacheKeys = new LinkedHashSet<>();
+        for (String query : queries) {
+            String cacheKey = normalize(query);
+            if (!cacheKey.isBlank() && cache.getIfPresent(cacheKey) == null) {
+                cacheKeys.add(cacheKey);
+            }
+        }
+        if (cacheKeys.isEmpty()) {
+            return 0;
+        }
+
+        List<String> keys = List.copyOf(cacheKeys);
+        List<float[]> embeddings = worker.toEmbeddingVectors(keys.stream()
+                .map(embeddingInputFormatter::formatQuery)
+                .toList());
+        for (int i = 0; i < keys.size(); i++) {
+            cache.put(keys.get(i), cacheEncoding.encode(embeddings.get(i)));
+        }
+        return keys.size();
+    }
+
+    /**
+     * 캐시에 남아 있는 검색어를 자주 쓰인 순서로 반환한다. (종료 시 캐시 덤프용)
+     */
+    public List<String> hottestQueries(int limit) {
+        return cache.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+                .orElseGet(() -> cache.asMap().keySet().stream().limit(limit).toList());
+    }
+
+    private static Cache<String, CompactEmbedding> buildCache(
+            AiSearchProperties properties,
+            AiSearchQueryEmbeddingProperties queryEmbeddingProperties
+    ) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1L, properties.queryEmbeddingCacheTtlSeconds())));
+        if (queryEmbeddingProperties.cacheMaxBytes() <= 0L) {
+            return builder
+                    .maximumSize(Math.max(1L, properties.queryEmbeddingCacheMaxSize()))
+                    .build();
+        }
+        // byte 예산 기준: 압축 형식일수록 같은 메모리에 더 많은 검색어를 담는다.
+        return builder
+                .maximumWeight(queryEmbeddingProperties.cacheMaxBytes())
+                .<String, CompactEmbedding>weigher((key, value) ->
+                        ENTRY_OVERHEAD_BYTES + key.length() * Character.BYTES + value.payloadBytes())
+                .build();
+    }
+
     private void validateQueryKey(String cacheKey) {
         if (cacheKey.isBlank()) {
             throw new IllegalArgumentException("검색어 임베딩을 생성할 query 값이 비어 있습니다.");
         }
     }
 
-    private CompletableFuture<List<Float>> getOrStartInFlight(String cacheKey) {
-        CompletableFuture<List<Float>> existing = inFlight.get(cacheKey);
+    private CompletableFuture<float[]> getOrStartInFlight(String cacheKey) {
+        CompletableFuture<float[]> existing = inFlight.get(cacheKey);
         if (existing != null) {
             return existing;
         }
 
-        CompletableFuture<List<Float>> created = startEmbedding(cacheKey);
-        CompletableFuture<List<Float>> previous = inFlight.putIfAbsent(cacheKey, created);
+        CompletableFuture<float[]> created = startEmbedding(cacheKey);
+        CompletableFuture<float[]> previous = inFlight.putIfAbsent(cacheKey, created);
         if (previous != null) {
             return previous;
         }
@@ -93,16 +224,16 @@ public class QueryEmbeddingService {
         created.whenComplete((result, throwable) -> {
             inFlight.remove(cacheKey, created);
             if (throwable == null && result != null) {
-                cache.put(cacheKey, result);
+                cache.put(cacheKey, cacheEncoding.encode(result));
             }
         });
         return created;
     }
 
-    private List<Float> awaitEmbedding(String cacheKey, CompletableFuture<List<Float>> future) {
+    private float[] awaitEmbedding(String cacheKey, CompletableFuture<float[]> future) {
         try {
-            List<Float> embedding = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
-            cache.put(cacheKey, embedding);
+            float[] embedding = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            cache.put(cacheKey, cacheEncoding.encode(embedding));
             return embedding;
         } catch (TimeoutException e) {
             future.cancel(true);
@@ -123,11 +254,8 @@ public class QueryEmbeddingService {
         }
     }
 
-    private CompletableFuture<List<Float>> startEmbedding(String cacheKey) {
-        return CompletableFuture.supplyAsync(
-                        () -> embeddingService.toEmbeddingVector(embeddingInputFormatter.formatQuery(cacheKey)),
-                        executor
-                );
+    private CompletableFuture<float[]> startEmbedding(String cacheKey) {
+        return batcher.submit(embeddingInputFormatter.formatQuery(cacheKey));
     }
 
     private Throwable unwrap(Throwable throwable) {
@@ -148,18 +276,6 @@ public class QueryEmbeddingService {
 
     @PreDestroy
     public void close() {
-        executor.shutdownNow();
-    }
-
-    private static final class QueryEmbeddingThreadFactory implements ThreadFactory {
-
-        private final AtomicInteger sequence = new AtomicInteger(1);
-
-        @Override
-        public Thread newThread(Runnable runnable) {
-            Thread thread = new Thread(runnable, "query-embedding-" + sequence.getAndIncrement());
-            thread.setDaemon(true);
-            return thread;
-        }
+        batcher.close();
     }
 }
@@ -0,0 +1,198 @@
+package com.example.aisearch.service.embedding;
+
+import com.example.aisearch.config.AiSearchQueryEmbeddingProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 배포 직후 빈 검색어 임베딩 캐시로 인한 p99 급증을 줄이기 위한 warm-up.
+ *
+ * <p>동작:
+ * - 애플리케이션 준비 완료(ApplicationReadyEvent) 후 백그라운드 스레드에서 실행
+ * - 직전 인스턴스의 캐시 덤프 -> 인기 검색어 목록 순으로 최대 warmup-max-queries 개를 모은다.
+ * - 전용 임베딩 워커로 warmup-batch-size 단위 배치 추론 후 QueryEmbeddingService 캐시에 넣는다.
+ * - warmup-time-budget-seconds를 넘기면 남은 검색어는 건너뛴다.
+ * - 종료 시 캐시에서 자주 쓰인 검색어를 cache-dump-path에 기록해 다음 기동에 사용한다.
+ *
+ * <p>캐시 TTL(query-embedding-cache-ttl-seconds)은 그대로 적용되므로 warm-up 효과는 배포 직후 구간에 집중된다.
+ */
+@Component
+public class QueryEmbeddingWarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryEmbeddingWarmupService.class);
+
+    private final QueryEmbeddingService queryEmbeddingService;
+    private final EmbeddingService embeddingService;
+    private final ResourceLoader resourceLoader;
+    private final AiSearchQueryEmbeddingProperties properties;
+    private final int maxQueries;
+    private final int batchSize;
+    private final long timeBudgetMillis;
+
+    private volatile String state;
+    private volatile int totalQueries;
+    private volatile int processedQueries;
+    private volatile int warmedQueries;
+    private volatile long startedAtMillis;
+    private volatile long finishedAtMillis;
+    private volatile String message;
+
+    public QueryEmbeddingWarmupService(
+            QueryEmbeddingService queryEmbeddingService,
+            EmbeddingService embeddingService,
+            ResourceLoader resourceLoader,
+            AiSearchQueryEmbeddingProperties properties
+    ) {
+        this.queryEmbeddingService = queryEmbeddingService;
+        this.embeddingService = embeddingService;
+        this.resourceLoader = resourceLoader;
+        this.properties = properties;
+        this.maxQueries = Math.max(1, properties.warmupMaxQueries());
+        this.batchSize = Math.max(1, properties.warmupBatchSize());
+        this.timeBudgetMillis = Math.max(1L, properties.warmupTimeBudgetSeconds()) * 1000L;
+        this.state = properties.warmupEnabled() ? "PENDING" : "DISABLED";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.warmupEnabled()) {
+            return;
+        }
+        // warm-up은 추론을 직접 수행하므로 virtual thread 모드에서도 platform 스레드로 실행한다.
+        Thread thread = new Thread(this::warmUp, "query-embedding-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * warm-up을 호출 스레드에서 실행한다. 예외는 상태에만 남기고 전파하지 않는다.
+     */
+    public void warmUp() {
+        startedAtMillis = System.currentTimeMillis();
+        state = "RUNNING";
+        try {
+            List<String> queries = collectQueries();
+            totalQueries = queries.size();
+            log.info("Query embedding warm-up started. totalQueries={}, batchSize={}, timeBudgetMillis={}",
+                    totalQueries, batchSize, timeBudgetMillis);
+
+            long deadline = startedAtMillis + timeBudgetMillis;
+            try (EmbeddingWorker worker = embeddingService.openWorker()) {
+                for (int from = 0; from < queries.size(); from += batchSize) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        finish("BUDGET_EXCEEDED", "time budget 초과로 남은 검색어를 건너뜀");
+                        return;
+                    }
+                    List<String> batch = queries.subList(from, Math.min(from + batchSize, queries.size()));
+                    warmedQueries += queryEmbeddingService.warmUp(worker, batch);
+                    processedQueries += batch.size();
+                }
+            }
+            finish("COMPLETED", null);
+        } catch (RuntimeException e) {
+            log.warn("Query embedding warm-up failed.", e);
+            finish("FAILED", e.getMessage());
+        }
+    }
+
+    public QueryEmbeddingWarmupStatus status() {
+        long end = finishedAtMillis > 0 ? finishedAtMillis : System.currentTimeMillis();
+        long elapsed = startedAtMillis > 0 ? end - startedAtMillis : 0L;
+        return new QueryEmbeddingWarmupStatus(
+                state,
+                totalQueries,
+                processedQueries,
+                warmedQueries,
+                elapsed,
+                timeBudgetMillis,
+                message
+        );
+    }
+
+    @PreDestroy
+    public void dumpCache() {
+        Path dumpPath = dumpPath();
+        if (dumpPath == null) {
+            return;
+        }
+        try {
+            List<String> hottest = queryEmbeddingService.hottestQueries(maxQueries);
+            if (hottest.isEmpty()) {
+                return;
+            }
+            if (dumpPath.getParent() != null) {
+                Files.createDirectories(dumpPath.getParent());
+            }
+            Files.write(dumpPath, hottest, StandardCharsets.UTF_8);
+            log.info("Query embedding cache dumped. path={}, queries={}", dumpPath, hottest.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Query embedding cache dump failed. path={}", dumpPath, e);
+        }
+    }
+
+    private void finish(String finalState, String finalMessage) {
+        finishedAtMillis = System.currentTimeMillis();
+        message = finalMessage;
+        state = finalState;
+        log.info("Query embedding warm-up finished. state={}, processed={}/{}, warmed={}, elapsedMillis={}",
+                finalState, processedQueries, totalQueries, warmedQueries, finishedAtMillis - startedAtMillis);
+    }
+
+    private List<String> collectQueries() {
+        Set<String> queries = new LinkedHashSet<>();
+        Path dumpPath = dumpPath();
+        if (dumpPath != null && Files.isRegularFile(dumpPath)) {
+            readQueries(resourceLoader.getResource(dumpPath.toUri().toString()), queries);
+        }
+        String queriesPath = properties.warmupQueriesPath();
+        if (queriesPath != null && !queriesPath.isBlank() && queries.size() < maxQueries) {
+            String location = queriesPath.contains(":") ? queriesPath : "classpath:" + queriesPath;
+            readQueries(resourceLoader.getResource(location), queries);
+        }
+        return List.copyOf(queries);
+    }
+
+    private void readQueries(Resource resource, Set<String> queries) {
+        if (!resource.exists()) {
+            log.warn("Query embedding warm-up source not found. resource={}", resource);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while (queries.size() < maxQueries && (line = reader.readLine()) != null) {
+                // "검색어<TAB>건수" 형식의 로그 집계 파일도 그대로 사용할 수 있도록 첫 컬럼만 읽는다.
+                String query = line.split("\t", 2)[0].trim();
+                if (!query.isEmpty() && !query.startsWith("#")) {
+                    queries.add(query);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Query embedding warm-up source read failed. resource={}", resource, e);
+        }
+    }
+
+    private Path dumpPath() {
+        String cacheDumpPath = properties.cacheDumpPath();
+        if (cacheDumpPath == null || cacheDumpPath.isBlank()) {
+            return null;
+        }
+        return Path.of(cacheDumpPath);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.aisearch.service.embedding;
+
+public record QueryEmbeddingWarmupStatus(
+        String state,
+        int totalQueries,
+        int processedQueries,
+        int warmedQueries,
+        long elapsedMillis,
+        long timeBudgetMillis,
+        String message
+) {
+}
@@ -50,7 +50,10 @@ public class EmbeddingModelSourceLoader {
         return new EmbeddingModelSource(null, modelUrl, false);
     }
 
-    private Path resolveModelPath(String modelPath) throws IOException {
+    /**
+     * 절대 경로, file: 경로, classpath: 경로를 로컬 파일 경로로 변환한다.
+     */
+    public Path resolveModelPath(String modelPath) throws IOException {
         if (modelPath.startsWith("/")) {
             Path path = Paths.get(modelPath);
             if (!Files.exists(path)) {
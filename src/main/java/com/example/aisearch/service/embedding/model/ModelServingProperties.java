@@ -0,0 +1,36 @@
+package com.example.aisearch.service.embedding.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * 모델 디렉터리의 serving.properties(djl-convert 결과) 중 토큰화/pooling에 필요한 값.
+ *
+ * @param pooling   cls 또는 mean (없으면 mean)
+ * @param maxLength 토큰화 시 최대 토큰 수 (없으면 512)
+ * @param includeTokenTypes 모델 입력에 token_type_ids를 넣을지 여부 (없으면 false, DJL TextEmbeddingTranslator와 같다)
+ */
+public record ModelServingProperties(String pooling, int maxLength, boolean includeTokenTypes) {
+
+    private static final String DEFAULT_POOLING = "mean";
+    private static final int DEFAULT_MAX_LENGTH = 512;
+
+    public static ModelServingProperties load(Path modelDirectory) throws IOException {
+        Properties properties = new Properties();
+        Path servingFile = modelDirectory.resolve("serving.properties");
+        if (Files.isRegularFile(servingFile)) {
+            try (InputStream input = Files.newInputStream(servingFile)) {
+                properties.load(input);
+            }
+        }
+        return new ModelServingProperties(
+                properties.getProperty("pooling", DEFAULT_POOLING).trim().toLowerCase(Locale.ROOT),
+                Integer.parseInt(properties.getProperty("maxLength", String.valueOf(DEFAULT_MAX_LENGTH)).trim()),
+                Boolean.parseBoolean(properties.getProperty("includeTokenTypes", "false").trim())
+        );
+    }
+}
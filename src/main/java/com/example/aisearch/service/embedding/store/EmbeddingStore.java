@@ -0,0 +1,22 @@
+package com.example.aisearch.service.embedding.store;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 문서 임베딩 텍스트 해시 -> 임베딩 벡터를 롤아웃 간에 재사용하기 위한 저장소.
+ *
+ * 키는 formatter가 적용된 임베딩 입력 텍스트의 해시이며,
+ * 저장소는 자신이 만들어진 모델(경로/URL, 차원)과 다른 모델의 벡터를 돌려주지 않는다.
+ */
+public interface EmbeddingStore {
+
+    // 저장된 벡터 조회 (없는 해시는 결과에 포함하지 않는다)
+    Map<String, float[]> findAll(Collection<String> textHashes);
+
+    // 새로 계산한 벡터 저장
+    void putAll(Map<String, float[]> embeddings);
+
+    // 한 번의 색인 실행이 끝난 뒤 호출. 크기 제한을 넘었으면 이번 실행에서 사용한 항목만 남긴다.
+    void compactIfNeeded();
+}
@@ -0,0 +1,28 @@
+package com.example.aisearch.service.embedding.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 임베딩 저장소를 사용하지 않을 때의 구현. 항상 조회 miss로 동작한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ai-search.embedding-store", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpEmbeddingStore implements EmbeddingStore {
+
+    @Override
+    public Map<String, float[]> findAll(Collection<String> textHashes) {
+        return Map.of();
+    }
+
+    @Override
+    public void putAll(Map<String, float[]> embeddings) {
+    }
+
+    @Override
+    public void compactIfNeeded() {
+    }
+}
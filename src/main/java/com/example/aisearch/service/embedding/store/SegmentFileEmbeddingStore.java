@@ -0,0 +1,393 @@
+package com.example.aisearch.service.embedding.store;
+
+import com.example.aisearch.config.AiSearchEmbeddingProperties;
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
+import com.example.aisearch.config.AiSearchEmbeddingStoreProperties;
+import com.example.aisearch.config.AiSearchOnnxEmbeddingProperties;
+import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.service.embedding.EmbeddingDimensionReducer;
+import com.example.aisearch.service.embedding.EmbeddingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * append-only 세그먼트 파일 기반 임베딩 저장소.
+ *
+ * 파일 구조:
+ * - 헤더: magic, format version, 차원 수, 모델 식별자(provider/경로/URL/ONNX 파일/양자화 방식/차원/차원 축소 방식)
+ * - 레코드(고정 길이): 텍스트 해시 32byte + float32 벡터(dims * 4byte)
+ *
+ * 동작:
+ * - 처음 사용할 때 파일을 열고 레코드 키만 읽어 해시 -> 파일 offset 인덱스를 메모리에 만든다.
+ * - 헤더의 모델 식별자가 현재 모델과 다르면 파일을 비우고 새로 시작한다(모델 교체 시 자동 무효화).
+ * - 새 벡터는 파일 끝에 추가만 하며, 기록 도중 중단되어 남은 불완전한 마지막 레코드는 다음 open에서 잘라낸다.
+ * - 파일이 max-bytes를 넘으면 색인 실행 종료 시 이번 실행에서 조회/저장한 항목만 새 파일로 옮긴다.
+ *
+ * 저장소 I/O 실패는 색인을 막지 않는다. 경고만 남기고 조회 miss로 취급한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ai-search.embedding-store", name = "enabled", havingValue = "true")
+public class SegmentFileEmbeddingStore implements EmbeddingStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentFileEmbeddingStore.class);
+    private static final int MAGIC = 0x454D4253; // "EMBS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int KEY_BYTES = 32;
+    private static final String SEGMENT_FILE_NAME = "embeddings.seg";
+    private static final String COMPACTING_FILE_NAME = "embeddings.seg.compacting";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String modelIdentity;
+    private final int dimensions;
+    private final int recordBytes;
+
+    // 파일 I/O를 잡은 채로 대기하므로 synchronized 대신 ReentrantLock을 쓴다. (virtual thread carrier 고정 방지)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Long> offsets = new HashMap<>();
+    private final Set<String> touched = new HashSet<>();
+    private FileChannel channel;
+
+    @Autowired
+    public SegmentFileEmbeddingStore(
+            AiSearchEmbeddingStoreProperties storeProperties,
+            AiSearchProperties properties,
+            AiSearchEmbeddingProperties embeddingProperties,
+            AiSearchOnnxEmbeddingProperties onnxProperties,
+            AiSearchEmbeddingQuantizationProperties quantizationProperties,
+            EmbeddingService embeddingService,
+            EmbeddingDimensionReducer dimensionReducer
+    ) {
+        this(
+                Path.of(storeProperties.directory()),
+                storeProperties.maxBytes(),
+                modelIdentity(
+                        embeddingProperties.provider(),
+                        properties.embeddingModelPath(),
+                        properties.embeddingModelUrl(),
+                        onnxProperties,
+                        quantizationProperties,
+                        dimensionReducer.identity(),
+                        embeddingService.dimensions()
+                ),
+                embeddingService.dimensions()
+        );
+    }
+
+    SegmentFileEmbeddingStore(Path directory, long maxBytes, String modelIdentity, int dimensions) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.modelIdentity = modelIdentity;
+        this.dimensions = dimensions;
+        this.recordBytes = KEY_BYTES + dimensions * Float.BYTES;
+    }
+
+    @Override
+    public Map<String, float[]> findAll(Collection<String> textHashes) {
+        lock.lock();
+        try {
+            Map<String, float[]> found = new HashMap<>();
+            if (!ensureOpen()) {
+                return found;
+            }
+            try {
+                for (String textHash : textHashes) {
+                    Long offset = offsets.get(textHash);
+                    if (offset == null) {
+                        continue;
+                    }
+                    found.put(textHash, readVector(offset));
+                    touched.add(textHash);
+                }
+            } catch (IOException e) {
+                log.warn("Embedding store read failed. file={}", segmentFile(), e);
+            }
+            return found;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Map<String, float[]> embeddings) {
+        lock.lock();
+        try {
+            if (embeddings.isEmpty() || !ensureOpen()) {
+                return;
+            }
+            try {
+                for (Map.Entry<String, float[]> entry : embeddings.entrySet()) {
+                    String textHash = entry.getKey();
+                    touched.add(textHash);
+                    if (offsets.containsKey(textHash)) {
+                        continue;
+                    }
+                    long offset = channel.size();
+                    writeFully(encodeRecord(textHash, entry.getValue()), offset);
+                    offsets.put(textHash, offset);
+                }
+            } catch (IOException e) {
+                log.warn("Embedding store append failed. file={}", segmentFile(), e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void compactIfNeeded() {
+        lock.lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            try {
+                long sizeBefore = channel.size();
+                if (sizeBefore <= maxBytes) {
+                    return;
+                }
+                compact(sizeBefore);
+            } catch (IOException e) {
+                log.warn("Embedding store compaction failed. file={}", segmentFile(), e);
+            } finally {
+                touched.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            ensureOpen();
+            return offsets.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void compact(long sizeBefore) throws IOException {
+        Path compactingFile = directory.resolve(COMPACTING_FILE_NAME);
+        int entriesBefore = offsets.size();
+        List<Map.Entry<String, Long>> live = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : offsets.entrySet()) {
+            if (touched.contains(entry.getKey())) {
+                live.add(entry);
+            }
+        }
+        // 파일 순서를 유지해 순차 복사가 되도록 offset 기준으로 정렬한다.
+        live.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+
+        int kept = 0;
+        try (FileChannel target = FileChannel.open(compactingFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = encodeHeader();
+            while (header.hasRemaining()) {
+                target.write(header);
+            }
+            for (Map.Entry<String, Long> entry : live) {
+                if (target.size() + recordBytes > maxBytes) {
+                    break;
+                }
+                long position = entry.getValue();
+                long end = position + recordBytes;
+                while (position < end) {
+                    position += channel.transferTo(position, end - position, target);
+                }
+                kept++;
+            }
+        }
+
+        closeChannel();
+        Files.move(compactingFile, segmentFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ensureOpen();
+        log.info("Embedding store compacted. file={}, sizeBefore={}, kept={}, dropped={}",
+                segmentFile(), sizeBefore, kept, entriesBefore - kept);
+    }
+
+    private boolean ensureOpen() {
+        if (channel != null) {
+            return true;
+        }
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(segmentFile(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (headerMatches()) {
+                loadOffsets();
+            } else {
+                resetForCurrentModel();
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Embedding store unavailable. file={}", segmentFile(), e);
+            closeChannel();
+            return false;
+        }
+    }
+
+    private boolean headerMatches() throws IOException {
+        ByteBuffer expected = encodeHeader();
+        if (channel.size() < expected.remaining()) {
+            return false;
+        }
+        ByteBuffer actual = ByteBuffer.allocate(expected.remaining());
+        readFully(actual, 0);
+        return actual.flip().equals(expected);
+    }
+
+    private void resetForCurrentModel() throws IOException {
+        boolean hadData = channel.size() > 0;
+        channel.truncate(0);
+        writeFully(encodeHeader(), 0);
+        offsets.clear();
+        touched.clear();
+        if (hadData) {
+            log.info("Embedding store reset because model identity changed. file={}, modelIdentity={}",
+                    segmentFile(), modelIdentity);
+        }
+    }
+
+    private void loadOffsets() throws IOException {
+        long headerBytes = encodeHeader().remaining();
+        long size = channel.size();
+        long wholeRecords = (size - headerBytes) / recordBytes;
+        long validEnd = headerBytes + wholeRecords * recordBytes;
+        if (validEnd < size) {
+            // 마지막 append가 중간에 끊긴 경우 불완전한 레코드를 버린다.
+            channel.truncate(validEnd);
+        }
+
+        offsets.clear();
+        ByteBuffer key = ByteBuffer.allocate(KEY_BYTES);
+        for (long offset = headerBytes; offset < validEnd; offset += recordBytes) {
+            key.clear();
+            readFully(key, offset);
+            offsets.put(HEX.formatHex(key.array()), offset);
+        }
+        log.info("Embedding store opened. file={}, entries={}, sizeBytes={}", segmentFile(), offsets.size(), validEnd);
+    }
+
+    private float[] readVector(long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(dimensions * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(buffer, offset + KEY_BYTES);
+        buffer.flip();
+        float[] vector = new float[dimensions];
+        buffer.asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    private ByteBuffer encodeRecord(String textHash, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("임베딩 차원이 저장소 차원과 다릅니다. expected="
+                    + dimensions + ", actual=" + vector.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(recordBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(HEX.parseHex(textHash));
+        buffer.asFloatBuffer().put(vector);
+        buffer.position(recordBytes);
+        return buffer.flip();
+    }
+
+    private ByteBuffer encodeHeader() {
+        byte[] identity = modelIdentity.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 4 + identity.length);
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(dimensions);
+        buffer.putInt(identity.length);
+        buffer.put(identity);
+        return buffer.flip();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new IOException("Unexpected end of embedding store. position=" + current);
+            }
+            current += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            current += channel.write(buffer, current);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Embedding store close failed. file={}", segmentFile(), e);
+        }
+        channel = null;
+        offsets.clear();
+    }
+
+    private Path segmentFile() {
+        return directory.resolve(SEGMENT_FILE_NAME);
+    }
+
+    static String modelIdentity(
+            String provider,
+            String modelPath,
+            String modelUrl,
+            AiSearchOnnxEmbeddingProperties onnxProperties,
+            AiSearchEmbeddingQuantizationProperties quantizationProperties,
+            String reductionIdentity,
+            int dimensions
+    ) {
+        // 모델 경로/URL/ONNX 파일/양자화 방식/차원/차원 축소 방식 중 하나라도 바뀌면 다른 모델로 보고 저장소를 무효화한다.
+        // (같은 K라도 truncate와 pca는 다른 벡터를 만들고, fp32와 int8 모델도 벡터가 다르다)
+        return "provider=" + provider
+                + "|path=" + modelPath
+                + "|url=" + modelUrl
+                + "|onnx=" + onnxProperties.modelPath() + "/" + onnxProperties.modelFileName()
+                + "|quantization=" + quantizationProperties.mode() + "/" + quantizationProperties.modelFileName()
+                + "|dims=" + dimensions
+                + "|reduction=" + reductionIdentity;
+    }
+}
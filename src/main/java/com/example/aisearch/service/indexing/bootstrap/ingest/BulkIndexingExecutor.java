@@ -1,24 +1,49 @@
 package com.example.aisearch.service.indexing.bootstrap.ingest;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
 import co.elastic.clients.elasticsearch._types.Refresh;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.example.aisearch.config.AiSearchIndexingProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class BulkIndexingExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(BulkIndexingExecutor.class);
+    private static final int MAX_ERROR_SAMPLES = 3;
 
     private final ElasticsearchClient client;
+    private final ElasticsearchAsyncClient asyncClient;
+    private final int maxOperations;
+    private final long maxBytes;
+    private final int concurrentRequests;
 
-    public BulkIndexingExecutor(ElasticsearchClient client) {
+    public BulkIndexingExecutor(
+            ElasticsearchClient client,
+            ElasticsearchAsyncClient asyncClient,
+            AiSearchIndexingProperties indexingProperties
+    ) {
         this.client = client;
+        this.asyncClient = asyncClient;
+        this.maxOperations = Math.max(1, indexingProperties.bulkMaxOperations());
+        this.maxBytes = Math.max(1L, indexingProperties.bulkMaxBytes());
+        this.concurrentRequests = Math.max(1, indexingProperties.bulkConcurrentRequests());
     }
 
     public long bulkIndex(String indexName, List<IndexDocument> documents) {
@@ -35,7 +60,31 @@ public class BulkIndexingExecutor {
                     )
             );
         }
+        return execute(indexName, bulkBuilder, documents.size());
+    }
+
+    /**
+     * 기존 문서에 필드 일부만 덮어쓰는 partial update를 bulk로 보낸다.
+     * 대상 문서가 없으면 해당 항목은 실패로 집계된다.
+     */
+    public long bulkUpdate(String indexName, List<IndexDocument> partialDocuments) {
+        if (partialDocuments.isEmpty()) {
+            return 0;
+        }
+
+        BulkRequest.Builder bulkBuilder = new BulkRequest.Builder().index(indexName);
+        for (IndexDocument doc : partialDocuments) {
+            bulkBuilder.operations(op -> op
+                    .<Map<String, Object>, Map<String, Object>>update(upd -> upd
+                            .id(doc.id())
+                            .action(a -> a.doc(doc.document()))
+                    )
+            );
+        }
+        return execute(indexName, bulkBuilder, partialDocuments.size());
+    }
 
+    private long execute(String indexName, BulkRequest.Builder bulkBuilder, int documentCount) {
         try {
             /*
               1. refresh=wait_for
@@ -46,26 +95,141 @@ public class BulkIndexingExecutor {
             if (response.errors()) {
                 throw new IllegalStateException("Bulk 인덱싱 중 일부 실패: " + summarizeBulkErrors(response));
             }
-            return documents.size();
+            return documentCount;
         } catch (IOException e) {
             String message = e.getMessage();
             if (message == null || message.isBlank()) {
                 message = e.getClass().getSimpleName();
             }
             log.error("Bulk indexing request failed. indexName={}, documentCount={}, message={}",
-                    indexName, documents.size(), message, e);
+                    indexName, documentCount, message, e);
             throw new IllegalStateException("Bulk 인덱싱 실패: " + message, e);
         }
     }
 
+    /**
+     * 아직 read alias 뒤에 있지 않은 신규 인덱스에 대량 적재할 때 사용하는 세션을 연다.
+     *
+     * bulkIndex와의 차이:
+     * - 배치마다 refresh=wait_for를 기다리지 않는다. (검색 노출 전이므로 즉시 검색 가능할 필요가 없다)
+     * - 건수(bulk-max-operations)/바이트(bulk-max-bytes) 기준으로 요청을 나눠
+     *   비동기 클라이언트로 최대 bulk-concurrent-requests 개까지 동시에 보낸다.
+     * - 항목별 실패는 세션에 모아 두었다가 awaitCompletion에서 한 번에 요약해 던진다.
+     *
+     * 검색 가능 상태로 만드는 refresh는 호출자(롤아웃)가 alias 전환 직전에 한 번 수행해야 한다.
+     */
+    public BulkIngestSession openIngestSession(String indexName) {
+        return new IngesterSession(indexName);
+    }
+
     private String summarizeBulkErrors(co.elastic.clients.elasticsearch.core.BulkResponse response) {
         return response.items().stream()
                 .filter(item -> item.error() != null)
-                .limit(3)
-                .map(item -> "id=" + item.id()
-                        + ", type=" + item.error().type()
-                        + ", reason=" + item.error().reason())
+                .limit(MAX_ERROR_SAMPLES)
+                .map(this::describeItemError)
                 .reduce((a, b) -> a + " | " + b)
                 .orElse("원인 미확인");
     }
+
+    private String describeItemError(BulkResponseItem item) {
+        return "id=" + item.id()
+                + ", type=" + item.error().type()
+                + ", reason=" + item.error().reason();
+    }
+
+    private final class IngesterSession implements BulkIngestSession, BulkListener<Void> {
+
+        private final String indexName;
+        private final AtomicLong succeededCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private final Queue<String> errorSamples = new ConcurrentLinkedQueue<>();
+        private final BulkIngester<Void> ingester;
+        private final ReentrantLock closeLock = new ReentrantLock();
+        private boolean closed;
+
+        private IngesterSession(String indexName) {
+            this.indexName = indexName;
+            this.ingester = BulkIngester.<Void>of(b -> b
+                    .client(asyncClient)
+                    .maxOperations(maxOperations)
+                    .maxSize(maxBytes)
+                    .maxConcurrentRequests(concurrentRequests)
+                    .listener(this)
+            );
+        }
+
+        @Override
+        public void add(List<IndexDocument> documents) {
+            for (IndexDocument doc : documents) {
+                ingester.add(BulkOperation.of(op -> op
+                        .index(idx -> idx
+                                .index(indexName)
+                                .id(doc.id())
+                                .document(doc.document())
+                        )
+                ));
+            }
+        }
+
+        @Override
+        public long awaitCompletion() {
+            // close는 버퍼에 남은 문서를 전송하고 진행 중인 요청이 모두 끝날 때까지 대기한다.
+            close();
+            if (failedCount.get() > 0) {
+                throw new IllegalStateException("Bulk 인덱싱 중 일부 실패: failedCount=" + failedCount.get()
+                        + ", " + String.join(" | ", errorSamples));
+            }
+            return succeededCount.get();
+        }
+
+        @Override
+        public void close() {
+            // ingester.close()는 진행 중인 bulk 응답을 기다리므로 synchronized 대신 lock을 쓴다. (virtual thread 고정 방지)
+            closeLock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                ingester.close();
+            } finally {
+                closeLock.unlock();
+            }
+        }
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<Void> contexts) {
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, BulkResponse response) {
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() == null) {
+                    succeededCount.incrementAndGet();
+                    continue;
+                }
+                failedCount.incrementAndGet();
+                addErrorSample(describeItemError(item));
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, Throwable failure) {
+            String message = failure.getMessage();
+            if (message == null || message.isBlank()) {
+                message = failure.getClass().getSimpleName();
+            }
+            log.error("Bulk ingest request failed. indexName={}, executionId={}, operationCount={}, message={}",
+                    indexName, executionId, request.operations().size(), message, failure);
+            failedCount.addAndGet(request.operations().size());
+            addErrorSample("request failed: " + message);
+        }
+
+        private void addErrorSample(String sample) {
+            // 요약 메시지가 과도하게 길어지지 않도록 앞쪽 몇 건만 보관한다.
+            if (errorSamples.size() < MAX_ERROR_SAMPLES) {
+                errorSamples.add(sample);
+            }
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.aisearch.service.indexing.bootstrap.ingest;
+
+import java.util.List;
+
+/**
+ * 한 인덱스에 대한 대량 적재 세션.
+ *
+ * <p>add는 문서를 버퍼에 쌓고, 건수/바이트 기준을 넘으면 bulk 요청을 비동기로 보낸다.
+ * 동시에 진행 중인 요청 수가 한도에 닿으면 add가 대기하므로 호출자는 자연스럽게 속도가 조절된다.
+ */
+public interface BulkIngestSession extends AutoCloseable {
+
+    // 문서를 적재 대기열에 추가한다.
+    void add(List<IndexDocument> documents);
+
+    // 남은 문서를 모두 전송하고 진행 중인 요청이 끝날 때까지 기다린다.
+    // 실패 항목이 하나라도 있으면 요약 메시지와 함께 예외를 던지고, 성공 시 색인된 문서 수를 반환한다.
+    long awaitCompletion();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,13 @@
+package com.example.aisearch.service.indexing.bootstrap.ingest;
+
+/**
+ * 문서 임베딩 입력 텍스트와 토큰 수.
+ *
+ * @param text               모델에 넣을 텍스트 (formatter 적용 전)
+ * @param tokenCount         text의 토큰 수 (공백 단위)
+ * @param originalTokenCount 예산/중복 제거 전 필드 원문 토큰 수 합계
+ * @param truncated          필드 예산이나 max-tokens 때문에 버려진 토큰이 있는지
+ *                           (중복 제거로만 줄어든 경우는 false. tokenCount < originalTokenCount로 판단하지 않는다)
+ */
+public record EmbeddingText(String text, int tokenCount, int originalTokenCount, boolean truncated) {
+}
@@ -0,0 +1,124 @@
+package com.example.aisearch.service.indexing.bootstrap.ingest;
+
+import com.example.aisearch.config.AiSearchEmbeddingTextProperties;
+import com.example.aisearch.model.FoodProduct;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 필드를 조합해 문서 임베딩 입력 텍스트를 만든다.
+ *
+ * <p>규칙:
+ * - 필드는 아래 우선순위 순서로 붙인다. (상품명 -> 전체 상품명 -> 프로모션 -> 카테고리 -> 키워드 -> 브랜드 -> 보관 방법)
+ * - 필드마다 토큰 예산(field-token-budgets)을 넘는 뒤쪽 토큰은 버린다.
+ * - 전체 상품명의 토큰 중 상품명에 이미 있는 토큰은 다시 넣지 않는다. 한 필드 안의 반복 토큰도 한 번만 넣는다.
+ * - 합계가 max-tokens를 넘으면 우선순위가 낮은 필드 쪽부터 잘린다.
+ *
+ * <p>토큰은 공백(검색 키워드는 쉼표 포함) 단위다. 모델 토크나이저 토큰 수와 정확히 같지는 않지만
+ * 비례하므로 문서당 추론 비용의 상한을 예측 가능하게 만든다. (모델 쪽 maxLength 절단은 그대로 적용된다)
+ */
+@Component
+public class EmbeddingTextBuilder {
+
+    private static final int DEFAULT_MAX_TOKENS = 96;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern KEYWORD_SEPARATOR = Pattern.compile("[\\s,]+");
+
+    private static final List<Field> FIELDS = List.of(
+            new Field("goods-name", FoodProduct::getGoodsName, 32, true, WHITESPACE),
+            new Field("goods-full-name", FoodProduct::getGoodsFullName, 32, true, WHITESPACE),
+            new Field("promotion-name", FoodProduct::getPromotionName, 8, false, WHITESPACE),
+            new Field("lev2-category-name", FoodProduct::getLev2CategoryIdName, 4, false, WHITESPACE),
+            new Field("lev3-category-name", FoodProduct::getLev3CategoryIdName, 4, false, WHITESPACE),
+            new Field("search-keyword", FoodProduct::getSearchKeyword, 24, false, KEYWORD_SEPARATOR),
+            new Field("brand-name", FoodProduct::getBrandName, 4, false, WHITESPACE),
+            new Field("storage-method-name", FoodProduct::getStorageMethodName, 2, false, WHITESPACE)
+    );
+
+    private final int maxTokens;
+    private final Map<String, Integer> budgets;
+
+    public EmbeddingTextBuilder(AiSearchEmbeddingTextProperties properties) {
+        this.maxTokens = properties.maxTokens() > 0 ? properties.maxTokens() : DEFAULT_MAX_TOKENS;
+        Map<String, Integer> configured = properties.fieldTokenBudgets() == null
+                ? Map.of()
+                : properties.fieldTokenBudgets();
+        Map<String, Integer> resolved = new LinkedHashMap<>();
+        for (Field field : FIELDS) {
+            resolved.put(field.name(), Math.max(0, configured.getOrDefault(field.name(), field.defaultBudget())));
+        }
+        this.budgets = Map.copyOf(resolved);
+    }
+
+    public EmbeddingText build(FoodProduct food) {
+        List<String> tokens = new ArrayList<>();
+        Set<String> nameTokens = new HashSet<>();
+        int originalTokenCount = 0;
+        boolean truncated = false;
+
+        for (Field field : FIELDS) {
+            List<String> fieldTokens = field.tokens(food);
+            originalTokenCount += fieldTokens.size();
+
+            Set<String> seenInField = new HashSet<>();
+            int budget = budgets.get(field.name());
+            int used = 0;
+            for (int i = 0; i < fieldTokens.size(); i++) {
+                if (used >= budget || tokens.size() >= maxTokens) {
+                    // 남은 토큰이 모두 중복이면 예산이 아니라 중복 제거로 빠지는 것이므로 잘림으로 세지 않는다.
+                    truncated |= hasNewToken(field, fieldTokens.subList(i, fieldTokens.size()), seenInField, nameTokens);
+                    break;
+                }
+                String key = fieldTokens.get(i).toLowerCase(Locale.ROOT);
+                if (!seenInField.add(key) || (field.sharesNameTokens() && !nameTokens.add(key))) {
+                    continue;
+                }
+                tokens.add(fieldTokens.get(i));
+                used++;
+            }
+        }
+        return new EmbeddingText(String.join(" ", tokens), tokens.size(), originalTokenCount, truncated);
+    }
+
+    private static boolean hasNewToken(Field field, List<String> rest, Set<String> seenInField, Set<String> nameTokens) {
+        for (String token : rest) {
+            String key = token.toLowerCase(Locale.ROOT);
+            if (!seenInField.contains(key) && !(field.sharesNameTokens() && nameTokens.contains(key))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int maxTokens() {
+        return maxTokens;
+    }
+
+    private record Field(
+            String name,
+            Function<FoodProduct, String> extractor,
+            int defaultBudget,
+            boolean sharesNameTokens,
+            Pattern separator
+    ) {
+
+        private List<String> tokens(FoodProduct food) {
+            String value = extractor.apply(food);
+            if (value == null || value.isBlank()) {
+                return List.of();
+            }
+            return separator.splitAsStream(value.trim())
+                    .filter(token -> !token.isEmpty())
+                    .toList();
+        }
+    }
+}
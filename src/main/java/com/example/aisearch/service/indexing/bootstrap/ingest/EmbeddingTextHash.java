@@ -0,0 +1,28 @@
+package com.example.aisearch.service.indexing.bootstrap.ingest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 임베딩 입력 텍스트의 내용 해시를 계산한다.
+ *
+ * 색인 문서에 함께 저장해 두고, 증분 색인 시 해시가 같으면 임베딩을 다시 계산하지 않는다.
+ * 해시 입력은 formatter가 적용된 최종 임베딩 입력이므로 prefix 규칙이 바뀌어도 재임베딩 대상이 된다.
+ */
+public final class EmbeddingTextHash {
+
+    private EmbeddingTextHash() {
+    }
+
+    public static String of(String embeddingInput) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest((embeddingInput == null ? "" : embeddingInput).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
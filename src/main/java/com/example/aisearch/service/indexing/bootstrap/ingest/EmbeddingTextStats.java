@@ -0,0 +1,56 @@
+package com.example.aisearch.service.indexing.bootstrap.ingest;
+
+import java.util.Locale;
+
+/**
+ * 색인 실행 한 번 동안 만든 임베딩 텍스트의 토큰 수 분포. 여러 임베딩 워커가 함께 기록한다.
+ * truncated는 예산/max-tokens로 잘린 문서 수다. (중복 제거로만 줄어든 문서는 세지 않는다)
+ */
+public class EmbeddingTextStats {
+
+    private final int[] histogram;
+    private long count;
+    private long tokenSum;
+    private long truncatedCount;
+    private int maxOriginalTokens;
+
+    public EmbeddingTextStats(int maxTokens) {
+        this.histogram = new int[Math.max(1, maxTokens) + 1];
+    }
+
+    public synchronized void record(EmbeddingText text) {
+        histogram[Math.min(text.tokenCount(), histogram.length - 1)]++;
+        count++;
+        tokenSum += text.tokenCount();
+        if (text.truncated()) {
+            truncatedCount++;
+        }
+        maxOriginalTokens = Math.max(maxOriginalTokens, text.originalTokenCount());
+    }
+
+    public synchronized String summary() {
+        if (count == 0) {
+            return "count=0";
+        }
+        return "count=" + count
+                + ", mean=" + String.format(Locale.ROOT, "%.1f", (double) tokenSum / count)
+                + ", p50=" + percentile(0.50)
+                + ", p90=" + percentile(0.90)
+                + ", p99=" + percentile(0.99)
+                + ", max=" + percentile(1.0)
+                + ", truncated=" + truncatedCount
+                + ", maxOriginalTokens=" + maxOriginalTokens;
+    }
+
+    private int percentile(double ratio) {
+        long target = Math.max(1L, (long) Math.ceil(count * ratio));
+        long seen = 0;
+        for (int tokens = 0; tokens < histogram.length; tokens++) {
+            seen += histogram[tokens];
+            if (seen >= target) {
+                return tokens;
+            }
+        }
+        return histogram.length - 1;
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.aisearch.service.indexing.bootstrap.ingest;
 
 import com.example.aisearch.model.FoodProduct;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -9,8 +10,13 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
 public class FoodDataLoader {
@@ -34,12 +40,49 @@ public class FoodDataLoader {
     }
 
     public List<FoodProduct> loadAll(String path) {
+        try (Stream<FoodProduct> foods = stream(path)) {
+            return foods.toList();
+        }
+    }
+
+    public Stream<FoodProduct> stream() {
+        return stream(defaultDataPath);
+    }
+
+    /**
+     * 상품 JSON 배열을 한 건씩 읽어 오는 스트림을 연다.
+     *
+     * 전체 배열을 List로 역직렬화하지 않고 JsonParser로 원소 단위로 읽으므로
+     * 카탈로그 크기와 관계없이 메모리에는 소비 중인 상품만 남는다.
+     * 반환된 스트림은 파일 핸들을 잡고 있으므로 반드시 try-with-resources로 닫아야 한다.
+     *
+     * @param path classpath 상대 경로 또는 "file:" 등 스킴이 붙은 리소스 경로 (null/blank면 기본 경로)
+     * @return 지연 로딩되는 상품 스트림
+     * @throws IllegalStateException 파일이 없거나 JSON 배열 형식이 아닌 경우, 읽기 중 I/O 실패 시
+     */
+    public Stream<FoodProduct> stream(String path) {
         Resource resource = resolveResource(path);
-        try (InputStream inputStream = resource.getInputStream()) {
-            return objectMapper.readValue(inputStream, new TypeReference<>() {});
+        JsonParser parser = null;
+        try {
+            parser = objectMapper.getFactory().createParser(resource.getInputStream());
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("샘플 데이터는 JSON 배열이어야 합니다. path=" + path);
+            }
         } catch (IOException e) {
+            closeQuietly(parser);
             throw new IllegalStateException("샘플 데이터 로딩 실패. path=" + path, e);
+        } catch (RuntimeException e) {
+            closeQuietly(parser);
+            throw e;
         }
+
+        JsonParser openedParser = parser;
+        Iterator<FoodProduct> iterator = new FoodProductIterator(openedParser, path);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false
+                )
+                .onClose(() -> closeQuietly(openedParser));
     }
 
     private Resource resolveResource(String path) {
@@ -51,4 +94,63 @@ public class FoodDataLoader {
         }
         return resource;
     }
+
+    private void closeQuietly(JsonParser parser) {
+        if (parser == null) {
+            return;
+        }
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // 읽기 종료 시점의 close 실패는 색인 결과에 영향을 주지 않는다.
+        }
+    }
+
+    /**
+     * START_ARRAY 다음 위치부터 원소(object)를 하나씩 FoodProduct로 역직렬화한다.
+     */
+    private final class FoodProductIterator implements Iterator<FoodProduct> {
+
+        private final JsonParser parser;
+        private final String path;
+        private FoodProduct next;
+        private boolean finished;
+
+        private FoodProductIterator(JsonParser parser, String path) {
+            this.parser = parser;
+            this.path = path;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public FoodProduct next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FoodProduct current = next;
+            next = null;
+            return current;
+        }
+
+        private FoodProduct readNext() {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    finished = true;
+                    return null;
+                }
+                return objectMapper.readValue(parser, FoodProduct.class);
+            } catch (IOException e) {
+                finished = true;
+                throw new IllegalStateException("샘플 데이터 로딩 실패. path=" + path, e);
+            }
+        }
+    }
 }
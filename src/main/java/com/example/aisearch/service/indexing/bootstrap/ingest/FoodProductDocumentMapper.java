@@ -11,7 +11,25 @@ import java.util.Map;
 @Component
 public class FoodProductDocumentMapper {
 
-    public IndexDocument toIndexDocument(FoodProduct food, List<Float> embedding) {
+    public static final String EMBEDDING_TEXT_HASH_FIELD = "embedding_text_hash";
+    private static final String VECTOR_FIELD = "product_vector";
+
+    public IndexDocument toIndexDocument(FoodProduct food, float[] embedding, String embeddingTextHash) {
+        Map<String, Object> doc = scalarFields(food);
+        doc.put(EMBEDDING_TEXT_HASH_FIELD, embeddingTextHash);
+        doc.put(VECTOR_FIELD, embedding);
+        return new IndexDocument(food.getId(), doc);
+    }
+
+    /**
+     * 임베딩 텍스트가 바뀌지 않은 상품의 부분 업데이트용 문서.
+     * 벡터와 해시는 기존 값을 그대로 두기 위해 포함하지 않는다.
+     */
+    public IndexDocument toPartialUpdateDocument(FoodProduct food) {
+        return new IndexDocument(food.getId(), scalarFields(food));
+    }
+
+    private Map<String, Object> scalarFields(FoodProduct food) {
         Map<String, Object> doc = new HashMap<>();
         List<Integer> lev3CategoryIds = parseIntegers(food.getLev3CategoryId());
         doc.put("id", food.getId());
@@ -44,8 +62,7 @@ public class FoodProductDocumentMapper {
         doc.put("satisfaction_count", food.getSatisfactionCount());
         doc.put("is_best_goods", food.getBestGoods());
         doc.put("is_recommended_goods", food.getRecommendedGoods());
-        doc.put("product_vector", embedding);
-        return new IndexDocument(food.getId(), doc);
+        return doc;
     }
 
     private List<Integer> parseIntegers(String rawValue) {
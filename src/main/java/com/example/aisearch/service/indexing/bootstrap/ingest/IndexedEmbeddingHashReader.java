@@ -0,0 +1,65 @@
+package com.example.aisearch.service.indexing.bootstrap.ingest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 색인된 문서에 저장된 임베딩 텍스트 해시를 조회한다.
+ *
+ * mget으로 해시 필드만 가져오므로 벡터(_source의 product_vector)는 전송되지 않는다.
+ */
+@Component
+public class IndexedEmbeddingHashReader {
+
+    private final ElasticsearchClient client;
+
+    public IndexedEmbeddingHashReader(ElasticsearchClient client) {
+        this.client = client;
+    }
+
+    /**
+     * @param indexName 조회 대상 인덱스명
+     * @param ids       문서 ID 목록
+     * @return 문서 ID -> 저장된 해시. 문서가 없거나 해시가 저장되지 않은 문서는 포함하지 않는다.
+     */
+    @SuppressWarnings("rawtypes")
+    public Map<String, String> findHashes(String indexName, List<String> ids) {
+        Map<String, String> hashes = new HashMap<>();
+        if (ids.isEmpty()) {
+            return hashes;
+        }
+        try {
+            MgetResponse<Map> response = client.mget(m -> m
+                            .index(indexName)
+                            .ids(ids)
+                            .sourceIncludes(FoodProductDocumentMapper.EMBEDDING_TEXT_HASH_FIELD),
+                    Map.class
+            );
+            for (MultiGetResponseItem<Map> item : response.docs()) {
+                // 항목 단위 실패는 "해시 없음"으로 보고 재임베딩 대상으로 돌린다.
+                if (!item.isResult()) {
+                    continue;
+                }
+                GetResult<Map> result = item.result();
+                if (!result.found() || result.source() == null) {
+                    continue;
+                }
+                Object hash = result.source().get(FoodProductDocumentMapper.EMBEDDING_TEXT_HASH_FIELD);
+                if (hash instanceof String value) {
+                    hashes.put(result.id(), value);
+                }
+            }
+            return hashes;
+        } catch (IOException e) {
+            throw new IllegalStateException("임베딩 해시 조회 실패. index=" + indexName, e);
+        }
+    }
+}
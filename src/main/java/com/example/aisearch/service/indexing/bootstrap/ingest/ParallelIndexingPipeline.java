@@ -0,0 +1,263 @@
+package com.example.aisearch.service.indexing.bootstrap.ingest;
+
+import com.example.aisearch.config.AiSearchIndexingProperties;
+import com.example.aisearch.model.FoodProduct;
+import com.example.aisearch.service.embedding.EmbeddingInputFormatter;
+import com.example.aisearch.service.embedding.EmbeddingService;
+import com.example.aisearch.service.embedding.EmbeddingWorker;
+import com.example.aisearch.service.embedding.store.EmbeddingStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 색인을 "임베딩 -> 문서 변환 -> bulk 전송" 다단계 파이프라인으로 실행한다.
+ *
+ * <p>구조:
+ * - 임베딩 워커 N개: 각자 전용 {@link EmbeddingWorker}(Predictor)를 열어 chunk 단위로 임베딩/문서 변환
+ *   (임베딩 입력은 {@link EmbeddingTextBuilder}로 필드별 토큰 예산/최대 토큰 수를 적용해 만든다)
+ *   (이전 롤아웃에서 같은 텍스트로 계산해 둔 벡터가 {@link EmbeddingStore}에 있으면 모델을 호출하지 않는다)
+ * - 대기열: 크기가 제한된 BlockingQueue. bulk 쪽이 느리면 워커가 put에서 대기한다(backpressure).
+ * - bulk writer: 호출 스레드가 대기열을 비우면서 {@link BulkIngestSession}으로 비동기 전송
+ *
+ * <p>입력 chunk는 워커가 필요할 때만 하나씩 꺼내므로 전체 데이터를 미리 변환해 두지 않는다.
+ * 어느 단계든 실패하면 나머지 워커를 중단하고 예외를 호출자에게 전달한다.
+ */
+@Component
+public class ParallelIndexingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelIndexingPipeline.class);
+
+    private final EmbeddingService embeddingService;
+    private final EmbeddingInputFormatter embeddingInputFormatter;
+    private final EmbeddingTextBuilder embeddingTextBuilder;
+    private final FoodProductDocumentMapper documentMapper;
+    private final BulkIndexingExecutor bulkIndexingExecutor;
+    private final EmbeddingStore embeddingStore;
+    private final int workerCount;
+    private final int queueCapacity;
+
+    public ParallelIndexingPipeline(
+            EmbeddingService embeddingService,
+            EmbeddingInputFormatter embeddingInputFormatter,
+            EmbeddingTextBuilder embeddingTextBuilder,
+            FoodProductDocumentMapper documentMapper,
+            BulkIndexingExecutor bulkIndexingExecutor,
+            EmbeddingStore embeddingStore,
+            AiSearchIndexingProperties indexingProperties
+    ) {
+        this.embeddingService = embeddingService;
+        this.embeddingInputFormatter = embeddingInputFormatter;
+        this.embeddingTextBuilder = embeddingTextBuilder;
+        this.documentMapper = documentMapper;
+        this.bulkIndexingExecutor = bulkIndexingExecutor;
+        this.embeddingStore = embeddingStore;
+        this.workerCount = Math.max(1, indexingProperties.embeddingWorkers());
+        this.queueCapacity = Math.max(1, indexingProperties.pipelineQueueCapacity());
+    }
+
+    /**
+     * chunk 단위 입력을 병렬 임베딩 후 지정 인덱스로 bulk 색인한다.
+     *
+     * @param indexName 색인 대상 물리 인덱스명
+     * @param chunks    bulk 1회 분량으로 나뉜 상품 목록 iterator
+     * @return 색인된 문서 수
+     */
+    public long run(String indexName, Iterator<List<FoodProduct>> chunks) {
+        BlockingQueue<PipelineBatch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ChunkSource source = new ChunkSource(chunks);
+        AtomicLong storeHits = new AtomicLong();
+        EmbeddingTextStats textStats = new EmbeddingTextStats(embeddingTextBuilder.maxTokens());
+        ExecutorService workers = Executors.newFixedThreadPool(workerCount, new EmbeddingWorkerThreadFactory());
+
+        log.info("Indexing pipeline started. indexName={}, embeddingWorkers={}, queueCapacity={}",
+                indexName, workerCount, queueCapacity);
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                workers.execute(() -> embedChunks(source, queue, storeHits, textStats));
+            }
+            long indexedCount = drainToBulk(indexName, queue);
+            log.info("Indexing pipeline finished. indexName={}, indexedCount={}, embeddingStoreHits={}",
+                    indexName, indexedCount, storeHits.get());
+            log.info("Embedding text token distribution. indexName={}, {}", indexName, textStats.summary());
+            embeddingStore.compactIfNeeded();
+            return indexedCount;
+        } finally {
+            // 정상 종료 시에는 워커가 이미 끝나 있고, 실패 시에는 대기 중인 워커를 깨워 종료시킨다.
+            source.stop();
+            workers.shutdownNow();
+        }
+    }
+
+    private void embedChunks(
+            ChunkSource source,
+            BlockingQueue<PipelineBatch> queue,
+            AtomicLong storeHits,
+            EmbeddingTextStats textStats
+    ) {
+        try (EmbeddingWorker worker = embeddingService.openWorker()) {
+            List<FoodProduct> chunk;
+            while ((chunk = source.next()) != null) {
+                queue.put(PipelineBatch.of(toIndexDocuments(worker, chunk, storeHits, textStats)));
+            }
+            queue.put(PipelineBatch.done());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // Error(OOM, 네이티브 라이브러리 로딩 실패 등)도 실패 표시를 남겨야 bulk writer가 무한 대기하지 않는다.
+            source.stop();
+            putQuietly(queue, PipelineBatch.failed(e));
+        }
+    }
+
+    private long drainToBulk(String indexName, BlockingQueue<PipelineBatch> queue) {
+        try (BulkIngestSession session = bulkIndexingExecutor.openIngestSession(indexName)) {
+            long submittedCount = 0;
+            int finishedWorkers = 0;
+            while (finishedWorkers < workerCount) {
+                PipelineBatch batch = take(queue);
+                if (batch.failure() != null) {
+                    throw new IllegalStateException("임베딩 워커 실패: " + batch.failure().getMessage(), batch.failure());
+                }
+                if (batch.workerDone()) {
+                    finishedWorkers++;
+                    continue;
+                }
+
+                session.add(batch.documents());
+                submittedCount += batch.documents().size();
+                log.info("Submitted batch for {}. progress={}", indexName, submittedCount);
+            }
+            return session.awaitCompletion();
+        }
+    }
+
+    private List<IndexDocument> toIndexDocuments(
+            EmbeddingWorker worker,
+            List<FoodProduct> foods,
+            AtomicLong storeHits,
+            EmbeddingTextStats textStats
+    ) {
+        List<String> texts = new ArrayList<>(foods.size());
+        for (FoodProduct food : foods) {
+            EmbeddingText embeddingText = embeddingTextBuilder.build(food);
+            textStats.record(embeddingText);
+            texts.add(embeddingInputFormatter.formatDocument(embeddingText.text()));
+        }
+        List<String> hashes = texts.stream()
+                .map(EmbeddingTextHash::of)
+                .toList();
+
+        // 저장소에 없는 텍스트만 모아 bulk 단위(chunk)로 한 번에 임베딩해 배치 추론 이점을 얻는다.
+        Map<String, float[]> embeddings = new HashMap<>(embeddingStore.findAll(hashes));
+        storeHits.addAndGet(embeddings.size());
+        Map<String, String> missingTexts = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (!embeddings.containsKey(hashes.get(i))) {
+                missingTexts.putIfAbsent(hashes.get(i), texts.get(i));
+            }
+        }
+        if (!missingTexts.isEmpty()) {
+            List<String> missingHashes = List.copyOf(missingTexts.keySet());
+            List<float[]> computed = worker.toEmbeddingVectors(List.copyOf(missingTexts.values()));
+            Map<String, float[]> newEmbeddings = new HashMap<>();
+            for (int i = 0; i < missingHashes.size(); i++) {
+                newEmbeddings.put(missingHashes.get(i), computed.get(i));
+            }
+            embeddingStore.putAll(newEmbeddings);
+            embeddings.putAll(newEmbeddings);
+        }
+
+        List<IndexDocument> documents = new ArrayList<>(foods.size());
+        for (int i = 0; i < foods.size(); i++) {
+            documents.add(documentMapper.toIndexDocument(
+                    foods.get(i),
+                    embeddings.get(hashes.get(i)),
+                    hashes.get(i)
+            ));
+        }
+        return documents;
+    }
+
+    private PipelineBatch take(BlockingQueue<PipelineBatch> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("색인 파이프라인 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    private void putQuietly(BlockingQueue<PipelineBatch> queue, PipelineBatch batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 여러 워커가 공유하는 입력 chunk 공급자. 실패/중단 후에는 더 이상 chunk를 내주지 않는다.
+     */
+    private static final class ChunkSource {
+
+        private final Iterator<List<FoodProduct>> chunks;
+        private boolean stopped;
+
+        private ChunkSource(Iterator<List<FoodProduct>> chunks) {
+            this.chunks = chunks;
+        }
+
+        private synchronized List<FoodProduct> next() {
+            if (stopped || !chunks.hasNext()) {
+                return null;
+            }
+            return chunks.next();
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+        }
+    }
+
+    private record PipelineBatch(List<IndexDocument> documents, boolean workerDone, Throwable failure) {
+
+        private static PipelineBatch of(List<IndexDocument> documents) {
+            return new PipelineBatch(documents, false, null);
+        }
+
+        private static PipelineBatch done() {
+            return new PipelineBatch(List.of(), true, null);
+        }
+
+        private static PipelineBatch failed(Throwable failure) {
+            return new PipelineBatch(List.of(), false, failure);
+        }
+    }
+
+    private static final class EmbeddingWorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "indexing-embedding-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.example.aisearch.service.indexing.bootstrap.ingest;
 
 import com.example.aisearch.model.FoodProduct;
-import com.example.aisearch.service.embedding.EmbeddingInputFormatter;
-import com.example.aisearch.service.embedding.EmbeddingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
 
 @Service
 public class ProductIndexingService {
@@ -16,61 +17,75 @@ public class ProductIndexingService {
     private static final Logger log = LoggerFactory.getLogger(ProductIndexingService.class);
     private static final int BULK_BATCH_SIZE = 100;
 
-    private final EmbeddingService embeddingService;
-    private final EmbeddingInputFormatter embeddingInputFormatter;
     private final FoodDataLoader foodDataLoader;
-    private final FoodProductDocumentMapper documentMapper;
-    private final BulkIndexingExecutor bulkIndexingExecutor;
+    private final ParallelIndexingPipeline indexingPipeline;
 
     public ProductIndexingService(
-            EmbeddingService embeddingService,
-            EmbeddingInputFormatter embeddingInputFormatter,
             FoodDataLoader foodDataLoader,
-            FoodProductDocumentMapper documentMapper,
-            BulkIndexingExecutor bulkIndexingExecutor
+            ParallelIndexingPipeline indexingPipeline
     ) {
-        this.embeddingService = embeddingService;
-        this.embeddingInputFormatter = embeddingInputFormatter;
         this.foodDataLoader = foodDataLoader;
-        this.documentMapper = documentMapper;
-        this.bulkIndexingExecutor = bulkIndexingExecutor;
+        this.indexingPipeline = indexingPipeline;
     }
 
     public long reindexData(String indexName) {
-        return indexFoods(indexName, foodDataLoader.loadAll());
+        try (Stream<FoodProduct> foods = foodDataLoader.stream()) {
+            return indexFoods(indexName, foods.iterator());
+        }
     }
 
     public long reindexData(String indexName, String dataPath) {
-        List<FoodProduct> foods = dataPath == null || dataPath.isBlank()
-                ? foodDataLoader.loadAll()
-                : foodDataLoader.loadAll(dataPath);
-        return indexFoods(indexName, foods);
+        try (Stream<FoodProduct> foods = dataPath == null || dataPath.isBlank()
+                ? foodDataLoader.stream()
+                : foodDataLoader.stream(dataPath)) {
+            return indexFoods(indexName, foods.iterator());
+        }
     }
 
-    private long indexFoods(String indexName, List<FoodProduct> foods) {
-        if (foods.isEmpty()) {
+    private long indexFoods(String indexName, Iterator<FoodProduct> foods) {
+        if (!foods.hasNext()) {
             return 0;
         }
 
-        long indexedCount = 0;
-        List<IndexDocument> batch = new ArrayList<>(BULK_BATCH_SIZE);
-
-        for (int index = 0; index < foods.size(); index++) {
-            FoodProduct food = foods.get(index);
-            batch.add(documentMapper.toIndexDocument(
-                    food,
-                    embeddingService.toEmbeddingVector(
-                            embeddingInputFormatter.formatDocument(food.toEmbeddingText())
-                    )
-            ));
-
-            if (batch.size() == BULK_BATCH_SIZE || index == foods.size() - 1) {
-                indexedCount += bulkIndexingExecutor.bulkIndex(indexName, batch);
-                log.info("Indexed batch for {}. progress={}/{}", indexName, index + 1, foods.size());
-                batch.clear();
+        ChunkIterator chunks = new ChunkIterator(foods);
+        long indexedCount = indexingPipeline.run(indexName, chunks);
+        log.info("Indexed all batches for {}. indexedCount={}/{}", indexName, indexedCount, chunks.readCount());
+        return indexedCount;
+    }
+
+    /**
+     * 상품 스트림을 bulk 1회 분량(BULK_BATCH_SIZE)씩 묶어 파이프라인 워커가 하나씩 가져가도록 한다.
+     * 다음 chunk는 워커가 요청할 때만 읽으므로 메모리에는 처리 중인 chunk만 남는다.
+     */
+    private static final class ChunkIterator implements Iterator<List<FoodProduct>> {
+
+        private final Iterator<FoodProduct> foods;
+        private long readCount;
+
+        private ChunkIterator(Iterator<FoodProduct> foods) {
+            this.foods = foods;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return foods.hasNext();
+        }
+
+        @Override
+        public List<FoodProduct> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            List<FoodProduct> chunk = new ArrayList<>(BULK_BATCH_SIZE);
+            while (chunk.size() < BULK_BATCH_SIZE && foods.hasNext()) {
+                chunk.add(foods.next());
+            }
+            readCount += chunk.size();
+            return chunk;
         }
 
-        return indexedCount;
+        private long readCount() {
+            return readCount;
+        }
     }
 }
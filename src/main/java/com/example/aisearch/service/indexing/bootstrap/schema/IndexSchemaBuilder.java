@@ -1,5 +1,6 @@
 package com.example.aisearch.service.indexing.bootstrap.schema;
 
+import com.example.aisearch.config.AiSearchVectorIndexProperties;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
@@ -11,22 +12,32 @@ import java.nio.charset.StandardCharsets;
 @Component
 public class IndexSchemaBuilder {
 
+    public static final String VECTOR_INDEX_META_KEY = "vector_index";
+
     private static final String MAPPING_TEMPLATE = "classpath:es/index-mapping.json";
     private static final String DIMS_PLACEHOLDER = "__DIMS__";
     private static final String SYNONYMS_SET_PLACEHOLDER = "__SYNONYMS_SET_ID__";
+    // 따옴표까지 치환해 JSON 객체로 바꾼다.
+    private static final String VECTOR_INDEX_OPTIONS_PLACEHOLDER = "\"__VECTOR_INDEX_OPTIONS__\"";
+    private static final String VECTOR_INDEX_META_PLACEHOLDER = "__VECTOR_INDEX_META__";
 
     private final ResourceLoader resourceLoader;
+    private final VectorIndexOptions vectorIndexOptions;
 
-    public IndexSchemaBuilder(ResourceLoader resourceLoader) {
+    public IndexSchemaBuilder(ResourceLoader resourceLoader, AiSearchVectorIndexProperties vectorIndexProperties) {
         this.resourceLoader = resourceLoader;
+        this.vectorIndexOptions = VectorIndexOptions.from(vectorIndexProperties);
     }
 
     public String buildMapping(int vectorDimensions, String synonymsSetId) {
         // vectorDimensions는 임베딩 벡터 차원수
+        // 벡터 색인 방식(hnsw/int8_hnsw/flat)은 롤아웃마다 설정값으로 정하고, 인덱스 _meta에 기록한다.
         String template = loadTemplate(MAPPING_TEMPLATE);
         return template
                 .replace(DIMS_PLACEHOLDER, String.valueOf(vectorDimensions))
-                .replace(SYNONYMS_SET_PLACEHOLDER, synonymsSetId);
+                .replace(SYNONYMS_SET_PLACEHOLDER, synonymsSetId)
+                .replace(VECTOR_INDEX_OPTIONS_PLACEHOLDER, vectorIndexOptions.toJson())
+                .replace(VECTOR_INDEX_META_PLACEHOLDER, vectorIndexOptions.describe(vectorDimensions));
     }
 
     private String loadTemplate(String mappingTemplate) {
@@ -0,0 +1,66 @@
+package com.example.aisearch.service.indexing.bootstrap.schema;
+
+import com.example.aisearch.config.AiSearchVectorIndexProperties;
+
+import java.util.Locale;
+
+/**
+ * product_vector dense_vector 필드의 index_options.
+ *
+ * @param type           hnsw, int8_hnsw, flat
+ * @param m              HNSW 노드당 연결 수 (flat이면 사용하지 않음)
+ * @param efConstruction HNSW 생성 시 후보 수 (flat이면 사용하지 않음)
+ */
+public record VectorIndexOptions(String type, int m, int efConstruction) {
+
+    public static final String HNSW = "hnsw";
+    public static final String INT8_HNSW = "int8_hnsw";
+    public static final String FLAT = "flat";
+
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 100;
+
+    public VectorIndexOptions {
+        if (!type.equals(HNSW) && !type.equals(INT8_HNSW) && !type.equals(FLAT)) {
+            throw new IllegalStateException("지원하지 않는 벡터 색인 방식입니다. type=" + type);
+        }
+        if (hnswFamily(type) && efConstruction < m) {
+            throw new IllegalStateException("ef_construction은 m 이상이어야 합니다. m=" + m
+                    + ", efConstruction=" + efConstruction);
+        }
+    }
+
+    public static VectorIndexOptions from(AiSearchVectorIndexProperties properties) {
+        String type = properties.type() == null || properties.type().isBlank()
+                ? HNSW
+                : properties.type().trim().toLowerCase(Locale.ROOT);
+        int m = properties.m() > 0 ? properties.m() : DEFAULT_M;
+        int efConstruction = properties.efConstruction() > 0 ? properties.efConstruction() : DEFAULT_EF_CONSTRUCTION;
+        return new VectorIndexOptions(type, m, efConstruction);
+    }
+
+    /**
+     * 매핑의 index_options JSON 객체.
+     */
+    public String toJson() {
+        if (!hnswFamily(type)) {
+            return "{\"type\": \"" + type + "\"}";
+        }
+        return "{\"type\": \"" + type + "\", \"m\": " + m + ", \"ef_construction\": " + efConstruction + "}";
+    }
+
+    /**
+     * 인덱스 _meta에 남기는 설명. 복구 후보 목록에서 인덱스별 벡터 색인 방식을 구분하는 데 쓴다.
+     * 예: int8_hnsw(m=16,ef_construction=100,dims=384)
+     */
+    public String describe(int dimensions) {
+        if (!hnswFamily(type)) {
+            return type + "(dims=" + dimensions + ")";
+        }
+        return type + "(m=" + m + ",ef_construction=" + efConstruction + ",dims=" + dimensions + ")";
+    }
+
+    private static boolean hnswFamily(String type) {
+        return type.equals(HNSW) || type.equals(INT8_HNSW);
+    }
+}
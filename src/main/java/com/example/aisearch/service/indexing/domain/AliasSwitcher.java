@@ -21,10 +21,16 @@ public class AliasSwitcher {
 
     private final ElasticsearchClient esClient;
     private final AiSearchProperties properties;
+    private final ReadAliasGeneration readAliasGeneration;
 
-    public AliasSwitcher(ElasticsearchClient esClient, AiSearchProperties properties) {
+    public AliasSwitcher(
+            ElasticsearchClient esClient,
+            AiSearchProperties properties,
+            ReadAliasGeneration readAliasGeneration
+    ) {
         this.esClient = esClient;
         this.properties = properties;
+        this.readAliasGeneration = readAliasGeneration;
     }
 
     /**
@@ -58,6 +64,8 @@ public class AliasSwitcher {
      * 마이그레이션 호환:
      * - alias 이름과 동일한 물리 인덱스가 있으면 필요 시 제거 후 alias를 생성한다.
      *
+     * 전환에 성공하면 {@link ReadAliasGeneration}을 올려 이전 인덱스 기준 검색 결과 캐시를 무효화한다.
+     *
      * @param oldIndex 기존 alias 대상 인덱스명(null 허용)
      * @param newIndex 신규 alias 대상 인덱스명
      * @throws AliasSwapException alias 전환 실패 시
@@ -78,6 +86,7 @@ public class AliasSwitcher {
                 u.actions(a -> a.add(ad -> ad.alias(alias).index(newIndex)));
                 return u;
             });
+            readAliasGeneration.advance();
         } catch (IOException e) {
             throw new AliasSwapException("alias 전환 실패. alias=" + alias
                     + ", oldIndex=" + oldIndex + ", newIndex=" + newIndex, e);
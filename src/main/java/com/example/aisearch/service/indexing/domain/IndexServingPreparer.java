@@ -0,0 +1,119 @@
+package com.example.aisearch.service.indexing.domain;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.HealthStatus;
+import co.elastic.clients.elasticsearch.cluster.HealthResponse;
+import com.example.aisearch.config.AiSearchIndexingProperties;
+import com.example.aisearch.service.indexing.domain.exception.IndexPreparationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * 롤아웃 중인 신규 인덱스의 설정을 "적재용"과 "서비스용" 사이에서 전환하는 도메인 서비스.
+ *
+ * 배경:
+ * - 롤아웃 색인은 아직 read alias 뒤에 있지 않으므로 검색 가시성/가용성이 필요 없다.
+ * - 적재 중에는 refresh를 끄고 replica를 0으로 두어 세그먼트 생성/복제 비용을 없앤다.
+ * - 적재가 끝나면 서비스용 replica/refresh_interval을 복구하고, (선택) force merge 후
+ *   refresh를 한 번 수행한 뒤 green 상태가 될 때까지 기다렸다가 alias를 전환한다.
+ */
+@Service
+public class IndexServingPreparer {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexServingPreparer.class);
+    private static final String INGEST_REFRESH_INTERVAL = "-1";
+    private static final String DEFAULT_SERVING_REFRESH_INTERVAL = "1s";
+
+    private final ElasticsearchClient esClient;
+    private final int servingReplicas;
+    private final String servingRefreshInterval;
+    private final int forceMergeMaxSegments;
+    private final long healthWaitTimeoutSeconds;
+
+    public IndexServingPreparer(ElasticsearchClient esClient, AiSearchIndexingProperties indexingProperties) {
+        this.esClient = esClient;
+        this.servingReplicas = Math.max(0, indexingProperties.servingReplicas());
+        this.servingRefreshInterval = indexingProperties.servingRefreshInterval() == null
+                || indexingProperties.servingRefreshInterval().isBlank()
+                ? DEFAULT_SERVING_REFRESH_INTERVAL
+                : indexingProperties.servingRefreshInterval();
+        this.forceMergeMaxSegments = indexingProperties.forceMergeMaxSegments();
+        this.healthWaitTimeoutSeconds = Math.max(1L, indexingProperties.healthWaitTimeoutSeconds());
+    }
+
+    /**
+     * 인덱스 생성 직후 호출해 대량 적재에 맞는 설정(refresh 비활성, replica 0)을 적용한다.
+     *
+     * @param indexName 방금 생성된 신규 인덱스명
+     * @throws IndexPreparationException 설정 변경 실패 시
+     */
+    public void prepareForBulkLoad(String indexName) {
+        try {
+            esClient.indices().putSettings(p -> p
+                    .index(indexName)
+                    .settings(s -> s
+                            .refreshInterval(t -> t.time(INGEST_REFRESH_INTERVAL))
+                            .numberOfReplicas("0")
+                    )
+            );
+            log.info("Ingest settings applied. index={}, refreshInterval={}, replicas=0",
+                    indexName, INGEST_REFRESH_INTERVAL);
+        } catch (IOException e) {
+            throw new IndexPreparationException("적재용 인덱스 설정 적용 실패. index=" + indexName, e);
+        }
+    }
+
+    /**
+     * alias 전환 직전에 호출해 신규 인덱스를 서비스 가능한 상태로 만든다.
+     *
+     * 순서: 서비스용 설정 복구 -> (선택) force merge -> refresh -> green health 대기
+     *
+     * @param indexName 색인이 끝난 신규 인덱스명
+     * @throws IndexPreparationException 설정 변경/refresh 실패 또는 제한 시간 내 green이 되지 않은 경우
+     */
+    public void prepareForServing(String indexName) {
+        try {
+            esClient.indices().putSettings(p -> p
+                    .index(indexName)
+                    .settings(s -> s
+                            .refreshInterval(t -> t.time(servingRefreshInterval))
+                            .numberOfReplicas(String.valueOf(servingReplicas))
+                    )
+            );
+            if (forceMergeMaxSegments > 0) {
+                // 롤아웃 인덱스는 이후 쓰기가 거의 없으므로 세그먼트를 줄여 두면 검색 비용이 낮아진다.
+                esClient.indices().forcemerge(f -> f
+                        .index(indexName)
+                        .maxNumSegments((long) forceMergeMaxSegments)
+                );
+            }
+            esClient.indices().refresh(r -> r.index(indexName));
+            log.info("Serving settings applied. index={}, refreshInterval={}, replicas={}, forceMergeMaxSegments={}",
+                    indexName, servingRefreshInterval, servingReplicas, forceMergeMaxSegments);
+        } catch (IOException e) {
+            throw new IndexPreparationException("서비스용 인덱스 설정 적용 실패. index=" + indexName, e);
+        }
+        waitForGreen(indexName);
+    }
+
+    private void waitForGreen(String indexName) {
+        HealthResponse health;
+        try {
+            health = esClient.cluster().health(h -> h
+                    .index(indexName)
+                    .waitForStatus(HealthStatus.Green)
+                    .timeout(t -> t.time(healthWaitTimeoutSeconds + "s"))
+            );
+        } catch (IOException e) {
+            throw new IndexPreparationException("인덱스 health 조회 실패. index=" + indexName, e);
+        }
+        if (health.timedOut() || health.status() != HealthStatus.Green) {
+            throw new IndexPreparationException("인덱스가 제한 시간 내 green 상태가 되지 않았습니다. index="
+                    + indexName + ", status=" + health.status() + ", timeoutSeconds=" + healthWaitTimeoutSeconds);
+        }
+        log.info("Index is green. index={}", indexName);
+    }
+}
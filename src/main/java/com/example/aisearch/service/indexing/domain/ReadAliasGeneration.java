@@ -0,0 +1,26 @@
+package com.example.aisearch.service.indexing.domain;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * read alias 전환 세대 번호.
+ *
+ * {@link AliasSwitcher}가 alias 전환에 성공할 때마다, 증분 색인이 서비스 중인 인덱스에 변경을 반영할 때마다 1씩 올린다.
+ * 검색 결과 캐시는 이 값을 키에 포함하므로, 전환/반영 직후부터 이전 기준 결과는 조회되지 않는다.
+ * (프로세스 단위 값이다. 다른 파드에서 수행한 전환/증분 색인은 캐시 TTL로 반영된다)
+ */
+@Component
+public class ReadAliasGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    public long advance() {
+        return generation.incrementAndGet();
+    }
+}
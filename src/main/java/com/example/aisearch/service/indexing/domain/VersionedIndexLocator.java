@@ -1,11 +1,15 @@
 package com.example.aisearch.service.indexing.domain;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import co.elastic.clients.json.JsonData;
 import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.service.indexing.bootstrap.schema.IndexSchemaBuilder;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -32,20 +36,46 @@ public class VersionedIndexLocator {
      * 반환값은 최신 인덱스가 앞에 오도록 역순 정렬합니다.
      */
     public List<String> findVersionedIndices() throws IOException {
+        return List.copyOf(findVersionedIndexStates().keySet());
+    }
+
+    /**
+     * 버전 인덱스별 벡터 색인 방식(매핑 _meta.vector_index)을 조회합니다.
+     *
+     * 예: int8_hnsw(m=16,ef_construction=100,dims=384)
+     * _meta 기록 이전에 만든 인덱스는 값이 null입니다. 순서는 {@link #findVersionedIndices()}와 같습니다.
+     */
+    public Map<String, String> findVectorIndexVariants() throws IOException {
+        Map<String, String> variants = new LinkedHashMap<>();
+        findVersionedIndexStates().forEach((index, state) -> variants.put(index, vectorIndexVariant(state)));
+        return variants;
+    }
+
+    private Map<String, IndexState> findVersionedIndexStates() throws IOException {
         String indexPattern = properties.indexName() + "-v*";
         boolean exists = esClient.indices().exists(e -> e.index(indexPattern)).value();
         if (!exists) {
-            return List.of();
+            return Map.of();
         }
 
-        Map<String, ?> indexMap = esClient.indices()
+        Map<String, IndexState> indexMap = esClient.indices()
                 .get(g -> g.index(indexPattern).ignoreUnavailable(true).allowNoIndices(true))
                 .result();
 
-        return indexMap.keySet().stream()
+        Map<String, IndexState> versioned = new LinkedHashMap<>();
+        indexMap.keySet().stream()
                 .filter(this::matchesVersionedIndexName)
                 .sorted(Comparator.reverseOrder())
-                .toList();
+                .forEach(index -> versioned.put(index, indexMap.get(index)));
+        return versioned;
+    }
+
+    private String vectorIndexVariant(IndexState state) {
+        if (state == null || state.mappings() == null) {
+            return null;
+        }
+        JsonData variant = state.mappings().meta().get(IndexSchemaBuilder.VECTOR_INDEX_META_KEY);
+        return variant == null ? null : variant.to(String.class);
     }
 
     /**
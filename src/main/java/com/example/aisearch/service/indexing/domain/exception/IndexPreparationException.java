@@ -0,0 +1,12 @@
+package com.example.aisearch.service.indexing.domain.exception;
+
+/** 적재용/서비스용 인덱스 설정 전환(refresh, replica, health 대기 등) 단계 실패를 나타내는 예외 */
+public class IndexPreparationException extends RuntimeException {
+    public IndexPreparationException(String message) {
+        super(message);
+    }
+
+    public IndexPreparationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.aisearch.service.indexing.orchestration;
+
+import com.example.aisearch.model.FoodProduct;
+import com.example.aisearch.service.embedding.EmbeddingInputFormatter;
+import com.example.aisearch.service.embedding.EmbeddingService;
+import com.example.aisearch.service.embedding.EmbeddingWorker;
+import com.example.aisearch.service.indexing.bootstrap.ingest.BulkIndexingExecutor;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingText;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextBuilder;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextHash;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextStats;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodDataLoader;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodProductDocumentMapper;
+import com.example.aisearch.service.indexing.bootstrap.ingest.IndexDocument;
+import com.example.aisearch.service.indexing.bootstrap.ingest.IndexedEmbeddingHashReader;
+import com.example.aisearch.service.indexing.domain.AliasSwitcher;
+import com.example.aisearch.service.indexing.domain.ReadAliasGeneration;
+import com.example.aisearch.service.indexing.orchestration.result.DeltaIndexingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 변경 상품 피드를 현재 read alias 대상 인덱스에 증분 반영한다.
+ *
+ * 처리 순서(bulk 1회 분량씩):
+ * 1) 피드 상품의 임베딩 입력 텍스트 해시 계산 (전체 롤아웃과 같은 {@link EmbeddingTextBuilder} 규칙)
+ * 2) 서비스 중인 인덱스에 저장된 해시를 mget으로 조회
+ * 3) 해시가 다르거나 문서가 없으면 재임베딩 후 전체 문서 색인
+ * 4) 해시가 같으면 가격/인기도 등 스칼라 필드만 partial update
+ *
+ * 반영이 끝나면(중간에 실패해도) {@link ReadAliasGeneration}을 올려 이 파드의 검색 결과 캐시가 바로 새 값을 보게 한다.
+ *
+ * 재임베딩은 요청 스레드가 아닌 전용 플랫폼 스레드에서 실행한다.
+ * (virtual-threads 프로필에서 요청 스레드가 virtual thread여도 네이티브 추론이 carrier를 고정하지 않도록)
+ *
+ * 목적:
+ * - 가격 동기화처럼 임베딩 텍스트가 바뀌지 않는 변경을 전체 롤아웃 없이 반영
+ * - 임베딩 모델/매핑 변경은 여전히 {@link IndexRolloutService}로 새 인덱스를 만들어 반영한다.
+ */
+@Service
+public class DeltaIndexingService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeltaIndexingService.class);
+    private static final int BULK_BATCH_SIZE = 100;
+
+    private final AliasSwitcher aliasSwitcher;
+    private final FoodDataLoader foodDataLoader;
+    private final EmbeddingService embeddingService;
+    private final EmbeddingInputFormatter embeddingInputFormatter;
+    private final EmbeddingTextBuilder embeddingTextBuilder;
+    private final FoodProductDocumentMapper documentMapper;
+    private final IndexedEmbeddingHashReader embeddingHashReader;
+    private final BulkIndexingExecutor bulkIndexingExecutor;
+    private final ReadAliasGeneration readAliasGeneration;
+
+    public DeltaIndexingService(
+            AliasSwitcher aliasSwitcher,
+            FoodDataLoader foodDataLoader,
+            EmbeddingService embeddingService,
+            EmbeddingInputFormatter embeddingInputFormatter,
+            EmbeddingTextBuilder embeddingTextBuilder,
+            FoodProductDocumentMapper documentMapper,
+            IndexedEmbeddingHashReader embeddingHashReader,
+            BulkIndexingExecutor bulkIndexingExecutor,
+            ReadAliasGeneration readAliasGeneration
+    ) {
+        this.aliasSwitcher = aliasSwitcher;
+        this.foodDataLoader = foodDataLoader;
+        this.embeddingService = embeddingService;
+        this.embeddingInputFormatter = embeddingInputFormatter;
+        this.embeddingTextBuilder = embeddingTextBuilder;
+        this.documentMapper = documentMapper;
+        this.embeddingHashReader = embeddingHashReader;
+        this.bulkIndexingExecutor = bulkIndexingExecutor;
+        this.readAliasGeneration = readAliasGeneration;
+    }
+
+    /**
+     * 변경 상품 피드를 서비스 중인 인덱스에 반영한다.
+     *
+     * @param dataPath 변경 상품 JSON 배열 경로 (null/blank면 기본 데이터 경로)
+     * @return 대상 인덱스와 재임베딩/부분 업데이트 건수
+     * @throws IllegalStateException read alias 대상 인덱스가 없거나 조회/색인 실패 시
+     */
+    public DeltaIndexingResult applyChanges(String dataPath) {
+        String targetIndex = aliasSwitcher.findCurrentAliasedIndex();
+        if (targetIndex == null || targetIndex.isBlank()) {
+            throw new IllegalStateException("증분 색인 대상 인덱스가 없습니다. 먼저 전체 롤아웃을 수행하세요.");
+        }
+
+        long reembeddedCount = 0;
+        long partialUpdatedCount = 0;
+        EmbeddingTextStats textStats = new EmbeddingTextStats(embeddingTextBuilder.maxTokens());
+        ExecutorService embeddingExecutor = Executors.newSingleThreadExecutor(new DeltaEmbeddingThreadFactory());
+        try (Stream<FoodProduct> foods = dataPath == null || dataPath.isBlank()
+                ? foodDataLoader.stream()
+                : foodDataLoader.stream(dataPath)) {
+            Iterator<FoodProduct> iterator = foods.iterator();
+            while (iterator.hasNext()) {
+                List<FoodProduct> chunk = nextChunk(iterator);
+                ChunkOutcome outcome = applyChunk(targetIndex, chunk, textStats, embeddingExecutor);
+                reembeddedCount += outcome.reembeddedCount();
+                partialUpdatedCount += outcome.partialUpdatedCount();
+            }
+        } finally {
+            embeddingExecutor.shutdownNow();
+            // 실패 전까지 반영된 청크도 서비스 중인 인덱스에 이미 들어갔으므로 캐시된 결과를 버린다.
+            // (다른 파드의 캐시는 TTL로 반영된다)
+            readAliasGeneration.advance();
+        }
+
+        log.info("Delta indexing complete. index={}, reembedded={}, partialUpdated={}",
+                targetIndex, reembeddedCount, partialUpdatedCount);
+        log.info("Embedding text token distribution. index={}, {}", targetIndex, textStats.summary());
+        return new DeltaIndexingResult(targetIndex, reembeddedCount, partialUpdatedCount);
+    }
+
+    private ChunkOutcome applyChunk(
+            String targetIndex,
+            List<FoodProduct> chunk,
+            EmbeddingTextStats textStats,
+            ExecutorService embeddingExecutor
+    ) {
+        List<String> ids = chunk.stream().map(FoodProduct::getId).toList();
+        Map<String, String> indexedHashes = embeddingHashReader.findHashes(targetIndex, ids);
+
+        List<FoodProduct> changedFoods = new ArrayList<>();
+        List<String> changedTexts = new ArrayList<>();
+        List<IndexDocument> partialDocuments = new ArrayList<>();
+        for (FoodProduct food : chunk) {
+            EmbeddingText embeddingText = embeddingTextBuilder.build(food);
+            textStats.record(embeddingText);
+            String text = embeddingInputFormatter.formatDocument(embeddingText.text());
+            if (EmbeddingTextHash.of(text).equals(indexedHashes.get(food.getId()))) {
+                partialDocuments.add(documentMapper.toPartialUpdateDocument(food));
+                continue;
+            }
+            changedFoods.add(food);
+            changedTexts.add(text);
+        }
+
+        List<IndexDocument> fullDocuments = new ArrayList<>(changedFoods.size());
+        if (!changedFoods.isEmpty()) {
+            List<float[]> embeddings = embedOnPlatformThread(embeddingExecutor, changedTexts);
+            for (int i = 0; i < changedFoods.size(); i++) {
+                fullDocuments.add(documentMapper.toIndexDocument(
+                        changedFoods.get(i),
+                        embeddings.get(i),
+                        EmbeddingTextHash.of(changedTexts.get(i))
+                ));
+            }
+        }
+
+        long reembedded = bulkIndexingExecutor.bulkIndex(targetIndex, fullDocuments);
+        long partialUpdated = bulkIndexingExecutor.bulkUpdate(targetIndex, partialDocuments);
+        return new ChunkOutcome(reembedded, partialUpdated);
+    }
+
+    private List<float[]> embedOnPlatformThread(ExecutorService embeddingExecutor, List<String> texts) {
+        // 롤아웃 파이프라인과 같이 워커 핸들(Predictor)을 열어 전용 스레드에서 추론하고, 요청 스레드는 결과만 기다린다.
+        Future<List<float[]>> embeddings = embeddingExecutor.submit(() -> {
+            try (EmbeddingWorker worker = embeddingService.openWorker()) {
+                return worker.toEmbeddingVectors(texts);
+            }
+        });
+        try {
+            return embeddings.get();
+        } catch (InterruptedException e) {
+            embeddings.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("증분 색인 임베딩 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("증분 색인 임베딩 실패: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private List<FoodProduct> nextChunk(Iterator<FoodProduct> iterator) {
+        List<FoodProduct> chunk = new ArrayList<>(BULK_BATCH_SIZE);
+        while (chunk.size() < BULK_BATCH_SIZE && iterator.hasNext()) {
+            chunk.add(iterator.next());
+        }
+        return chunk;
+    }
+
+    private record ChunkOutcome(long reembeddedCount, long partialUpdatedCount) {
+    }
+
+    private static final class DeltaEmbeddingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "delta-indexing-embedding-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
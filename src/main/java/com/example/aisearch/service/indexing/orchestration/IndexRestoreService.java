@@ -34,11 +34,12 @@ public class IndexRestoreService {
         String currentAliasIndex = aliasSwitcher.findCurrentAliasedIndex();
         List<RestoreIndexCandidate> candidates;
         try {
-            candidates = versionedIndexLocator.findVersionedIndices().stream()
-                    .map(index -> new RestoreIndexCandidate(
-                            index,
-                            index.equals(currentAliasIndex),
-                            !index.equals(currentAliasIndex)
+            candidates = versionedIndexLocator.findVectorIndexVariants().entrySet().stream()
+                    .map(entry -> new RestoreIndexCandidate(
+                            entry.getKey(),
+                            entry.getKey().equals(currentAliasIndex),
+                            !entry.getKey().equals(currentAliasIndex),
+                            entry.getValue()
                     ))
                     .toList();
         } catch (IOException e) {
@@ -4,6 +4,7 @@ import com.example.aisearch.service.indexing.bootstrap.ingest.ProductIndexingSer
 import com.example.aisearch.service.indexing.domain.AliasSwitcher;
 import com.example.aisearch.service.indexing.domain.IndexCleanupService;
 import com.example.aisearch.service.indexing.domain.IndexCreator;
+import com.example.aisearch.service.indexing.domain.IndexServingPreparer;
 import com.example.aisearch.service.indexing.orchestration.result.IndexRolloutResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,10 +17,11 @@ import java.util.List;
  *
  * 처리 순서:
  * 1) 현재 read alias가 가리키는 기존 인덱스 조회
- * 2) 신규 버전 인덱스 생성(매핑/세팅 반영)
+ * 2) 신규 버전 인덱스 생성(매핑/세팅 반영) 후 적재용 설정 적용(refresh 비활성, replica 0)
  * 3) 소스 데이터를 신규 인덱스로 색인
- * 4) read alias를 기존 -> 신규 인덱스로 전환
- * 5) 보관 정책에 따라 과거 버전 인덱스 정리
+ * 4) 서비스용 설정 복구(replica, refresh_interval, 선택적 force merge) 후 refresh, green 대기
+ * 5) read alias를 기존 -> 신규 인덱스로 전환
+ * 6) 보관 정책에 따라 과거 버전 인덱스 정리
  *
  * 목적:
  * - 무중단에 가까운 인덱스 교체
@@ -34,17 +36,20 @@ public class IndexRolloutService {
     private final AliasSwitcher aliasSwitcher;
     private final IndexCleanupService indexCleanupService;
     private final ProductIndexingService productIndexingService;
+    private final IndexServingPreparer indexServingPreparer;
 
     public IndexRolloutService(
             IndexCreator indexCreator,
             AliasSwitcher aliasSwitcher,
             IndexCleanupService indexCleanupService,
-            ProductIndexingService productIndexingService
+            ProductIndexingService productIndexingService,
+            IndexServingPreparer indexServingPreparer
     ) {
         this.indexCreator = indexCreator;
         this.aliasSwitcher = aliasSwitcher;
         this.indexCleanupService = indexCleanupService;
         this.productIndexingService = productIndexingService;
+        this.indexServingPreparer = indexServingPreparer;
     }
 
     /**
@@ -63,9 +68,11 @@ public class IndexRolloutService {
     public IndexRolloutResult rollOutFromSourceData(String dataPath) {
         String oldIndex = aliasSwitcher.findCurrentAliasedIndex();
         String newIndex = indexCreator.createVersionedIndex();
+        indexServingPreparer.prepareForBulkLoad(newIndex);
 
         long indexedCount = productIndexingService.reindexData(newIndex, dataPath);
 
+        indexServingPreparer.prepareForServing(newIndex);
         aliasSwitcher.swapReadAlias(oldIndex, newIndex);
 
         CleanupOutcome cleanupOutcome = cleanupAfterRollout(oldIndex, newIndex);
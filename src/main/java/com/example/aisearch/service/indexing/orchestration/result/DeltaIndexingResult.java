@@ -0,0 +1,11 @@
+package com.example.aisearch.service.indexing.orchestration.result;
+
+public record DeltaIndexingResult(
+        String targetIndex,
+        long reembeddedCount,
+        long partialUpdatedCount
+) {
+    public long totalCount() {
+        return reembeddedCount + partialUpdatedCount;
+    }
+}
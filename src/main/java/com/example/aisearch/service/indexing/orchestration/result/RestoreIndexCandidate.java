@@ -3,6 +3,7 @@ package com.example.aisearch.service.indexing.orchestration.result;
 public record RestoreIndexCandidate(
         String indexName,
         boolean current,
-        boolean restorable
+        boolean restorable,
+        String vectorIndex
 ) {
 }
@@ -2,22 +2,45 @@ package com.example.aisearch.service.search;
 
 import com.example.aisearch.model.search.SearchPageResult;
 import com.example.aisearch.model.search.ProductSearchRequest;
+import com.example.aisearch.service.search.cache.SearchResultCache;
+import com.example.aisearch.service.search.cache.SearchResultCacheStats;
 import com.example.aisearch.service.search.strategy.SearchStrategy;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class ProductSearchService {
 
     private final SearchStrategy searchStrategy;
+    private final SearchResultCache searchResultCache;
 
     public ProductSearchService(
-            SearchStrategy searchStrategy
+            SearchStrategy searchStrategy,
+            SearchResultCache searchResultCache
     ) {
         this.searchStrategy = searchStrategy;
+        this.searchResultCache = searchResultCache;
     }
 
     public SearchPageResult searchPage(ProductSearchRequest searchRequest, Pageable pageable) {
-        return searchStrategy.search(searchRequest, pageable);
+        // 캐시 hit 이면 검색어 임베딩과 ES 요청을 모두 생략한다.
+        return searchResultCache.get(searchRequest, pageable, () -> searchStrategy.search(searchRequest, pageable));
+    }
+
+    /**
+     * {@link #searchPage}의 비동기 버전. 검색어 임베딩/ES 응답을 기다리는 동안 호출 스레드를 점유하지 않는다.
+     */
+    public CompletableFuture<SearchPageResult> searchPageAsync(ProductSearchRequest searchRequest, Pageable pageable) {
+        return searchResultCache.getAsync(
+                searchRequest,
+                pageable,
+                () -> searchStrategy.searchAsync(searchRequest, pageable)
+        );
+    }
+
+    public SearchResultCacheStats resultCacheStats() {
+        return searchResultCache.stats();
     }
 }
@@ -0,0 +1,203 @@
+package com.example.aisearch.service.search.cache;
+
+import com.example.aisearch.config.AiSearchResultCacheProperties;
+import com.example.aisearch.model.ProductHitSource;
+import com.example.aisearch.model.SearchHitResult;
+import com.example.aisearch.model.search.ProductSearchRequest;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.service.indexing.domain.ReadAliasGeneration;
+import com.example.aisearch.service.search.categoryboost.api.CategoryBoostRules;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostBetaTuner;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 검색 결과(페이지 단위) 캐시.
+ *
+ * <p>검색 트래픽은 소수 인기 검색어의 첫 페이지에 몰리므로, hit 시 검색어 임베딩과 ES 요청을 모두 생략한다.
+ * - 키: 정규화된 요청 + 페이지 + read alias 세대 + 카테고리 부스팅 룰 버전 + beta ({@link SearchResultCacheKey})
+ * - 용량: 결과 payload byte 추정치 기준 제한 (Caffeine weigher)
+ * - 무효화: alias 전환 시 세대가 바뀌어 이전 키는 더 이상 조회되지 않고, 메모리는 다음 요청에서 비운다.
+ *
+ * <p>{@link SearchPageResult#cacheable()}이 false인 결과(BM25 fallback 등)는 저장하지 않는다.
+ */
+@Component
+public class SearchResultCache {
+
+    // 엔트리당 고정 오버헤드 추정치 (Caffeine 노드, SearchPageResult/List 헤더)
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    // 검색 결과 한 건의 고정 오버헤드 추정치 (SearchHitResult, id, score, ProductHitSource 헤더와 숫자/boolean 필드)
+    private static final int HIT_OVERHEAD_BYTES = 320;
+    // 문자열/숫자 등 값 한 개의 고정 오버헤드 추정치
+    private static final int VALUE_OVERHEAD_BYTES = 48;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final ReadAliasGeneration readAliasGeneration;
+    private final CategoryBoostRules categoryBoostRules;
+    private final CategoryBoostBetaTuner categoryBoostBetaTuner;
+    private final Cache<SearchResultCacheKey, SearchPageResult> cache;
+    private final AtomicLong observedGeneration;
+
+    public SearchResultCache(
+            AiSearchResultCacheProperties properties,
+            ReadAliasGeneration readAliasGeneration,
+            CategoryBoostRules categoryBoostRules,
+            CategoryBoostBetaTuner categoryBoostBetaTuner
+    ) {
+        this.enabled = properties.enabled();
+        this.maxBytes = Math.max(1L, properties.maxBytes());
+        this.readAliasGeneration = readAliasGeneration;
+        this.categoryBoostRules = categoryBoostRules;
+        this.categoryBoostBetaTuner = categoryBoostBetaTuner;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<SearchResultCacheKey, SearchPageResult>weigher((key, value) -> weigh(key, value))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1L, properties.ttlSeconds())))
+                .recordStats()
+                .build();
+        this.observedGeneration = new AtomicLong(readAliasGeneration.current());
+    }
+
+    /**
+     * 캐시된 결과가 있으면 반환하고, 없으면 검색을 실행해 저장한다.
+     *
+     * @param request  검색 요청
+     * @param pageable 페이지 정보
+     * @param search   cache miss 시 실행할 검색
+     * @return 검색 결과
+     */
+    public SearchPageResult get(ProductSearchRequest request, Pageable pageable, Supplier<SearchPageResult> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        SearchResultCacheKey key = currentKey(request, pageable);
+        SearchPageResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return putIfCacheable(key, search.get());
+    }
+
+    /**
+     * {@link #get}의 비동기 버전. hit이면 이미 완료된 future를 반환한다.
+     */
+    public CompletableFuture<SearchPageResult> getAsync(
+            ProductSearchRequest request,
+            Pageable pageable,
+            Supplier<CompletableFuture<SearchPageResult>> search
+    ) {
+        if (!enabled) {
+            return search.get();
+        }
+        SearchResultCacheKey key = currentKey(request, pageable);
+        SearchPageResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return search.get().thenApply(result -> putIfCacheable(key, result));
+    }
+
+    public SearchResultCacheStats stats() {
+        CacheStats stats = cache.stats();
+        long weightedBytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new SearchResultCacheStats(
+                enabled,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.estimatedSize(),
+                weightedBytes,
+                maxBytes,
+                readAliasGeneration.current()
+        );
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private SearchResultCacheKey currentKey(ProductSearchRequest request, Pageable pageable) {
+        long generation = readAliasGeneration.current();
+        releaseStaleGeneration(generation);
+        return SearchResultCacheKey.of(
+                request,
+                pageable,
+                generation,
+                categoryBoostRules.version(),
+                categoryBoostBetaTuner.getBeta()
+        );
+    }
+
+    private SearchPageResult putIfCacheable(SearchResultCacheKey key, SearchPageResult result) {
+        if (result.cacheable()) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private void releaseStaleGeneration(long generation) {
+        long observed = observedGeneration.get();
+        // 이전 세대 키는 이미 조회되지 않으므로 정확성과 무관하다. 메모리만 한 번 비운다.
+        if (observed != generation && observedGeneration.compareAndSet(observed, generation)) {
+            cache.invalidateAll();
+        }
+    }
+
+    private static int weigh(SearchResultCacheKey key, SearchPageResult value) {
+        long bytes = ENTRY_OVERHEAD_BYTES + key.estimatedBytes();
+        for (SearchHitResult hit : value.results()) {
+            bytes += HIT_OVERHEAD_BYTES + estimateBytes(hit.id()) + estimateBytes(hit.source());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long estimateBytes(ProductHitSource source) {
+        if (source == null) {
+            return 0L;
+        }
+        // 고정 필드 record라 크기가 달라지는 문자열 값과 카테고리 목록만 더한다.
+        long bytes = estimateBytes(source.lev3CategoryIds());
+        for (String text : Arrays.asList(
+                source.id(), source.goodsId(), source.goodsName(), source.goodsFullName(), source.promotionName(),
+                source.thumbnailPath(), source.supplierId(), source.brandId(), source.searchKeyword(),
+                source.brandName(), source.lev2CategoryId(), source.lev2CategoryIdName(),
+                source.lev3CategoryIdName(), source.mainLev1CategoryId(), source.mainLev1CategoryIdName(),
+                source.mallIdName(), source.deliveryTypeIdName(), source.benefitTypeIdName(),
+                source.certificationTypeIdName(), source.storageMethodName()
+        )) {
+            bytes += estimateBytes(text);
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof CharSequence text) {
+            return VALUE_OVERHEAD_BYTES + (long) text.length() * Character.BYTES;
+        }
+        if (value instanceof Collection<?> values) {
+            long bytes = VALUE_OVERHEAD_BYTES;
+            for (Object element : values) {
+                bytes += estimateBytes(element);
+            }
+            return bytes;
+        }
+        return VALUE_OVERHEAD_BYTES;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.aisearch.service.search.cache;
+
+import com.example.aisearch.model.search.ProductSearchRequest;
+import com.example.aisearch.model.search.SearchSortOption;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 검색 결과 캐시 키.
+ *
+ * <p>같은 결과를 만드는 요청이 같은 키가 되도록 정규화한다.
+ * - 카테고리 ID: 중복 제거 + 정렬 (terms 필터는 순서와 무관하다)
+ * - 가격: 빈 가격 조건은 조건 없음과 같다
+ * - 검색어: ProductSearchRequest에서 trim된 값을 그대로 쓴다 (카테고리 부스팅 룰이 검색어 원문으로 매칭되므로)
+ *
+ * <p>결과를 바꾸는 외부 상태(read alias 세대, 카테고리 부스팅 룰 버전, beta)도 키에 포함한다.
+ */
+public record SearchResultCacheKey(
+        String query,
+        Integer minPrice,
+        Integer maxPrice,
+        List<Integer> categoryIds,
+        SearchSortOption sortOption,
+        long offset,
+        int pageSize,
+        long aliasGeneration,
+        String ruleVersion,
+        double beta
+) {
+    public static SearchResultCacheKey of(
+            ProductSearchRequest request,
+            Pageable pageable,
+            long aliasGeneration,
+            String ruleVersion,
+            double beta
+    ) {
+        List<Integer> categoryIds = request.hasCategoryCondition()
+                ? request.categoryIds().stream().distinct().sorted().toList()
+                : List.of();
+        return new SearchResultCacheKey(
+                request.query(),
+                request.hasPriceCondition() ? request.searchPrice().minPrice() : null,
+                request.hasPriceCondition() ? request.searchPrice().maxPrice() : null,
+                categoryIds,
+                request.sortOption(),
+                pageable.getOffset(),
+                pageable.getPageSize(),
+                aliasGeneration,
+                ruleVersion == null ? "" : ruleVersion,
+                beta
+        );
+    }
+
+    /**
+     * 캐시 용량 계산용 키 크기 추정치(byte)
+     */
+    int estimatedBytes() {
+        return 128 + (query == null ? 0 : query.length() * Character.BYTES)
+                + categoryIds.size() * 16
+                + ruleVersion.length() * Character.BYTES;
+    }
+}
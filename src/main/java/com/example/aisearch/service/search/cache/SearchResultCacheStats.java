@@ -0,0 +1,27 @@
+package com.example.aisearch.service.search.cache;
+
+/**
+ * 검색 결과 캐시 운영 지표.
+ *
+ * @param enabled         캐시 사용 여부
+ * @param hitCount        누적 hit 수
+ * @param missCount       누적 miss 수
+ * @param hitRate         hit 비율 (요청이 없으면 1.0)
+ * @param evictionCount   용량/TTL로 제거된 엔트리 수
+ * @param entryCount      현재 엔트리 수 (추정치)
+ * @param weightedBytes   현재 사용 중인 byte 추정치
+ * @param maxBytes        최대 byte
+ * @param aliasGeneration 현재 read alias 세대
+ */
+public record SearchResultCacheStats(
+        boolean enabled,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long entryCount,
+        long weightedBytes,
+        long maxBytes,
+        long aliasGeneration
+) {
+}
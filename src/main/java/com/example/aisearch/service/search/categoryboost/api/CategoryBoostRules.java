@@ -13,4 +13,12 @@ public interface CategoryBoostRules {
      * @return 카테고리 ID(String) -> 부스팅 점수(Double) 맵. 규칙이 없으면 empty.
      */
     Optional<Map<String, Double>> findByKeyword(String keyword);
+
+    /**
+     * 현재 적용 중인 룰의 버전. 룰이 바뀌면 값이 바뀌어야 한다. (검색 결과 캐시 키에 사용)
+     * 버전 개념이 없는 구현은 빈 문자열을 반환한다.
+     */
+    default String version() {
+        return "";
+    }
 }
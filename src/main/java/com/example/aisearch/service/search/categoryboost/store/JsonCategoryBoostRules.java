@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * category_boost.json 기반 룰 저장소 구현체.
@@ -48,6 +49,9 @@ public class JsonCategoryBoostRules implements CategoryBoostRules, CategoryBoost
     // 현재 메모리에서 사용 중인 룰 스냅샷이다.
     // 조회는 lock 없이 이 값을 읽고, 재로딩 시에만 새 스냅샷으로 통째 교체한다.
     private final AtomicReference<CategoryBoostCacheEntry> currentEntry;
+    // 재로딩은 룰 파일 I/O를 잡은 채로 진행되므로 synchronized 대신 ReentrantLock을 쓴다.
+    // (검색 요청이 virtual thread에서 대기해도 carrier 스레드를 고정하지 않는다)
+    private final ReentrantLock reloadLock = new ReentrantLock();
 
     // 스프링 빈 생성용 기본 생성자:
     // 운영 기본 룰 경로(classpath:data/category_boost.json)와
@@ -117,14 +121,23 @@ public class JsonCategoryBoostRules implements CategoryBoostRules, CategoryBoost
         return boosts == null ? Optional.empty() : Optional.of(boosts);
     }
 
+    @Override
+    public String version() {
+        refreshIfNeeded();
+        return currentEntry.get().version();
+    }
+
     @Override
     public void reload() {
-        synchronized (this) {
+        reloadLock.lock();
+        try {
             // 운영 중 수동 reload 요청은 TTL을 기다리지 않고
             // 즉시 version 확인/재로딩을 시도하는 강제 경로다.
             if (checkAndReloadIfVersionChanged()) {
                 versionCheckGate.put(VERSION_CHECK_GATE_KEY, Boolean.TRUE);
             }
+        } finally {
+            reloadLock.unlock();
         }
     }
 
@@ -145,7 +158,8 @@ public class JsonCategoryBoostRules implements CategoryBoostRules, CategoryBoost
         if (versionCheckGate.getIfPresent(VERSION_CHECK_GATE_KEY) != null) {
             return;
         }
-        synchronized (this) {
+        reloadLock.lock();
+        try {
             // 여러 스레드가 동시에 들어와도 한 번만 실제 체크하도록 이중 확인한다.
             if (versionCheckGate.getIfPresent(VERSION_CHECK_GATE_KEY) != null) {
                 return;
@@ -153,6 +167,8 @@ public class JsonCategoryBoostRules implements CategoryBoostRules, CategoryBoost
             if (checkAndReloadIfVersionChanged()) {
                 versionCheckGate.put(VERSION_CHECK_GATE_KEY, Boolean.TRUE);
             }
+        } finally {
+            reloadLock.unlock();
         }
     }
 
@@ -0,0 +1,120 @@
+package com.example.aisearch.service.search.strategy;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.model.ProductHitSource;
+import com.example.aisearch.model.search.ProductSearchRequest;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.service.embedding.QueryEmbeddingService;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingDecider;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingResult;
+import com.example.aisearch.service.search.query.HybridBaseQueryBuilder;
+import com.example.aisearch.service.search.query.SearchFilterQueryBuilder;
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedge;
+import com.example.aisearch.service.search.strategy.mapper.DefaultSearchResponseMapper;
+import com.example.aisearch.service.search.strategy.request.ElasticsearchSearchRequestBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * ES knn(HNSW) 후보 검색 + rescore 로 하이브리드 검색을 수행하는 전략.
+ *
+ * <p>{@link KnnSearchStrategy}는 필터를 통과한 모든 문서에 script_score(cosineSimilarity)를 계산하므로
+ * 비용이 색인 크기에 비례한다. 이 전략은:
+ * - knn(k, num_candidates, 가격/카테고리 필터) + multi_match 로 후보만 모으고
+ * - 상위 rescore window 후보에만 같은 하이브리드/카테고리 부스팅 스크립트를 적용한다.
+ * - 스크립트가 임계값 미만으로 0점 처리한 후보는 응답과 총 건수에서 뺀다.
+ *
+ * <p>검색어가 없거나 검색어 임베딩을 쓸 수 없으면 기존 전략과 같이 필터 검색/BM25 fallback으로 처리한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ai-search.search", name = "mode", havingValue = "ann")
+public class AnnSearchStrategy extends SearchStrategy {
+
+    private final CategoryBoostingDecider categoryBoostingDecider;
+
+    public AnnSearchStrategy(
+            ElasticsearchAsyncClient client,
+            QueryEmbeddingService queryEmbeddingService,
+            SearchFilterQueryBuilder filterQueryBuilder,
+            HybridBaseQueryBuilder hybridBaseQueryBuilder,
+            ElasticsearchSearchRequestBuilder searchRequestBuilder,
+            DefaultSearchResponseMapper searchResponseMapper,
+            CategoryBoostingDecider categoryBoostingDecider,
+            AiSearchProperties properties,
+            LexicalFallbackHedge lexicalFallbackHedge
+    ) {
+        super(
+                client,
+                queryEmbeddingService,
+                filterQueryBuilder,
+                hybridBaseQueryBuilder,
+                searchRequestBuilder,
+                searchResponseMapper,
+                properties,
+                lexicalFallbackHedge
+        );
+        this.categoryBoostingDecider = categoryBoostingDecider;
+    }
+
+    @Override
+    protected Function<float[], SearchRequest> prepareQueryRequest(
+            ProductSearchRequest request,
+            CategoryBoostingResult decision,
+            Pageable pageable
+    ) {
+        String readAlias = getReadAlias();
+        Optional<Query> filterQuery = filterQueryBuilder.buildFilterQuery(request);
+        Query lexicalQuery = hybridBaseQueryBuilder.buildLexicalFallback(request, filterQuery);
+        Query rescoreBaseQuery = hybridBaseQueryBuilder.build(request, filterQuery);
+        return queryVector -> searchRequestBuilder.buildAnnRequest(
+                readAlias,
+                filterQuery,
+                lexicalQuery,
+                rescoreBaseQuery,
+                decision,
+                queryVector,
+                (int) pageable.getOffset(),
+                pageable.getPageSize()
+        );
+    }
+
+    /**
+     * _score 정렬 요청은 rescore window 전체를 받아, 임계값 미만으로 0점 처리된 후보
+     * (multi_match로만 들어온 유사도 낮은 문서)를 빼고 페이지를 자른다.
+     */
+    @Override
+    protected CompletableFuture<SearchPageResult> executeQuery(
+            SearchRequest esSearchRequest,
+            CategoryBoostingResult decision,
+            Pageable pageable
+    ) {
+        if (!decision.searchSortOption().sortsByScore()) {
+            return execute(esSearchRequest, pageable);
+        }
+        return client.search(esSearchRequest, ProductHitSource.class)
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        throw toSearchFailure(throwable);
+                    }
+                    return searchResponseMapper.toRescoredWindowPageResult(response, pageable);
+                });
+    }
+
+    @Override
+    protected Query buildBaseQuery(ProductSearchRequest request) {
+        return hybridBaseQueryBuilder.build(request, filterQueryBuilder.buildFilterQuery(request));
+    }
+
+    @Override
+    protected CategoryBoostingResult buildDecision(ProductSearchRequest request) {
+        return categoryBoostingDecider.decide(request);
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.aisearch.service.search.strategy;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import com.example.aisearch.config.AiSearchProperties;
 import com.example.aisearch.model.search.ProductSearchRequest;
@@ -9,6 +9,7 @@ import com.example.aisearch.service.search.categoryboost.policy.CategoryBoosting
 import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingResult;
 import com.example.aisearch.service.search.query.HybridBaseQueryBuilder;
 import com.example.aisearch.service.search.query.SearchFilterQueryBuilder;
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedge;
 import com.example.aisearch.service.search.strategy.mapper.DefaultSearchResponseMapper;
 import com.example.aisearch.service.search.strategy.request.ElasticsearchSearchRequestBuilder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -24,14 +25,15 @@ public class KnnSearchStrategy extends SearchStrategy {
     private final CategoryBoostingDecider categoryBoostingDecider;
 
     public KnnSearchStrategy(
-            ElasticsearchClient client,
+            ElasticsearchAsyncClient client,
             QueryEmbeddingService queryEmbeddingService,
             SearchFilterQueryBuilder filterQueryBuilder,
             HybridBaseQueryBuilder hybridBaseQueryBuilder,
             ElasticsearchSearchRequestBuilder searchRequestBuilder,
             DefaultSearchResponseMapper searchResponseMapper,
             CategoryBoostingDecider categoryBoostingDecider,
-            AiSearchProperties properties
+            AiSearchProperties properties,
+            LexicalFallbackHedge lexicalFallbackHedge
     ) {
         super(
                 client,
@@ -40,7 +42,8 @@ public class KnnSearchStrategy extends SearchStrategy {
                 hybridBaseQueryBuilder,
                 searchRequestBuilder,
                 searchResponseMapper,
-                properties
+                properties,
+                lexicalFallbackHedge
         );
         this.categoryBoostingDecider = categoryBoostingDecider;
     }
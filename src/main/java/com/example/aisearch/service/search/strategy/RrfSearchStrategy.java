@@ -0,0 +1,229 @@
+package com.example.aisearch.service.search.strategy;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.config.AiSearchRrfSearchProperties;
+import com.example.aisearch.model.ProductHitSource;
+import com.example.aisearch.model.SearchHitResult;
+import com.example.aisearch.model.search.ProductSearchRequest;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.service.embedding.QueryEmbeddingService;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostBetaTuner;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingDecider;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingResult;
+import com.example.aisearch.service.search.query.HybridBaseQueryBuilder;
+import com.example.aisearch.service.search.query.SearchFilterQueryBuilder;
+import com.example.aisearch.service.search.strategy.fusion.ReciprocalRankFusion;
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedge;
+import com.example.aisearch.service.search.strategy.mapper.DefaultSearchResponseMapper;
+import com.example.aisearch.service.search.strategy.request.ElasticsearchSearchRequestBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * kNN 레그와 BM25 레그의 순위를 Reciprocal Rank Fusion으로 합치는 하이브리드 검색 전략.
+ *
+ * <p>{@link KnnSearchStrategy}는 벡터 0.9 + BM25 0.1 선형 결합이라 두 점수의 척도 차이에 가중치가 민감하다.
+ * 이 전략은 점수 대신 순위만 사용한다.
+ * - kNN 레그: knn(HNSW, 가격/카테고리 필터) 상위 rankWindowSize건
+ * - BM25 레그: multi_match(필터 포함) 상위 rankWindowSize건
+ * - BM25 레그는 임베딩 추론과 동시에, kNN 레그는 벡터가 준비되는 즉시 비동기로 보내고 응답 순위로 RRF 점수를 계산한다.
+ * - 카테고리 부스팅은 융합 이후 finalScore = rrfScore * (1 + beta * categoryBoost)로 적용한다.
+ * - 검색어 임베딩을 쓸 수 없으면 BM25 레그 결과를 그대로 fallback 페이지로 쓴다. (BM25 검색을 다시 보내지 않는다)
+ *
+ * <p>ES의 rrf retriever는 유료 라이선스가 필요하므로 융합은 애플리케이션에서 수행한다.
+ * 가격/인기도 등 필드 정렬이면 순위 융합이 의미 없으므로 ANN 후보 검색 + 정렬로 처리한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ai-search.search", name = "mode", havingValue = "rrf")
+public class RrfSearchStrategy extends SearchStrategy {
+
+    private final CategoryBoostingDecider categoryBoostingDecider;
+    private final CategoryBoostBetaTuner categoryBoostBetaTuner;
+    private final AiSearchRrfSearchProperties rrfProperties;
+
+    public RrfSearchStrategy(
+            ElasticsearchAsyncClient client,
+            QueryEmbeddingService queryEmbeddingService,
+            SearchFilterQueryBuilder filterQueryBuilder,
+            HybridBaseQueryBuilder hybridBaseQueryBuilder,
+            ElasticsearchSearchRequestBuilder searchRequestBuilder,
+            DefaultSearchResponseMapper searchResponseMapper,
+            CategoryBoostingDecider categoryBoostingDecider,
+            CategoryBoostBetaTuner categoryBoostBetaTuner,
+            AiSearchRrfSearchProperties rrfProperties,
+            AiSearchProperties properties,
+            LexicalFallbackHedge lexicalFallbackHedge
+    ) {
+        super(
+                client,
+                queryEmbeddingService,
+                filterQueryBuilder,
+                hybridBaseQueryBuilder,
+                searchRequestBuilder,
+                searchResponseMapper,
+                properties,
+                lexicalFallbackHedge
+        );
+        this.categoryBoostingDecider = categoryBoostingDecider;
+        this.categoryBoostBetaTuner = categoryBoostBetaTuner;
+        this.rrfProperties = rrfProperties;
+    }
+
+    @Override
+    protected CompletableFuture<SearchPageResult> searchWithQuery(
+            ProductSearchRequest request,
+            Pageable pageable
+    ) {
+        // 필드 정렬은 카테고리 부스팅 판단과 무관하게 그대로 유지되므로 요청 정렬만 보고 분기한다.
+        if (!request.sortOption().sortsByScore()) {
+            return super.searchWithQuery(request, pageable);
+        }
+
+        CompletableFuture<float[]> queryEmbedding = startQueryEmbedding(request);
+        CategoryBoostingResult decision = buildDecision(request);
+        int from = (int) pageable.getOffset();
+        int window = Math.max(rrfProperties.rankWindowSize(), from + pageable.getPageSize());
+        Optional<Query> filterQuery = filterQueryBuilder.buildFilterQuery(request);
+        String readAlias = getReadAlias();
+
+        // BM25 레그는 벡터가 필요 없으므로 임베딩 추론과 동시에 바로 보낸다.
+        CompletableFuture<List<Hit<ProductHitSource>>> lexicalLeg = searchLeg(searchRequestBuilder.buildLexicalLegRequest(
+                readAlias, hybridBaseQueryBuilder.buildLexicalFallback(request, filterQuery), window));
+
+        return searchWithEmbedding(
+                queryEmbedding,
+                queryVector -> searchLeg(searchRequestBuilder.buildKnnLegRequest(
+                                readAlias, filterQuery, queryVector, window, rrfProperties.numCandidates()))
+                        .thenCombine(lexicalLeg, (knnHits, lexicalHits) -> fuse(decision, knnHits, lexicalHits, pageable)),
+                request,
+                // 임베딩을 쓸 수 없으면 BM25 검색을 다시 보내지 않고 이미 보낸 BM25 레그로 페이지를 만든다.
+                () -> lexicalLeg.thenApply(lexicalHits -> lexicalOnlyPage(lexicalHits, pageable))
+        );
+    }
+
+    /**
+     * 필드 정렬 요청용. 정렬 순서가 점수와 무관하므로 ANN 후보 검색 결과를 그대로 정렬한다.
+     */
+    @Override
+    protected Function<float[], SearchRequest> prepareQueryRequest(
+            ProductSearchRequest request,
+            CategoryBoostingResult decision,
+            Pageable pageable
+    ) {
+        String readAlias = getReadAlias();
+        Optional<Query> filterQuery = filterQueryBuilder.buildFilterQuery(request);
+        Query lexicalQuery = hybridBaseQueryBuilder.buildLexicalFallback(request, filterQuery);
+        Query rescoreBaseQuery = hybridBaseQueryBuilder.build(request, filterQuery);
+        return queryVector -> searchRequestBuilder.buildAnnRequest(
+                readAlias,
+                filterQuery,
+                lexicalQuery,
+                rescoreBaseQuery,
+                decision,
+                queryVector,
+                (int) pageable.getOffset(),
+                pageable.getPageSize()
+        );
+    }
+
+    private SearchPageResult fuse(
+            CategoryBoostingResult decision,
+            List<Hit<ProductHitSource>> knnHits,
+            List<Hit<ProductHitSource>> lexicalHits,
+            Pageable pageable
+    ) {
+        Map<String, ProductHitSource> sources = new HashMap<>();
+        Map<String, Double> fused = ReciprocalRankFusion.fuse(
+                List.of(rankedIds(knnHits, sources), rankedIds(lexicalHits, sources)),
+                rrfProperties.rankConstant()
+        );
+
+        double beta = categoryBoostBetaTuner.getBeta();
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(fused.size());
+        for (Map.Entry<String, Double> entry : fused.entrySet()) {
+            double score = entry.getValue();
+            if (decision.applyCategoryBoost()) {
+                score *= 1.0 + beta * categoryBoost(decision, sources.get(entry.getKey()));
+            }
+            ranked.add(Map.entry(entry.getKey(), score));
+        }
+        ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<SearchHitResult> results = ranked.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(entry -> searchResponseMapper.toResult(
+                        entry.getKey(), entry.getValue(), sources.get(entry.getKey())))
+                .toList();
+        // 총 건수는 두 레그 상위 window건의 합집합 크기다. (window 밖 문서는 페이지에 나올 수 없다)
+        return SearchPageResult.of(pageable, ranked.size(), results);
+    }
+
+    /**
+     * BM25 레그만으로 만든 fallback 페이지. 기존 fallback 검색과 같이 _score 내림차순, id 오름차순으로 정렬한다.
+     * 총 건수는 레그 상위 window건 기준이며, 임베딩 장애가 풀리면 바로 RRF 결과로 돌아가도록 캐시하지 않는다.
+     */
+    private SearchPageResult lexicalOnlyPage(List<Hit<ProductHitSource>> lexicalHits, Pageable pageable) {
+        List<SearchHitResult> results = lexicalHits.stream()
+                .sorted(Comparator.comparing((Hit<ProductHitSource> hit) -> hit.score() == null ? 0.0 : hit.score())
+                        .reversed()
+                        .thenComparing(Hit::id))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(hit -> searchResponseMapper.toResult(hit.id(), hit.score(), hit.source()))
+                .toList();
+        return SearchPageResult.of(pageable, lexicalHits.size(), results).uncacheable();
+    }
+
+    private CompletableFuture<List<Hit<ProductHitSource>>> searchLeg(SearchRequest legRequest) {
+        return client.search(legRequest, ProductHitSource.class)
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        throw toSearchFailure(throwable);
+                    }
+                    return response.hits().hits();
+                });
+    }
+
+    private List<String> rankedIds(List<Hit<ProductHitSource>> hits, Map<String, ProductHitSource> sources) {
+        List<String> ids = new ArrayList<>(hits.size());
+        for (Hit<ProductHitSource> hit : hits) {
+            ids.add(hit.id());
+            sources.putIfAbsent(hit.id(), hit.source());
+        }
+        return ids;
+    }
+
+    private double categoryBoost(CategoryBoostingResult decision, ProductHitSource source) {
+        Integer categoryId = source == null ? null : source.primaryLev3CategoryId();
+        if (categoryId == null) {
+            return 0.0;
+        }
+        return decision.categoryBoostById().getOrDefault(String.valueOf(categoryId), 0.0);
+    }
+
+    @Override
+    protected Query buildBaseQuery(ProductSearchRequest request) {
+        return hybridBaseQueryBuilder.build(request, filterQueryBuilder.buildFilterQuery(request));
+    }
+
+    @Override
+    protected CategoryBoostingResult buildDecision(ProductSearchRequest request) {
+        return categoryBoostingDecider.decide(request);
+    }
+}
@@ -1,9 +1,10 @@
 package com.example.aisearch.service.search.strategy;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
-import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
 import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.model.ProductHitSource;
 import com.example.aisearch.model.search.ProductSearchRequest;
 import com.example.aisearch.model.search.SearchPageResult;
 import com.example.aisearch.service.embedding.QueryEmbeddingUnavailableException;
@@ -11,35 +12,54 @@ import com.example.aisearch.service.embedding.QueryEmbeddingService;
 import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingResult;
 import com.example.aisearch.service.search.query.HybridBaseQueryBuilder;
 import com.example.aisearch.service.search.query.SearchFilterQueryBuilder;
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedge;
 import com.example.aisearch.service.search.strategy.mapper.DefaultSearchResponseMapper;
 import com.example.aisearch.service.search.strategy.request.ElasticsearchSearchRequestBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 
-import java.io.IOException;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * 검색 실행 골격.
+ *
+ * <p>검색어가 있는 요청은 비동기 단계로 실행한다.
+ * - 검색어 임베딩을 가장 먼저 시작한다. (추론은 임베딩 전용 스레드에서 진행)
+ * - 그동안 호출 스레드는 카테고리 부스팅 판단, 필터/베이스 쿼리 생성을 끝내 둔다.
+ * - 임베딩이 준비되면 벡터만 끼워 요청을 완성하고 {@link ElasticsearchAsyncClient}로 보낸다.
+ *
+ * <p>hedge가 켜져 있으면 임베딩이 soft deadline을 넘길 때 BM25 fallback 검색을 함께 보내고
+ * 먼저 성공한 결과를 쓴다. ({@link LexicalFallbackHedge})
+ *
+ * <p>어떤 단계에서도 스레드가 추론/ES 응답을 기다리며 멈춰 있지 않는다.
+ * 동기 호출이 필요한 곳은 {@link #search}가 마지막에 한 번만 기다린다.
+ */
 public abstract class SearchStrategy {
 
     protected final Logger log = LoggerFactory.getLogger(getClass());
 
-    protected final ElasticsearchClient client;
+    protected final ElasticsearchAsyncClient client;
     protected final QueryEmbeddingService queryEmbeddingService;
     protected final SearchFilterQueryBuilder filterQueryBuilder;
     protected final HybridBaseQueryBuilder hybridBaseQueryBuilder;
     protected final ElasticsearchSearchRequestBuilder searchRequestBuilder;
     protected final DefaultSearchResponseMapper searchResponseMapper;
     protected final AiSearchProperties properties;
+    protected final LexicalFallbackHedge lexicalFallbackHedge;
 
     protected SearchStrategy(
-            ElasticsearchClient client,
+            ElasticsearchAsyncClient client,
             QueryEmbeddingService queryEmbeddingService,
             SearchFilterQueryBuilder filterQueryBuilder,
             HybridBaseQueryBuilder hybridBaseQueryBuilder,
             ElasticsearchSearchRequestBuilder searchRequestBuilder,
             DefaultSearchResponseMapper searchResponseMapper,
-            AiSearchProperties properties
+            AiSearchProperties properties,
+            LexicalFallbackHedge lexicalFallbackHedge
     ) {
         this.client = client;
         this.queryEmbeddingService = queryEmbeddingService;
@@ -48,50 +68,122 @@ public abstract class SearchStrategy {
         this.searchRequestBuilder = searchRequestBuilder;
         this.searchResponseMapper = searchResponseMapper;
         this.properties = properties;
+        this.lexicalFallbackHedge = lexicalFallbackHedge;
     }
 
-    protected SearchPageResult searchWithQuery(
+    protected CompletableFuture<SearchPageResult> searchWithQuery(
             ProductSearchRequest request,
             Pageable pageable
-    ) throws IOException {
+    ) {
+        // 추론이 가장 오래 걸리므로 먼저 시작하고, 나머지 준비 단계는 그동안 진행한다.
+        CompletableFuture<float[]> queryEmbedding = startQueryEmbedding(request);
         CategoryBoostingResult decision = buildDecision(request);
-        try {
-            Query baseQuery = buildBaseQuery(request);
-            co.elastic.clients.elasticsearch.core.SearchRequest esSearchRequest = searchRequestBuilder.buildHybridRequest(
-                    getReadAlias(),
-                    baseQuery,
-                    decision,
-                    queryEmbeddingService.toQueryEmbedding(request.query()),
-                    (int) pageable.getOffset(),
-                    pageable.getPageSize()
-            );
-            return execute(esSearchRequest, pageable);
-        } catch (QueryEmbeddingUnavailableException e) {
-            log.warn("Query embedding unavailable. Falling back to lexical search. query={}", request.query(), e);
-            return lexicalFallbackSearch(request, pageable, decision);
+        Function<float[], SearchRequest> queryRequest = prepareQueryRequest(request, decision, pageable);
+
+        return searchWithEmbedding(
+                queryEmbedding,
+                queryVector -> executeQuery(queryRequest.apply(queryVector), decision, pageable),
+                request,
+                pageable,
+                decision
+        );
+    }
+
+    /**
+     * 검색어 임베딩을 시작한다. hedge 사용 시에는 시간 초과가 나도 추론을 취소하지 않아
+     * 늦게 끝난 벡터가 캐시에 남는다.
+     */
+    protected CompletableFuture<float[]> startQueryEmbedding(ProductSearchRequest request) {
+        return queryEmbeddingService.toQueryEmbeddingAsync(request.query(), !lexicalFallbackHedge.enabled());
+    }
+
+    /**
+     * 벡터가 준비되면 검색을 실행하고, 임베딩을 쓸 수 없으면 BM25 fallback으로 전환한다.
+     * hedge 사용 시에는 임베딩이 늦어지면 BM25 fallback 검색과 경쟁시킨다.
+     */
+    protected CompletableFuture<SearchPageResult> searchWithEmbedding(
+            CompletableFuture<float[]> queryEmbedding,
+            Function<float[], CompletableFuture<SearchPageResult>> vectorSearch,
+            ProductSearchRequest request,
+            Pageable pageable,
+            CategoryBoostingResult decision
+    ) {
+        return searchWithEmbedding(
+                queryEmbedding,
+                vectorSearch,
+                request,
+                () -> lexicalFallbackSearch(request, pageable, decision)
+        );
+    }
+
+    /**
+     * BM25 결과를 이미 요청해 둔 전략(RRF)이 fallback 검색을 다시 보내지 않도록 fallback 결과를 직접 넘기는 버전.
+     *
+     * @param lexicalFallback 임베딩 불가/지연 시 응답으로 쓸 BM25 결과 (최대 한 번 호출)
+     */
+    protected CompletableFuture<SearchPageResult> searchWithEmbedding(
+            CompletableFuture<float[]> queryEmbedding,
+            Function<float[], CompletableFuture<SearchPageResult>> vectorSearch,
+            ProductSearchRequest request,
+            Supplier<CompletableFuture<SearchPageResult>> lexicalFallback
+    ) {
+        if (lexicalFallbackHedge.enabled()) {
+            return lexicalFallbackHedge.race(queryEmbedding, vectorSearch, lexicalFallback);
         }
+        return queryEmbedding
+                .thenCompose(vectorSearch)
+                .exceptionallyCompose(throwable -> fallbackOnEmbeddingFailure(throwable, request, lexicalFallback));
+    }
+
+    /**
+     * 검색어 벡터와 무관한 부분(필터, 베이스 쿼리)을 미리 만들어 두고,
+     * 벡터가 준비되면 요청을 완성하는 함수를 반환한다.
+     * 기본 구현은 베이스 쿼리 전체를 script_score로 감싸 벡터/BM25 하이브리드 점수를 계산한다.
+     */
+    protected Function<float[], SearchRequest> prepareQueryRequest(
+            ProductSearchRequest request,
+            CategoryBoostingResult decision,
+            Pageable pageable
+    ) {
+        String readAlias = getReadAlias();
+        Query baseQuery = buildBaseQuery(request);
+        return queryVector -> searchRequestBuilder.buildHybridRequest(
+                readAlias,
+                baseQuery,
+                decision,
+                queryVector,
+                (int) pageable.getOffset(),
+                pageable.getPageSize()
+        );
     }
 
     protected abstract Query buildBaseQuery(ProductSearchRequest request);
 
     protected abstract CategoryBoostingResult buildDecision(ProductSearchRequest request);
 
+    /**
+     * 검색을 비동기로 실행한다. 실패 시 반환 future는 런타임 예외(ES I/O 실패는 IllegalStateException)로 완료된다.
+     */
+    public CompletableFuture<SearchPageResult> searchAsync(ProductSearchRequest searchRequest, Pageable pageable) {
+        if (searchRequest.hasQuery()) {
+            return searchWithQuery(searchRequest, pageable);
+        }
+        return filterOnlySearch(searchRequest, pageable);
+    }
+
     public SearchPageResult search(ProductSearchRequest searchRequest, Pageable pageable) {
         try {
-            if (searchRequest.hasQuery()) {
-                return searchWithQuery(searchRequest, pageable);
-            }
-            return filterOnlySearch(searchRequest, pageable);
-        } catch (IOException e) {
-            throw new IllegalStateException("검색 요청 실패", e);
+            return searchAsync(searchRequest, pageable).join();
+        } catch (CompletionException e) {
+            throw toSearchFailure(e);
         }
     }
 
-    protected SearchPageResult filterOnlySearch(
+    protected CompletableFuture<SearchPageResult> filterOnlySearch(
             ProductSearchRequest request,
             Pageable pageable
-    ) throws IOException {
-        co.elastic.clients.elasticsearch.core.SearchRequest esSearchRequest = searchRequestBuilder.buildFilterOnlyRequest(
+    ) {
+        SearchRequest esSearchRequest = searchRequestBuilder.buildFilterOnlyRequest(
                 getReadAlias(),
                 filterQueryBuilder.buildRootQuery(request),
                 request.sortOption(),
@@ -101,31 +193,81 @@ public abstract class SearchStrategy {
         return execute(esSearchRequest, pageable);
     }
 
-    protected SearchPageResult lexicalFallbackSearch(
+    protected CompletableFuture<SearchPageResult> lexicalFallbackSearch(
             ProductSearchRequest request,
             Pageable pageable,
             CategoryBoostingResult decision
-    ) throws IOException {
+    ) {
         Query lexicalFallbackQuery = hybridBaseQueryBuilder.buildLexicalFallback(
                 request,
                 filterQueryBuilder.buildFilterQuery(request)
         );
-        co.elastic.clients.elasticsearch.core.SearchRequest esSearchRequest = searchRequestBuilder.buildFilterOnlyRequest(
+        SearchRequest esSearchRequest = searchRequestBuilder.buildFilterOnlyRequest(
                 getReadAlias(),
                 lexicalFallbackQuery,
                 decision.searchSortOption(),
                 (int) pageable.getOffset(),
                 pageable.getPageSize()
         );
-        return execute(esSearchRequest, pageable);
+        // 임베딩 장애가 풀리면 바로 하이브리드 결과로 돌아가도록 fallback 결과는 캐시하지 않는다.
+        return execute(esSearchRequest, pageable).thenApply(SearchPageResult::uncacheable);
+    }
+
+    /**
+     * 검색어 임베딩을 쓸 수 없는 경우에만 BM25 fallback으로 전환한다. ES 실패 등 다른 예외는 그대로 전달한다.
+     */
+    protected CompletableFuture<SearchPageResult> fallbackOnEmbeddingFailure(
+            Throwable throwable,
+            ProductSearchRequest request,
+            Supplier<CompletableFuture<SearchPageResult>> lexicalFallback
+    ) {
+        Throwable cause = unwrap(throwable);
+        if (!(cause instanceof QueryEmbeddingUnavailableException)) {
+            return CompletableFuture.failedFuture(cause);
+        }
+        log.warn("Query embedding unavailable. Falling back to lexical search. query={}", request.query(), cause);
+        return lexicalFallback.get();
     }
 
-    protected SearchPageResult execute(
-            co.elastic.clients.elasticsearch.core.SearchRequest esSearchRequest,
+    /**
+     * 검색어 벡터로 완성한 요청을 실행한다. 응답을 페이지로 바꾸는 방식이 다른 전략(ANN rescore)은 재정의한다.
+     */
+    protected CompletableFuture<SearchPageResult> executeQuery(
+            SearchRequest esSearchRequest,
+            CategoryBoostingResult decision,
             Pageable pageable
-    ) throws IOException {
-        SearchResponse<Map> response = client.search(esSearchRequest, Map.class);
-        return searchResponseMapper.toPageResult(response, pageable);
+    ) {
+        return execute(esSearchRequest, pageable);
+    }
+
+    protected CompletableFuture<SearchPageResult> execute(SearchRequest esSearchRequest, Pageable pageable) {
+        return client.search(esSearchRequest, ProductHitSource.class)
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        throw toSearchFailure(throwable);
+                    }
+                    return searchResponseMapper.toPageResult(response, pageable);
+                });
+    }
+
+    /**
+     * 비동기 단계에서 전달된 예외를 호출자에게 던질 런타임 예외로 바꾼다.
+     * (전송 계층 IOException 등 checked 예외는 IllegalStateException으로 감싼다)
+     */
+    protected static RuntimeException toSearchFailure(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("검색 요청 실패", cause);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
     }
 
     protected String getReadAlias() {
@@ -1,6 +1,6 @@
 package com.example.aisearch.service.search.strategy;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import com.example.aisearch.config.AiSearchProperties;
 import com.example.aisearch.model.search.ProductSearchRequest;
@@ -9,6 +9,7 @@ import com.example.aisearch.service.embedding.QueryEmbeddingService;
 import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingResult;
 import com.example.aisearch.service.search.query.HybridBaseQueryBuilder;
 import com.example.aisearch.service.search.query.SearchFilterQueryBuilder;
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedge;
 import com.example.aisearch.service.search.strategy.mapper.DefaultSearchResponseMapper;
 import com.example.aisearch.service.search.strategy.request.ElasticsearchSearchRequestBuilder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -29,13 +30,14 @@ import org.springframework.stereotype.Component;
 public class VectorOnlySearchStrategy extends SearchStrategy {
 
     public VectorOnlySearchStrategy(
-            ElasticsearchClient client,
+            ElasticsearchAsyncClient client,
             QueryEmbeddingService queryEmbeddingService,
             SearchFilterQueryBuilder filterQueryBuilder,
             HybridBaseQueryBuilder hybridBaseQueryBuilder,
             ElasticsearchSearchRequestBuilder searchRequestBuilder,
             DefaultSearchResponseMapper searchResponseMapper,
-            AiSearchProperties properties
+            AiSearchProperties properties,
+            LexicalFallbackHedge lexicalFallbackHedge
     ) {
         super(
                 client,
@@ -44,7 +46,8 @@ public class VectorOnlySearchStrategy extends SearchStrategy {
                 hybridBaseQueryBuilder,
                 searchRequestBuilder,
                 searchResponseMapper,
-                properties
+                properties,
+                lexicalFallbackHedge
         );
     }
 
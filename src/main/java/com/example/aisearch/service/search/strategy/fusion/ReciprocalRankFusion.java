@@ -0,0 +1,38 @@
+package com.example.aisearch.service.search.strategy.fusion;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 순위 목록을 Reciprocal Rank Fusion(RRF)으로 합친다.
+ *
+ * <pre>{@code
+ * score(d) = Σ 1 / (rankConstant + rank_i(d))   // rank는 1부터 시작, 목록에 없으면 0
+ * }</pre>
+ *
+ * <p>점수 크기가 아니라 순위만 쓰므로 cosine 유사도와 BM25처럼 척도가 다른 점수를 정규화 없이 합칠 수 있다.
+ */
+public final class ReciprocalRankFusion {
+
+    private ReciprocalRankFusion() {
+    }
+
+    /**
+     * @param rankings     문서 ID 순위 목록들 (각 목록은 상위 문서부터)
+     * @param rankConstant RRF 상수 c (0 이상)
+     * @return 문서 ID별 융합 점수 (처음 등장한 순서 유지)
+     */
+    public static Map<String, Double> fuse(List<List<String>> rankings, int rankConstant) {
+        if (rankConstant < 0) {
+            throw new IllegalArgumentException("rankConstant must be >= 0");
+        }
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (List<String> ranking : rankings) {
+            for (int i = 0; i < ranking.size(); i++) {
+                scores.merge(ranking.get(i), 1.0 / (rankConstant + i + 1), Double::sum);
+            }
+        }
+        return scores;
+    }
+}
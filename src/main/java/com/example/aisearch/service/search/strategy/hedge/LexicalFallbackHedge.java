@@ -0,0 +1,162 @@
+package com.example.aisearch.service.search.strategy.hedge;
+
+import com.example.aisearch.config.AiSearchHedgeProperties;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.service.embedding.QueryEmbeddingUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 검색어 임베딩이 늦을 때 BM25 fallback 검색을 미리 함께 보내는 hedge 정책.
+ *
+ * <p>기존 흐름은 임베딩이 hard timeout(query-embedding-timeout-millis)을 넘겨야 BM25로 전환하므로
+ * 추론이 밀리는 순간 응답 지연이 hard timeout + BM25 검색 시간까지 늘어난다.
+ * hedge를 켜면:
+ * - 임베딩이 soft deadline 안에 끝나지 않으면 BM25 fallback 검색을 병렬로 보낸다.
+ * - 벡터 검색과 BM25 검색 중 먼저 성공한 결과를 응답으로 쓴다.
+ * - 한쪽이 실패하면 다른 쪽 결과를 기다리고, 둘 다 실패하면 마지막 실패를 전달한다.
+ * - 임베딩 불가로 벡터 검색이 실패했고 BM25를 아직 보내지 않았다면 기존처럼 fallback으로 전환한다. (hedge로 세지 않는다)
+ *
+ * <p>임베딩 추론은 BM25가 이겨도 취소하지 않으므로 늦게 끝난 벡터는 캐시에 들어가 다음 요청에서 쓰인다.
+ * (호출자는 {@code QueryEmbeddingService.toQueryEmbeddingAsync(query, false)}로 임베딩을 시작해야 한다)
+ */
+@Component
+public class LexicalFallbackHedge {
+
+    private static final Logger log = LoggerFactory.getLogger(LexicalFallbackHedge.class);
+
+    private final boolean enabled;
+    private final long softDeadlineMillis;
+    private final Executor softDeadlineExecutor;
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong hedgesFired = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    public LexicalFallbackHedge(AiSearchHedgeProperties properties) {
+        this.enabled = properties.enabled();
+        this.softDeadlineMillis = Math.max(1L, properties.softDeadlineMillis());
+        this.softDeadlineExecutor = CompletableFuture.delayedExecutor(softDeadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 벡터 검색과 (필요 시) BM25 fallback 검색을 경쟁시켜 먼저 성공한 결과를 반환한다.
+     *
+     * @param queryEmbedding  진행 중인 검색어 임베딩
+     * @param vectorSearch    벡터가 준비되면 보낼 검색
+     * @param lexicalFallback BM25 fallback 검색 (soft deadline 초과 또는 임베딩 불가 시 최대 한 번 호출)
+     */
+    public CompletableFuture<SearchPageResult> race(
+            CompletableFuture<float[]> queryEmbedding,
+            Function<float[], CompletableFuture<SearchPageResult>> vectorSearch,
+            Supplier<CompletableFuture<SearchPageResult>> lexicalFallback
+    ) {
+        searches.incrementAndGet();
+        Race race = new Race(lexicalFallback);
+        queryEmbedding.thenCompose(vectorSearch).whenComplete(race::onVectorResult);
+        // soft deadline은 임베딩 지연만 본다. 임베딩이 끝난 뒤의 ES 지연은 hedge 대상이 아니다.
+        if (!queryEmbedding.isDone()) {
+            softDeadlineExecutor.execute(() -> {
+                if (!queryEmbedding.isDone()) {
+                    race.startLexical(true);
+                }
+            });
+        }
+        return race.result;
+    }
+
+    public LexicalFallbackHedgeStats stats() {
+        return new LexicalFallbackHedgeStats(
+                enabled,
+                softDeadlineMillis,
+                searches.get(),
+                hedgesFired.get(),
+                hedgeWins.get()
+        );
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * 요청 1건의 경쟁 상태. 두 결과 콜백은 서로 다른 스레드에서 동시에 호출될 수 있다.
+     */
+    private final class Race {
+
+        private final CompletableFuture<SearchPageResult> result = new CompletableFuture<>();
+        private final Supplier<CompletableFuture<SearchPageResult>> lexicalFallback;
+        private final AtomicBoolean lexicalStarted = new AtomicBoolean();
+        private volatile boolean hedged;
+        private volatile Throwable vectorFailure;
+        private volatile Throwable lexicalFailure;
+
+        private Race(Supplier<CompletableFuture<SearchPageResult>> lexicalFallback) {
+            this.lexicalFallback = lexicalFallback;
+        }
+
+        private void onVectorResult(SearchPageResult page, Throwable throwable) {
+            if (throwable == null) {
+                result.complete(page);
+                return;
+            }
+            vectorFailure = unwrap(throwable);
+            if (vectorFailure instanceof QueryEmbeddingUnavailableException && startLexical(false)) {
+                log.warn("Query embedding unavailable. Falling back to lexical search.", vectorFailure);
+                return;
+            }
+            // 이미 보낸 BM25 검색이 진행 중이면 그 결과를 기다린다.
+            if (!lexicalStarted.get() || lexicalFailure != null) {
+                result.completeExceptionally(vectorFailure);
+            }
+        }
+
+        private boolean startLexical(boolean hedge) {
+            if (result.isDone() || !lexicalStarted.compareAndSet(false, true)) {
+                return false;
+            }
+            if (hedge) {
+                hedged = true;
+                hedgesFired.incrementAndGet();
+            }
+            CompletableFuture<SearchPageResult> lexical;
+            try {
+                lexical = lexicalFallback.get();
+            } catch (RuntimeException e) {
+                lexical = CompletableFuture.failedFuture(e);
+            }
+            lexical.whenComplete(this::onLexicalResult);
+            return true;
+        }
+
+        private void onLexicalResult(SearchPageResult page, Throwable throwable) {
+            if (throwable == null) {
+                if (result.complete(page) && hedged) {
+                    hedgeWins.incrementAndGet();
+                }
+                return;
+            }
+            lexicalFailure = unwrap(throwable);
+            if (vectorFailure != null) {
+                result.completeExceptionally(lexicalFailure);
+            }
+        }
+    }
+}
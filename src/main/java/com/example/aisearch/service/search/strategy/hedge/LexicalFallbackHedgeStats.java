@@ -0,0 +1,19 @@
+package com.example.aisearch.service.search.strategy.hedge;
+
+/**
+ * BM25 hedge 운영 지표.
+ *
+ * @param enabled            hedge 사용 여부
+ * @param softDeadlineMillis hedge 발사 기준 시간(ms)
+ * @param searches           hedge 대상 검색 수 (검색어가 있는 요청)
+ * @param hedgesFired        soft deadline을 넘겨 BM25 검색을 함께 보낸 수
+ * @param hedgeWins          함께 보낸 BM25 검색 결과가 응답으로 쓰인 수
+ */
+public record LexicalFallbackHedgeStats(
+        boolean enabled,
+        long softDeadlineMillis,
+        long searches,
+        long hedgesFired,
+        long hedgeWins
+) {
+}
@@ -1,47 +1,62 @@
 package com.example.aisearch.service.search.strategy.mapper;
 
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.example.aisearch.model.ProductHitSource;
 import com.example.aisearch.model.SearchHitResult;
 import com.example.aisearch.model.search.SearchPageResult;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Elasticsearch 검색 응답을 애플리케이션 응답 모델로 변환한다.
+ *
+ * <p>벡터/임베딩 해시 필드는 요청 단계의 _source excludes로 받지 않으므로 _source를 그대로 쓴다.
  */
 @Component
 public class DefaultSearchResponseMapper {
 
-    public SearchPageResult toPageResult(SearchResponse<Map> response, Pageable pageable) {
+    public SearchPageResult toPageResult(SearchResponse<ProductHitSource> response, Pageable pageable) {
         List<SearchHitResult> results = toResults(response);
         return SearchPageResult.of(pageable, extractTotalHits(response), results);
     }
 
-    private List<SearchHitResult> toResults(SearchResponse<Map> response) {
+    /**
+     * ANN rescore 응답(window 전체)을 페이지로 바꾼다.
+     *
+     * <p>rescore 스크립트는 임계값 미만 후보에 0점을 주지만 문서 자체를 빼지는 못하므로
+     * 0점 이하 후보를 제외한 뒤 페이지를 자른다. 총 건수는 window 안에서 남은 후보 수다.
+     */
+    public SearchPageResult toRescoredWindowPageResult(SearchResponse<ProductHitSource> response, Pageable pageable) {
+        List<SearchHitResult> candidates = response.hits().hits().stream()
+                .filter(hit -> hit.score() != null && hit.score() > 0.0)
+                .map(hit -> toResult(hit.id(), hit.score(), hit.source()))
+                .toList();
+        List<SearchHitResult> results = candidates.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return SearchPageResult.of(pageable, candidates.size(), results);
+    }
+
+    private List<SearchHitResult> toResults(SearchResponse<ProductHitSource> response) {
         return response.hits().hits().stream()
-                .map(hit -> new SearchHitResult(hit.id(), hit.score(), stripVector(hit.source())))
+                .map(hit -> toResult(hit.id(), hit.score(), hit.source()))
                 .toList();
     }
 
-    private Map<String, Object> stripVector(Map<String, Object> source) {
-        if (source == null || source.isEmpty()) {
-            return source;
-        }
-        // 응답 payload 축소를 위해 대용량 벡터 필드를 제거한다.
-        Map<String, Object> filtered = new HashMap<>(source);
-        filtered.remove("product_vector");
-        return filtered;
+    /**
+     * 검색 결과 한 건을 만든다. 여러 응답을 합쳐 순위를 다시 매기는 전략(RRF)도 같은 변환을 쓴다.
+     */
+    public SearchHitResult toResult(String id, Double score, ProductHitSource source) {
+        return new SearchHitResult(id, score, source);
     }
 
-    private long extractTotalHits(SearchResponse<Map> response) {
+    private long extractTotalHits(SearchResponse<ProductHitSource> response) {
         if (response.hits() == null || response.hits().total() == null) {
             return 0L;
         }
         return response.hits().total().value();
     }
 }
-
@@ -2,7 +2,9 @@ package com.example.aisearch.service.search.strategy.request;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.SourceConfig;
 import co.elastic.clients.json.JsonData;
+import com.example.aisearch.config.AiSearchAnnSearchProperties;
 import com.example.aisearch.config.AiSearchProperties;
 import com.example.aisearch.model.search.SearchSortOption;
 import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostBetaTuner;
@@ -10,52 +12,51 @@ import com.example.aisearch.service.search.categoryboost.policy.CategoryBoosting
 import com.example.aisearch.service.search.strategy.script.PainlessHybridScoreScriptFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Elasticsearch SearchRequest 조립을 전담한다.
+ *
+ * <p>모든 검색 요청은 _source에서 벡터와 임베딩 해시를 제외한다.
+ * 검색 결과에 쓰지 않는 필드라 ES 직렬화, 전송, 역직렬화 비용만 든다. (상품당 float 수백 개)
  */
 @Component
 public class ElasticsearchSearchRequestBuilder {
 
+    private static final SourceConfig VECTOR_EXCLUDED_SOURCE = SourceConfig.of(sc -> sc
+            .filter(f -> f.excludes(List.of("product_vector", "embedding_text_hash"))));
+
     private final AiSearchProperties properties;
     private final CategoryBoostBetaTuner categoryBoostBetaTuner;
     private final PainlessHybridScoreScriptFactory scriptFactory;
+    private final AiSearchAnnSearchProperties annProperties;
 
     public ElasticsearchSearchRequestBuilder(
             AiSearchProperties properties,
             CategoryBoostBetaTuner categoryBoostBetaTuner,
-            PainlessHybridScoreScriptFactory scriptFactory
+            PainlessHybridScoreScriptFactory scriptFactory,
+            AiSearchAnnSearchProperties annProperties
     ) {
         this.properties = properties;
         this.categoryBoostBetaTuner = categoryBoostBetaTuner;
         this.scriptFactory = scriptFactory;
+        this.annProperties = annProperties;
     }
 
     public SearchRequest buildHybridRequest(
             String readAlias,
             Query baseQuery,
             CategoryBoostingResult decision,
-            List<Float> queryVector,
+            float[] queryVector,
             int from,
             int size
     ) {
         return SearchRequest.of(s -> s
                 .index(readAlias)
-                .query(q -> q.scriptScore(ss -> ss
-                        .query(baseQuery)
-                        .script(sc -> sc.inline(i -> {
-                            i.lang("painless")
-                                    .source(scriptFactory.selectScriptSource(decision))
-                                    .params("query_vector", JsonData.of(queryVector))
-                                    .params("min_score_threshold", JsonData.of(properties.minScoreThreshold()))
-                                    .params("beta", JsonData.of(categoryBoostBetaTuner.getBeta()));
-                            if (decision.applyCategoryBoost()) {
-                                i.params("category_boost_by_id", JsonData.of(decision.categoryBoostById()));
-                            }
-                            return i;
-                        }))
-                ))
+                .query(hybridScoreQuery(baseQuery, decision, queryVector))
+                .source(VECTOR_EXCLUDED_SOURCE)
                 .sort(decision.sortOptions())
                 .trackScores(true)
                 .from(from)
@@ -64,6 +65,147 @@ public class ElasticsearchSearchRequestBuilder {
         );
     }
 
+    /**
+     * ANN kNN 후보 검색 + 상위 후보 rescore 요청을 만든다.
+     *
+     * <p>1단계(후보 수집): knn(HNSW, 필터를 knn.filter로 전달) 결과와 multi_match 일치 문서를 합친다.
+     * script_score처럼 필터를 통과한 모든 문서의 코사인을 계산하지 않으므로 비용이 색인 크기에 비례하지 않는다.
+     *
+     * <p>2단계(rescore): 상위 window 후보에만 기존 하이브리드 Painless 스크립트(벡터 0.9 + BM25 0.1, 카테고리 부스팅)를
+     * 다시 적용해 최종 점수로 쓴다. rescore는 _score 정렬에서만 동작하므로 가격/인기도 등 필드 정렬이면 생략한다.
+     *
+     * <p>min_score는 rescore 이전 점수에 적용되므로 쓰지 않는다. 대신 knn.similarity로 임계값을 넘을 수 없는
+     * 벡터 후보를 미리 제외한다. (BM25 만점 가정 시 필요한 최소 코사인)
+     * multi_match로만 들어온 후보는 knn.similarity가 걸러 주지 못하므로, _score 정렬이면 rescore window 전체를
+     * 받아 애플리케이션에서 임계값 미만(스크립트 점수 0)을 제외하고 페이지를 자른다.
+     * ({@code DefaultSearchResponseMapper#toRescoredWindowPageResult})
+     *
+     * @param filterQuery      가격/카테고리 필터 (knn.filter와 lexical query에 같이 적용)
+     * @param lexicalQuery     BM25 후보 쿼리 (multi_match must)
+     * @param rescoreBaseQuery rescore 스크립트의 _score(BM25)를 제공할 하이브리드 베이스 쿼리
+     */
+    public SearchRequest buildAnnRequest(
+            String readAlias,
+            Optional<Query> filterQuery,
+            Query lexicalQuery,
+            Query rescoreBaseQuery,
+            CategoryBoostingResult decision,
+            float[] queryVector,
+            int from,
+            int size
+    ) {
+        int pageEnd = from + size;
+        int k = Math.max(annProperties.k(), pageEnd);
+        int numCandidates = Math.max(annProperties.numCandidates(), k);
+        int rescoreWindow = Math.max(annProperties.rescoreWindowSize(), pageEnd);
+        boolean scoreSorted = decision.searchSortOption().sortsByScore();
+
+        return SearchRequest.of(s -> {
+            s.index(readAlias)
+                    .knn(kn -> {
+                        kn.field("product_vector")
+                                .queryVector(toFloatList(queryVector))
+                                .k(k)
+                                .numCandidates(numCandidates)
+                                .similarity(minCosineSimilarity());
+                        filterQuery.ifPresent(kn::filter);
+                        return kn;
+                    })
+                    .query(lexicalQuery)
+                    .source(VECTOR_EXCLUDED_SOURCE)
+                    .trackScores(true);
+            if (scoreSorted) {
+                // 총 건수는 window 안에서 임계값을 넘긴 문서 수로 계산하므로 ES 집계는 끈다.
+                s.from(0)
+                        .size(rescoreWindow)
+                        .trackTotalHits(t -> t.enabled(false))
+                        .rescore(r -> r
+                                .windowSize(rescoreWindow)
+                                .query(rq -> rq
+                                        .query(hybridScoreQuery(rescoreBaseQuery, decision, queryVector))
+                                        .queryWeight(0.0)
+                                        .rescoreQueryWeight(1.0)
+                                )
+                        );
+            } else {
+                s.sort(decision.sortOptions())
+                        .from(from)
+                        .size(size);
+            }
+            return s;
+        });
+    }
+
+    /**
+     * RRF 벡터 레그: knn(HNSW) 상위 window건. 필터는 knn.filter로 전달한다.
+     */
+    public SearchRequest buildKnnLegRequest(
+            String readAlias,
+            Optional<Query> filterQuery,
+            float[] queryVector,
+            int window,
+            int numCandidates
+    ) {
+        return SearchRequest.of(s -> s
+                .index(readAlias)
+                .knn(kn -> {
+                    kn.field("product_vector")
+                            .queryVector(toFloatList(queryVector))
+                            .k(window)
+                            .numCandidates(Math.max(numCandidates, window))
+                            .similarity(minCosineSimilarity());
+                    filterQuery.ifPresent(kn::filter);
+                    return kn;
+                })
+                .source(VECTOR_EXCLUDED_SOURCE)
+                .size(window)
+        );
+    }
+
+    /**
+     * RRF BM25 레그: multi_match 상위 window건. (총 건수는 쓰지 않으므로 집계하지 않는다)
+     */
+    public SearchRequest buildLexicalLegRequest(String readAlias, Query lexicalQuery, int window) {
+        return SearchRequest.of(s -> s
+                .index(readAlias)
+                .query(lexicalQuery)
+                .source(VECTOR_EXCLUDED_SOURCE)
+                .size(window)
+                .trackTotalHits(t -> t.enabled(false))
+        );
+    }
+
+    private Query hybridScoreQuery(Query baseQuery, CategoryBoostingResult decision, float[] queryVector) {
+        return Query.of(q -> q.scriptScore(ss -> ss
+                .query(baseQuery)
+                .script(sc -> sc.inline(i -> {
+                    i.lang("painless")
+                            .source(scriptFactory.selectScriptSource(decision))
+                            .params("query_vector", JsonData.of(queryVector))
+                            .params("min_score_threshold", JsonData.of(properties.minScoreThreshold()))
+                            .params("beta", JsonData.of(categoryBoostBetaTuner.getBeta()));
+                    if (decision.applyCategoryBoost()) {
+                        i.params("category_boost_by_id", JsonData.of(decision.categoryBoostById()));
+                    }
+                    return i;
+                }))
+        ));
+    }
+
+    private float minCosineSimilarity() {
+        // base = 0.9 * (cos + 1) / 2 + 0.1 * lexical(<= 1.0) >= threshold 를 만족할 수 있는 최소 코사인
+        double minVectorScore = (properties.minScoreThreshold() - 0.1) / 0.9;
+        return (float) Math.max(-1.0, minVectorScore * 2.0 - 1.0);
+    }
+
+    private static List<Float> toFloatList(float[] vector) {
+        List<Float> values = new ArrayList<>(vector.length);
+        for (float value : vector) {
+            values.add(value);
+        }
+        return values;
+    }
+
     public SearchRequest buildFilterOnlyRequest(
             String readAlias,
             Query rootQuery,
@@ -74,6 +216,7 @@ public class ElasticsearchSearchRequestBuilder {
         return SearchRequest.of(s -> s
                 .index(readAlias)
                 .query(rootQuery)
+                .source(VECTOR_EXCLUDED_SOURCE)
                 .sort(sortOption.toSortOptions())
                 .trackScores(true)
                 .from(from)
@@ -0,0 +1,108 @@
+package com.example.aisearch.integration.embedding;
+
+import com.example.aisearch.config.AiSearchEmbeddingProperties;
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
+import com.example.aisearch.config.AiSearchEmbeddingTextProperties;
+import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.integration.helper.LocalModelTestSupport;
+import com.example.aisearch.model.FoodProduct;
+import com.example.aisearch.service.embedding.DjlEmbeddingService;
+import com.example.aisearch.service.embedding.EmbeddingDimensionReducer;
+import com.example.aisearch.service.embedding.EmbeddingInputFormatter;
+import com.example.aisearch.service.embedding.EmbeddingRecallReport;
+import com.example.aisearch.service.embedding.model.EmbeddingModelSourceLoader;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextBuilder;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodDataLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 차원 축소(truncate) 벡터의 전수 검색 top-K가 전체 차원 top-K와 얼마나 겹치는지 측정하는 비교 하네스.
+ *
+ * 로컬에 PyTorch 모델이 있어야 실행되며, 없으면 건너뛴다.
+ * - 문서: 상품 JSON (AI_SEARCH_RECALL_DATA_PATH, 기본 data/goods_template.json -> 없으면 goods_template_only10.json)
+ * - 검색어: data/top_queries.txt
+ * - 비교 차원: AI_SEARCH_RECALL_DIMS (쉼표 구분, 기본 64,128,256)
+ * - 기준 recall: AI_SEARCH_RECALL_MIN (기본 0 = 측정값만 출력)
+ *
+ * 실행 예: AI_SEARCH_MODEL_PATH_SEGMENT=bge-m3 AI_SEARCH_RECALL_DIMS=256,512 AI_SEARCH_RECALL_MIN=0.9 \
+ *   ./gradlew integrationTest --tests '*DimensionReductionRecallTest'
+ */
+class DimensionReductionRecallTest {
+
+    private static final int K = 10;
+
+    @Test
+    void 축소_차원_recall을_전체_차원과_비교한다() throws Exception {
+        Map<String, String> env = System.getenv();
+        String segment = env.getOrDefault("AI_SEARCH_MODEL_PATH_SEGMENT", "multilingual-e5-small-ko-v2");
+        Path modelDir = Path.of("src/main/resources/model", segment).toAbsolutePath();
+        assumeTrue(LocalModelTestSupport.containsFile(modelDir, ".pt"), "PyTorch 모델 없음: " + modelDir);
+
+        AiSearchProperties properties = LocalModelTestSupport.localModelProperties(modelDir);
+        EmbeddingInputFormatter formatter = new EmbeddingInputFormatter(properties);
+        EmbeddingTextBuilder textBuilder = new EmbeddingTextBuilder(new AiSearchEmbeddingTextProperties(96, Map.of()));
+        List<String> documents = loadFoods(env.get("AI_SEARCH_RECALL_DATA_PATH")).stream()
+                .map(food -> formatter.formatDocument(textBuilder.build(food).text()))
+                .toList();
+        List<String> queries = Files.readAllLines(Path.of("src/main/resources/data/top_queries.txt")).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(line -> formatter.formatQuery(line.split("\t", 2)[0]))
+                .toList();
+        int[] dims = Arrays.stream(env.getOrDefault("AI_SEARCH_RECALL_DIMS", "64,128,256").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        double minRecall = Double.parseDouble(env.getOrDefault("AI_SEARCH_RECALL_MIN", "0"));
+
+        DjlEmbeddingService djl = new DjlEmbeddingService(
+                new EmbeddingModelSourceLoader(new DefaultResourceLoader(), properties),
+                new AiSearchEmbeddingProperties("djl", 16, 1, 60_000L, 100_000L),
+                new AiSearchEmbeddingQuantizationProperties("none", null, null, 0.0, false),
+                EmbeddingDimensionReducer.none()
+        );
+        try {
+            djl.init();
+            List<float[]> documentVectors = djl.toEmbeddingVectors(documents);
+            List<float[]> queryVectors = djl.toEmbeddingVectors(queries);
+            for (int dimension : dims) {
+                if (dimension >= djl.dimensions()) {
+                    continue;
+                }
+                EmbeddingRecallReport report = EmbeddingRecallReport.evaluate(
+                        documentVectors,
+                        queryVectors,
+                        EmbeddingDimensionReducer.truncate(dimension)::reduce,
+                        K
+                );
+                System.out.printf("[recall] model=%s documents=%d dims=%d->%d recall@%d mean=%.4f min=%.4f%n",
+                        segment, documents.size(), report.sourceDimensions(), report.reducedDimensions(),
+                        report.k(), report.meanRecall(), report.minRecall());
+                assertTrue(report.meanRecall() >= minRecall,
+                        "dims=" + dimension + " mean recall=" + report.meanRecall() + " < " + minRecall);
+            }
+        } finally {
+            djl.close();
+        }
+    }
+
+    private List<FoodProduct> loadFoods(String dataPath) {
+        String path = dataPath;
+        if (path == null || path.isBlank()) {
+            path = Files.isRegularFile(Path.of("src/main/resources/data/goods_template.json"))
+                    ? "data/goods_template.json"
+                    : "data/goods_template_only10.json";
+        }
+        return new FoodDataLoader(new ObjectMapper(), new DefaultResourceLoader(), path).loadAll();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.aisearch.integration.embedding;
+
+import com.example.aisearch.config.AiSearchEmbeddingProperties;
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
+import com.example.aisearch.config.AiSearchOnnxEmbeddingProperties;
+import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.integration.helper.LocalModelTestSupport;
+import com.example.aisearch.service.embedding.DjlEmbeddingService;
+import com.example.aisearch.service.embedding.EmbeddingDimensionReducer;
+import com.example.aisearch.service.embedding.EmbeddingVectors;
+import com.example.aisearch.service.embedding.OnnxEmbeddingService;
+import com.example.aisearch.service.embedding.model.EmbeddingModelSourceLoader;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 같은 모델의 PyTorch(DJL) 추론 결과와 ONNX Runtime 추론 결과가 일치하는지 확인한다.
+ *
+ * 로컬에 두 형식의 모델이 모두 있어야 실행되며, 없으면 건너뛴다.
+ * - PyTorch: src/main/resources/model/{model}/ (djl-convert 결과)
+ * - ONNX: src/main/resources/model/{model}-onnx/ (djl-convert --output-format OnnxRuntime 결과)
+ *
+ * 실행 예: AI_SEARCH_MODEL_PATH_SEGMENT=KURE-v1 ./gradlew integrationTest --tests '*OnnxDjlEmbeddingParityTest'
+ */
+class OnnxDjlEmbeddingParityTest {
+
+    private static final double MIN_COSINE = 0.999;
+    private static final List<String> SAMPLES = List.of(
+            "query: 어린이 간식",
+            "query: 저당 과자",
+            "passage: 국내산 돼지고기로 만든 얇은 피 교자 만두 1kg",
+            "passage: 무가당 두유 190ml 24팩, 식물성 단백질 음료"
+    );
+
+    @Test
+    void ONNX_임베딩은_DJL_임베딩과_같은_벡터를_만든다() throws Exception {
+        String segment = System.getenv().getOrDefault("AI_SEARCH_MODEL_PATH_SEGMENT", "multilingual-e5-small-ko-v2");
+        Path djlModelDir = Path.of("src/main/resources/model", segment).toAbsolutePath();
+        Path onnxModelDir = Path.of("src/main/resources/model", segment + "-onnx").toAbsolutePath();
+        assumeTrue(LocalModelTestSupport.containsFile(djlModelDir, ".pt"), "PyTorch 모델 없음: " + djlModelDir);
+        assumeTrue(Files.isRegularFile(onnxModelDir.resolve("model.onnx")), "ONNX 모델 없음: " + onnxModelDir);
+
+        AiSearchProperties properties = LocalModelTestSupport.localModelProperties(djlModelDir);
+        AiSearchEmbeddingProperties embeddingProperties = new AiSearchEmbeddingProperties("djl", 16, 1, 60_000L, 1000L);
+        AiSearchEmbeddingQuantizationProperties quantizationProperties =
+                new AiSearchEmbeddingQuantizationProperties("none", null, null, 0.0, false);
+        EmbeddingModelSourceLoader loader = new EmbeddingModelSourceLoader(new DefaultResourceLoader(), properties);
+
+        DjlEmbeddingService djl = new DjlEmbeddingService(
+                loader, embeddingProperties, quantizationProperties, EmbeddingDimensionReducer.none());
+        OnnxEmbeddingService onnx = new OnnxEmbeddingService(
+                loader,
+                new DefaultResourceLoader(),
+                new AiSearchOnnxEmbeddingProperties(onnxModelDir.toString(), "model.onnx", 0),
+                embeddingProperties,
+                quantizationProperties,
+                EmbeddingDimensionReducer.none()
+        );
+        try {
+            djl.init();
+            onnx.init();
+            assertEquals(djl.dimensions(), onnx.dimensions());
+
+            List<float[]> expected = djl.toEmbeddingVectors(SAMPLES);
+            List<float[]> actual = onnx.toEmbeddingVectors(SAMPLES);
+            for (int i = 0; i < SAMPLES.size(); i++) {
+                double cosine = EmbeddingVectors.cosine(expected.get(i), actual.get(i));
+                assertTrue(cosine >= MIN_COSINE, SAMPLES.get(i) + " cosine=" + cosine);
+            }
+        } finally {
+            djl.close();
+            onnx.close();
+        }
+    }
+}
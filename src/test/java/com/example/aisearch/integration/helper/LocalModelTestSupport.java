@@ -0,0 +1,53 @@
+package com.example.aisearch.integration.helper;
+
+import com.example.aisearch.config.AiSearchProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 로컬 모델 디렉터리로 임베딩 서비스를 직접 만드는 통합 테스트용 도우미.
+ */
+public final class LocalModelTestSupport {
+
+    private LocalModelTestSupport() {
+    }
+
+    /**
+     * 디렉터리에 suffix로 끝나는 파일이 있는지 확인한다. (모델이 없는 환경에서 테스트를 건너뛰는 용도)
+     */
+    public static boolean containsFile(Path directory, String suffix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+        try (var files = Files.list(directory)) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(suffix));
+        }
+    }
+
+    /**
+     * modelDir을 경로 기반 모델로 읽는 AiSearchProperties. (ES 연결 값은 사용하지 않는 기본값)
+     */
+    public static AiSearchProperties localModelProperties(Path modelDir) {
+        return new AiSearchProperties(
+                "http://localhost:9200",
+                "elastic",
+                "password",
+                "food-products",
+                "food-products-read",
+                "food-synonyms",
+                "classpath:es/dictionary/synonyms_ko.txt",
+                "classpath:es/dictionary/synonyms_kr_regression.txt",
+                null,
+                modelDir.toString(),
+                0.71,
+                300L,
+                300L,
+                100L,
+                1000L,
+                2,
+                3
+        );
+    }
+}
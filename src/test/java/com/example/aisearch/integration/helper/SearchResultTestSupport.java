@@ -1,48 +1,30 @@
 package com.example.aisearch.integration.helper;
 
+import com.example.aisearch.model.ProductHitSource;
 import com.example.aisearch.model.SearchHitResult;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 public final class SearchResultTestSupport {
 
     private SearchResultTestSupport() {
     }
 
-    public static Integer asInteger(Map<String, Object> source, String key) {
-        Object value = source.get(key);
-        if (value instanceof Number number) {
-            return number.intValue();
-        }
-        return null;
-    }
-
     public static List<String> extractIds(List<SearchHitResult> results) {
         return results.stream().map(SearchHitResult::id).toList();
     }
 
-    public static List<Integer> extractIntegers(List<SearchHitResult> results, String key) {
+    public static List<Integer> extractIntegers(List<SearchHitResult> results, Function<ProductHitSource, Integer> field) {
         return results.stream()
-                .map(hit -> asInteger(hit.source(), key))
+                .map(hit -> field.apply(hit.source()))
                 .filter(value -> value != null)
                 .toList();
     }
 
-    public static boolean containsCategoryId(Map<String, Object> source, String key, int expectedCategoryId) {
-        Object value = source.get(key);
-        if (value instanceof Number number) {
-            return number.intValue() == expectedCategoryId;
-        }
-        if (value instanceof List<?> values) {
-            return values.stream()
-                    .filter(Number.class::isInstance)
-                    .map(Number.class::cast)
-                    .map(Number::intValue)
-                    .anyMatch(categoryId -> categoryId == expectedCategoryId);
-        }
-        return false;
+    public static boolean containsCategoryId(ProductHitSource source, int expectedCategoryId) {
+        return source.lev3CategoryIds().contains(expectedCategoryId);
     }
 
     public static void printResults(String label, List<SearchHitResult> results) {
@@ -52,10 +34,10 @@ public final class SearchResultTestSupport {
             System.out.println("rank=" + (i + 1)
                     + ", score=" + hit.score()
                     + ", id=" + hit.id()
-                    + ", name=" + hit.source().get("goods_name")
-                    + ", categoryIds=" + hit.source().get("lev3_category_id")
-                    + ", category=" + hit.source().get("lev3_category_id_name")
-                    + ", price=" + hit.source().get("sale_price"));
+                    + ", name=" + hit.source().goodsName()
+                    + ", categoryIds=" + hit.source().lev3CategoryIds()
+                    + ", category=" + hit.source().lev3CategoryIdName()
+                    + ", price=" + hit.source().salePrice());
         }
     }
 
@@ -112,7 +112,7 @@ class CategoryBoostingTest extends ElasticsearchIntegrationTestBase {
     private long countCategoryInTopN(List<SearchHitResult> results, int topN, int expectedCategoryId) {
         return results.stream()
                 .limit(topN)
-                .filter(hit -> SearchResultTestSupport.containsCategoryId(hit.source(), "lev3_category_id", expectedCategoryId))
+                .filter(hit -> SearchResultTestSupport.containsCategoryId(hit.source(), expectedCategoryId))
                 .count();
     }
 
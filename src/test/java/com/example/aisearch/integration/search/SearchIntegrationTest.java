@@ -1,6 +1,7 @@
 package com.example.aisearch.integration.search;
 
 import com.example.aisearch.integration.helper.ElasticsearchIntegrationTestBase;
+import com.example.aisearch.model.ProductHitSource;
 import com.example.aisearch.model.SearchHitResult;
 import com.example.aisearch.model.search.SearchPageResult;
 import com.example.aisearch.model.search.SearchPagingPolicy;
@@ -19,7 +20,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @SpringBootTest(properties = {
@@ -80,8 +80,8 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
                 "rank=?, score=%s, id=%s, name=%s, category=%s%n",
                 hit.score(),
                 hit.id(),
-                hit.source().get("goods_name"),
-                hit.source().get("lev3_category_id_name")
+                hit.source().goodsName(),
+                hit.source().lev3CategoryIdName()
         ));
 
         Assertions.assertTrue(results.isEmpty(), "MIN_SCORE_THRESHOLD 이하이면 검색 결과가 없어야 합니다.");
@@ -107,8 +107,8 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
                 System.out.println("rank=" + (i + 1)
                         + ", score=" + hit.score()
                         + ", id=" + hit.id()
-                        + ", name=" + hit.source().get("goods_name")
-                        + ", category=" + hit.source().get("lev3_category_id_name"));
+                        + ", name=" + hit.source().goodsName()
+                        + ", category=" + hit.source().lev3CategoryIdName());
             }
         }
     }
@@ -123,14 +123,14 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
         results.forEach(hit -> System.out.printf(
                 "id=%s, name=%s, categoryId=%s, price=%s%n",
                 hit.id(),
-                hit.source().get("goods_name"),
-                hit.source().get("lev3_category_id"),
-                hit.source().get("sale_price")
+                hit.source().goodsName(),
+                hit.source().lev3CategoryIds(),
+                hit.source().salePrice()
         ));
 
         Assertions.assertFalse(results.isEmpty(), "카테고리 필터 결과는 비어있으면 안 됩니다.");
         Assertions.assertTrue(results.stream().allMatch(hit -> {
-            return containsAnyCategoryId(hit.source(), "lev3_category_id", expectedCategoryIds);
+            return containsAnyCategoryId(hit.source(), expectedCategoryIds);
         }), "모든 결과의 lev3_category_id는 요청한 카테고리 중 하나여야 합니다.");
     }
 
@@ -144,14 +144,14 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
         results.forEach(hit -> System.out.printf(
                 "id=%s, name=%s, categoryId=%s, price=%s%n",
                 hit.id(),
-                hit.source().get("goods_name"),
-                hit.source().get("lev3_category_id"),
-                hit.source().get("sale_price")
+                hit.source().goodsName(),
+                hit.source().lev3CategoryIds(),
+                hit.source().salePrice()
         ));
 
         Assertions.assertFalse(results.isEmpty(), "가격 범위 필터 결과는 비어있으면 안 됩니다.");
         Assertions.assertTrue(results.stream().allMatch(hit -> {
-            Integer priceValue = asInteger(hit.source(), "sale_price");
+            Integer priceValue = hit.source().salePrice();
             return priceValue != null && priceValue >= 5000 && priceValue <= 15000;
         }), "모든 결과의 sale_price는 5000~15000 범위여야 합니다.");
     }
@@ -171,15 +171,15 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
                 "id=%s, score=%s, name=%s, categoryId=%s, price=%s%n",
                 hit.id(),
                 hit.score(),
-                hit.source().get("goods_name"),
-                hit.source().get("lev3_category_id"),
-                hit.source().get("sale_price")
+                hit.source().goodsName(),
+                hit.source().lev3CategoryIds(),
+                hit.source().salePrice()
         ));
 
         Assertions.assertFalse(results.isEmpty(), "복합 조건 결과는 비어있으면 안 됩니다.");
         Assertions.assertTrue(results.stream().allMatch(hit -> {
-            Integer priceValue = asInteger(hit.source(), "sale_price");
-            return containsCategoryId(hit.source(), "lev3_category_id", 5642)
+            Integer priceValue = hit.source().salePrice();
+            return containsCategoryId(hit.source(), 5642)
                     && priceValue != null
                     && priceValue >= 3000
                     && priceValue <= 10000;
@@ -288,8 +288,8 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
                 "rank=?, score=%s, id=%s, name=%s, category=%s%n",
                 hit.score(),
                 hit.id(),
-                hit.source().get("goods_name"),
-                hit.source().get("lev3_category_id_name")
+                hit.source().goodsName(),
+                hit.source().lev3CategoryIdName()
         ));
 
         Assertions.assertFalse(results.isEmpty(), "조사 포함 쿼리에서도 검색 결과가 있어야 합니다.");
@@ -312,19 +312,19 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
             System.out.println("rank=" + (i + 1)
                     + ", score=" + hit.score()
                     + ", id=" + hit.id()
-                    + ", name=" + hit.source().get("goods_name")
-                    + ", category=" + hit.source().get("lev3_category_id_name"));
+                    + ", name=" + hit.source().goodsName()
+                    + ", category=" + hit.source().lev3CategoryIdName());
         }
 
         Assertions.assertFalse(results.isEmpty(), "검색 결과가 비어있으면 안됩니다.");
         results.forEach(hit -> System.out.printf(
                 "[CATEGORY_CHECK] category=%s, name=%s, score=%s%n",
-                hit.source().get("lev3_category_id_name"),
-                hit.source().get("goods_name"),
+                hit.source().lev3CategoryIdName(),
+                hit.source().goodsName(),
                 hit.score()
         ));
         boolean containsExpectedCategory = results.stream()
-                .map(hit -> (String) hit.source().get("lev3_category_id_name"))
+                .map(hit -> hit.source().lev3CategoryIdName())
                 .anyMatch(category -> containsAnyKeyword(category, expectedCategoryKeywords));
         Assertions.assertTrue(containsExpectedCategory, "상위 결과에 기대 카테고리가 포함되어야 합니다.");
     }
@@ -358,36 +358,17 @@ class SearchIntegrationTest extends ElasticsearchIntegrationTestBase {
         return false;
     }
 
-    private Integer asInteger(Map<String, Object> source, String key) {
-        Object value = source.get(key);
-        if (value instanceof Number number) {
-            return number.intValue();
-        }
-        return null;
-    }
-
-    private boolean containsCategoryId(Map<String, Object> source, String key, int expectedCategoryId) {
-        return containsAnyCategoryId(source, key, List.of(expectedCategoryId));
+    private boolean containsCategoryId(ProductHitSource source, int expectedCategoryId) {
+        return containsAnyCategoryId(source, List.of(expectedCategoryId));
     }
 
-    private boolean containsAnyCategoryId(Map<String, Object> source, String key, List<Integer> expectedCategoryIds) {
-        Object value = source.get(key);
-        if (value instanceof Number number) {
-            return expectedCategoryIds.contains(number.intValue());
-        }
-        if (value instanceof List<?> values) {
-            return values.stream()
-                    .filter(Number.class::isInstance)
-                    .map(Number.class::cast)
-                    .map(Number::intValue)
-                    .anyMatch(expectedCategoryIds::contains);
-        }
-        return false;
+    private boolean containsAnyCategoryId(ProductHitSource source, List<Integer> expectedCategoryIds) {
+        return source.lev3CategoryIds().stream().anyMatch(expectedCategoryIds::contains);
     }
 
     private List<Integer> extractPrices(List<SearchHitResult> results) {
         return results.stream()
-                .map(hit -> asInteger(hit.source(), "sale_price"))
+                .map(hit -> hit.source().salePrice())
                 .filter(value -> value != null)
                 .toList();
     }
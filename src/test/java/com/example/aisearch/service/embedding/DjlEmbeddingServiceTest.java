@@ -0,0 +1,30 @@
+package com.example.aisearch.service.embedding;
+
+import com.example.aisearch.config.AiSearchEmbeddingProperties;
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
+import com.example.aisearch.service.embedding.model.EmbeddingModelSourceLoader;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class DjlEmbeddingServiceTest {
+
+    @Test
+    void 양자화_모드가_설정되면_모델을_로드하기_전에_기동을_중단한다() {
+        EmbeddingModelSourceLoader loader = mock(EmbeddingModelSourceLoader.class);
+        DjlEmbeddingService service = new DjlEmbeddingService(
+                loader,
+                new AiSearchEmbeddingProperties("djl", 16, 1, 60_000L, 1000L),
+                new AiSearchEmbeddingQuantizationProperties("int8", null, null, 0.0, false),
+                EmbeddingDimensionReducer.none()
+        );
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, service::init);
+
+        assertTrue(exception.getMessage().contains("provider=onnx"));
+        verifyNoInteractions(loader);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.aisearch.service.embedding;
+
+import com.example.aisearch.config.AiSearchEmbeddingReductionProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmbeddingDimensionReducerTest {
+
+    @Test
+    void truncate_모드는_앞쪽_K차원만_남기고_다시_정규화한다() {
+        EmbeddingDimensionReducer reducer = EmbeddingDimensionReducer.truncate(2);
+
+        float[] reduced = reducer.reduce(new float[]{0.6f, 0.0f, 0.8f});
+
+        assertArrayEquals(new float[]{1.0f, 0.0f}, reduced, 1e-6f);
+        assertEquals("truncate:2", reducer.identity());
+    }
+
+    @Test
+    void none_모드는_입력_벡터를_그대로_반환한다() {
+        float[] vector = {0.6f, 0.8f};
+
+        assertSame(vector, EmbeddingDimensionReducer.none().reduce(vector));
+    }
+
+    @Test
+    void 모델_차원보다_큰_축소_차원은_예외를_던진다() {
+        assertThrows(IllegalStateException.class,
+                () -> EmbeddingDimensionReducer.truncate(4).reduce(new float[]{1f, 0f}));
+    }
+
+    @Test
+    void pca_모드는_평균을_빼고_주성분에_투영한다(@TempDir Path directory) throws Exception {
+        Path projection = directory.resolve("pca.txt");
+        Files.writeString(projection, """
+                # mean, components
+                0.5 0.5 0
+                0 0 1
+                1 0 0
+                0 1 0
+                """);
+        EmbeddingDimensionReducer reducer = new EmbeddingDimensionReducer(
+                new DefaultResourceLoader(),
+                new AiSearchEmbeddingReductionProperties("pca", 2, projection.toUri().toString())
+        );
+
+        // (x - mean) = (0.5, -0.5, 1) -> 주성분 (z, x) 투영 = (1, 0.5) -> 정규화
+        float[] reduced = reducer.reduce(new float[]{1f, 0f, 1f});
+
+        assertArrayEquals(new float[]{(float) (1 / Math.sqrt(1.25)), (float) (0.5 / Math.sqrt(1.25))}, reduced, 1e-6f);
+        assertNotEquals(EmbeddingDimensionReducer.truncate(2).identity(), reducer.identity());
+    }
+
+    @Test
+    void 축소_차원_검색_결과를_전체_차원_결과와_비교해_recall을_계산한다() {
+        List<float[]> documents = List.of(
+                new float[]{1f, 0f, 0f},
+                new float[]{0f, 1f, 0f},
+                new float[]{0.9f, 0f, 0.1f},
+                new float[]{0.1f, 0f, 0.9f}
+        );
+        // 전체 차원 top-1은 세 번째 차원이 큰 문서(3)지만, 앞 2차원만 보면 첫 번째 차원이 큰 문서가 된다.
+        List<float[]> queries = List.of(new float[]{0f, 1f, 0f}, new float[]{0.2f, 0f, 1f});
+
+        EmbeddingRecallReport report = EmbeddingRecallReport.evaluate(
+                documents,
+                queries,
+                EmbeddingDimensionReducer.truncate(2)::reduce,
+                1
+        );
+
+        assertEquals(3, report.sourceDimensions());
+        assertEquals(2, report.reducedDimensions());
+        assertEquals(0.5, report.meanRecall(), 1e-9);
+        assertEquals(0.0, report.minRecall(), 1e-9);
+    }
+}
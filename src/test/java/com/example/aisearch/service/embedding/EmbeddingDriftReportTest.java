@@ -0,0 +1,34 @@
+package com.example.aisearch.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmbeddingDriftReportTest {
+
+    @Test
+    void 샘플별_코사인으로_평균과_최대_drift를_계산한다() {
+        EmbeddingDriftReport report = EmbeddingDriftReport.compare(
+                List.of("같은 벡터", "직교 벡터"),
+                List.of(new float[]{1f, 0f}, new float[]{1f, 0f}),
+                List.of(new float[]{2f, 0f}, new float[]{0f, 1f})
+        );
+
+        assertEquals(2, report.sampleCount());
+        assertEquals(0.5, report.meanCosine(), 1e-9);
+        assertEquals(1.0, report.maxDrift(), 1e-9);
+        assertEquals("직교 벡터", report.worstSample());
+    }
+
+    @Test
+    void 비교_대상_수가_다르면_예외를_던진다() {
+        assertThrows(IllegalArgumentException.class, () -> EmbeddingDriftReport.compare(
+                List.of("a", "b"),
+                List.of(new float[]{1f}),
+                List.of(new float[]{1f}, new float[]{1f})
+        ));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.aisearch.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LengthBucketingTest {
+
+    @Test
+    void 짧은_입력과_긴_입력을_서로_다른_배치로_묶는다() {
+        int[] lengths = {512, 6, 480, 5, 7, 500};
+
+        List<int[]> groups = LengthBucketing.group(lengths, 3);
+
+        assertEquals(2, groups.size());
+        assertArrayEquals(new int[]{3, 1, 4}, groups.get(0));
+        assertArrayEquals(new int[]{2, 5, 0}, groups.get(1));
+    }
+
+    @Test
+    void 마지막_배치는_남은_입력만_담는다() {
+        List<int[]> groups = LengthBucketing.group(new int[]{3, 1, 2, 4, 5}, 2);
+
+        assertEquals(3, groups.size());
+        assertArrayEquals(new int[]{4}, groups.get(2));
+    }
+}
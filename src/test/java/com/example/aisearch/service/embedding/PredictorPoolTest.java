@@ -0,0 +1,167 @@
+package com.example.aisearch.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PredictorPoolTest {
+
+    @Test
+    void 동시에_같은_추론기를_두_스레드가_사용하지_않는다() throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        PredictorPool<FakePredictor> pool = new PredictorPool<>(
+                "test", 2, 1000L, () -> new FakePredictor(sequence.incrementAndGet()), FakePredictor::close);
+        Set<Integer> concurrentIds = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger overlaps = new AtomicInteger();
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                futures.add(executor.submit(() -> pool.execute(predictor -> {
+                    if (!concurrentIds.add(predictor.id())) {
+                        overlaps.incrementAndGet();
+                    }
+                    sleep(2L);
+                    concurrentIds.remove(predictor.id());
+                    return predictor.id();
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.close();
+        }
+
+        assertEquals(0, overlaps.get());
+        assertEquals(2, sequence.get());
+        assertEquals(40L, pool.stats().borrowCount());
+    }
+
+    @Test
+    void 제한_시간_안에_빌리지_못하면_예외를_던지고_시간_초과를_집계한다() throws Exception {
+        PredictorPool<FakePredictor> pool = new PredictorPool<>(
+                "test", 1, 50L, () -> new FakePredictor(1), FakePredictor::close);
+        CountDownLatch borrowed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            Future<Integer> holder = executor.submit(() -> pool.execute(predictor -> {
+                borrowed.countDown();
+                await(release);
+                return predictor.id();
+            }));
+            assertTrue(borrowed.await(1, TimeUnit.SECONDS));
+
+            assertThrows(IllegalStateException.class, () -> pool.execute(FakePredictor::id));
+
+            release.countDown();
+            assertEquals(1, holder.get(1, TimeUnit.SECONDS));
+        } finally {
+            pool.close();
+        }
+
+        PredictorPoolStats stats = pool.stats();
+        assertEquals(1L, stats.timeoutCount());
+        assertTrue(stats.maxWaitMillis() >= 50.0);
+    }
+
+    @Test
+    void 풀을_닫으면_대기_중인_추론기와_사용_중이던_추론기를_모두_닫는다() throws Exception {
+        List<FakePredictor> created = new ArrayList<>();
+        PredictorPool<FakePredictor> pool = new PredictorPool<>(
+                "test", 2, 100L, () -> {
+                    FakePredictor predictor = new FakePredictor(created.size() + 1);
+                    created.add(predictor);
+                    return predictor;
+                }, FakePredictor::close);
+
+        FakePredictor inUse = pool.borrow();
+        pool.close();
+        pool.release(inUse);
+
+        assertTrue(created.stream().allMatch(FakePredictor::closed));
+        assertThrows(IllegalStateException.class, pool::borrow);
+    }
+
+    @Test
+    void 반납과_풀_닫기가_동시에_일어나도_추론기를_정확히_한_번_닫는다() throws Exception {
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < 500; i++) {
+                PredictorPool<FakePredictor> pool = new PredictorPool<>(
+                        "test", 1, 100L, () -> new FakePredictor(1), FakePredictor::close);
+                FakePredictor inUse = pool.borrow();
+                CountDownLatch start = new CountDownLatch(1);
+
+                Future<?> release = executor.submit(() -> {
+                    await(start);
+                    pool.release(inUse);
+                });
+                Future<?> close = executor.submit(() -> {
+                    await(start);
+                    pool.close();
+                });
+                start.countDown();
+                release.get(1, TimeUnit.SECONDS);
+                close.get(1, TimeUnit.SECONDS);
+
+                assertEquals(1, inUse.closeCount());
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class FakePredictor {
+
+        private final int id;
+        private final AtomicInteger closeCount = new AtomicInteger();
+
+        private FakePredictor(int id) {
+            this.id = id;
+        }
+
+        private int id() {
+            return id;
+        }
+
+        private void close() {
+            closeCount.incrementAndGet();
+        }
+
+        private boolean closed() {
+            return closeCount.get() > 0;
+        }
+
+        private int closeCount() {
+            return closeCount.get();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.aisearch.service.embedding;
 
 import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.config.AiSearchQueryEmbeddingProperties;
+import com.example.aisearch.service.embedding.stub.RecordingEmbeddingService;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -11,25 +16,29 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class QueryEmbeddingServiceTest {
 
     @Test
     void shouldReuseCachedEmbeddingForNormalizedQuery() {
-        CountingEmbeddingService embeddingService = new CountingEmbeddingService(0L);
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService();
         QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
                 embeddingService,
                 new EmbeddingInputFormatter(testProperties(1000L, 100L)),
                 testProperties(1000L, 100L)
         );
         try {
-            List<Float> first = queryEmbeddingService.toQueryEmbedding("  어린이   간식 ");
-            List<Float> second = queryEmbeddingService.toQueryEmbedding("어린이 간식");
+            float[] first = queryEmbeddingService.toQueryEmbedding("  어린이   간식 ");
+            float[] second = queryEmbeddingService.toQueryEmbedding("어린이 간식");
 
             assertSame(first, second);
-            assertEquals(1, embeddingService.invocationCount());
+            assertEquals(1, embeddingService.embeddedTextCount());
         } finally {
             queryEmbeddingService.close();
         }
@@ -37,7 +46,7 @@ class QueryEmbeddingServiceTest {
 
     @Test
     void 정규화된_동시_검색어_요청은_같은_임베딩_결과를_반환한다() throws Exception {
-        CountingEmbeddingService embeddingService = new CountingEmbeddingService(200L);
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService(1, 200L);
         QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
                 embeddingService,
                 new EmbeddingInputFormatter(testProperties(1000L, 100L)),
@@ -46,19 +55,19 @@ class QueryEmbeddingServiceTest {
         try (var executor = Executors.newFixedThreadPool(2)) {
             CountDownLatch startLatch = new CountDownLatch(1);
 
-            Future<List<Float>> first = executor.submit(() -> {
+            Future<float[]> first = executor.submit(() -> {
                 startLatch.await(1, TimeUnit.SECONDS);
                 return queryEmbeddingService.toQueryEmbedding("단백질 간편식");
             });
-            Future<List<Float>> second = executor.submit(() -> {
+            Future<float[]> second = executor.submit(() -> {
                 startLatch.await(1, TimeUnit.SECONDS);
                 return queryEmbeddingService.toQueryEmbedding("단백질  간편식");
             });
 
             startLatch.countDown();
 
-            List<Float> firstResult = first.get(2, TimeUnit.SECONDS);
-            List<Float> secondResult = second.get(2, TimeUnit.SECONDS);
+            float[] firstResult = first.get(2, TimeUnit.SECONDS);
+            float[] secondResult = second.get(2, TimeUnit.SECONDS);
 
             assertSame(firstResult, secondResult);
         } finally {
@@ -68,7 +77,7 @@ class QueryEmbeddingServiceTest {
 
     @Test
     void shouldThrowWhenEmbeddingGenerationTimesOut() {
-        CountingEmbeddingService embeddingService = new CountingEmbeddingService(200L);
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService(1, 200L);
         QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
                 embeddingService,
                 new EmbeddingInputFormatter(testProperties(50L, 100L)),
@@ -84,7 +93,205 @@ class QueryEmbeddingServiceTest {
         }
     }
 
+    @Test
+    void 비동기_요청은_호출_스레드를_막지_않고_완료되면_캐시에_남는다() throws Exception {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService(1, 200L);
+        QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
+                embeddingService,
+                new EmbeddingInputFormatter(testProperties(1000L, 100L)),
+                testProperties(1000L, 100L)
+        );
+        try {
+            CompletableFuture<float[]> pending = queryEmbeddingService.toQueryEmbeddingAsync("단백질 간편식");
+            assertFalse(pending.isDone());
+
+            float[] embedding = pending.get(2, TimeUnit.SECONDS);
+            CompletableFuture<float[]> cached = queryEmbeddingService.toQueryEmbeddingAsync("단백질  간편식");
+
+            assertTrue(cached.isDone());
+            assertSame(embedding, cached.join());
+            assertEquals(1, embeddingService.embeddedTextCount());
+        } finally {
+            queryEmbeddingService.close();
+        }
+    }
+
+    @Test
+    void 비동기_요청이_시간_초과되면_임베딩_불가_예외로_완료된다() {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService(1, 200L);
+        QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
+                embeddingService,
+                new EmbeddingInputFormatter(testProperties(50L, 100L)),
+                testProperties(50L, 100L)
+        );
+        try {
+            CompletionException exception = assertThrows(
+                    CompletionException.class,
+                    () -> queryEmbeddingService.toQueryEmbeddingAsync("느린 검색어").join()
+            );
+            assertInstanceOf(QueryEmbeddingUnavailableException.class, exception.getCause());
+        } finally {
+            queryEmbeddingService.close();
+        }
+    }
+
+    @Test
+    void 시간_초과에도_추론을_취소하지_않으면_늦게_끝난_임베딩이_캐시에_남는다() throws Exception {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService(1, 200L);
+        QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
+                embeddingService,
+                new EmbeddingInputFormatter(testProperties(50L, 100L)),
+                testProperties(50L, 100L)
+        );
+        try {
+            CompletionException exception = assertThrows(
+                    CompletionException.class,
+                    () -> queryEmbeddingService.toQueryEmbeddingAsync("느린 검색어", false).join()
+            );
+            assertInstanceOf(QueryEmbeddingUnavailableException.class, exception.getCause());
+
+            Thread.sleep(400L);
+            CompletableFuture<float[]> cached = queryEmbeddingService.toQueryEmbeddingAsync("느린 검색어");
+
+            assertTrue(cached.isDone());
+            assertEquals(1, embeddingService.embeddedTextCount());
+        } finally {
+            queryEmbeddingService.close();
+        }
+    }
+
+    @Test
+    void 추론_스레드가_바쁜_동안_쌓인_서로_다른_검색어는_한_번의_배치로_추론한다() throws Exception {
+        BlockingBatchEmbeddingService embeddingService = new BlockingBatchEmbeddingService();
+        QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
+                embeddingService,
+                new EmbeddingInputFormatter(testProperties(2000L, 100L)),
+                testProperties(2000L, 100L, 1),
+                new AiSearchQueryEmbeddingProperties("float32", 0L, false, null, 0, 0, 0L, null, 16, 2L)
+        );
+        try (var executor = Executors.newFixedThreadPool(6)) {
+            Future<float[]> blocking = executor.submit(() -> queryEmbeddingService.toQueryEmbedding("첫 검색어"));
+            assertTrue(embeddingService.awaitFirstBatch());
+
+            List<Future<float[]>> queued = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                String query = "검색어 " + i;
+                queued.add(executor.submit(() -> queryEmbeddingService.toQueryEmbedding(query)));
+            }
+            Thread.sleep(100L);
+            embeddingService.release();
+
+            assertEquals("첫 검색어".length(), blocking.get(2, TimeUnit.SECONDS)[0]);
+            for (int i = 0; i < queued.size(); i++) {
+                assertEquals(("검색어 " + i).length(), queued.get(i).get(2, TimeUnit.SECONDS)[0]);
+            }
+            assertEquals(List.of(1, 5), embeddingService.batchSizes());
+        } finally {
+            queryEmbeddingService.close();
+        }
+    }
+
+    @Test
+    void 추론_중_Error가_발생해도_대기_중인_요청을_실패로_완료하고_다음_요청은_다시_추론한다() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        EmbeddingService embeddingService = new EmbeddingService() {
+            @Override
+            public float[] toEmbeddingVector(String text) {
+                if (invocations.incrementAndGet() == 1) {
+                    throw new UnsatisfiedLinkError("native library missing");
+                }
+                return new float[]{text.length()};
+            }
+
+            @Override
+            public int dimensions() {
+                return 1;
+            }
+        };
+        QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
+                embeddingService,
+                new EmbeddingInputFormatter(testProperties(1000L, 100L)),
+                testProperties(1000L, 100L)
+        );
+        try {
+            CompletionException exception = assertThrows(
+                    CompletionException.class,
+                    () -> queryEmbeddingService.toQueryEmbeddingAsync("두부", false).join()
+            );
+            QueryEmbeddingUnavailableException unavailable =
+                    assertInstanceOf(QueryEmbeddingUnavailableException.class, exception.getCause());
+            assertInstanceOf(UnsatisfiedLinkError.class, unavailable.getCause());
+
+            // 실패한 in-flight 항목은 추론 스레드의 완료 콜백에서 정리되므로 잠시 기다린 뒤 다시 요청한다.
+            Thread.sleep(100L);
+            assertEquals("두부".length(), queryEmbeddingService.toQueryEmbeddingAsync("두부", false).join()[0]);
+            assertEquals(2, invocations.get());
+        } finally {
+            queryEmbeddingService.close();
+        }
+    }
+
+    @Test
+    void 압축_캐시는_hit_시_원본과_거의_같은_벡터로_복원한다() {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService(384, 0L);
+        for (String encoding : new String[]{"float16", "int8"}) {
+            QueryEmbeddingService queryEmbeddingService = new QueryEmbeddingService(
+                    embeddingService,
+                    new EmbeddingInputFormatter(testProperties(1000L, 100L)),
+                    testProperties(1000L, 100L),
+                    new AiSearchQueryEmbeddingProperties(encoding, 1_000_000L, false, null, 0, 0, 0L, null, 1, 0L)
+            );
+            try {
+                float[] computed = queryEmbeddingService.toQueryEmbedding("저당 간식 " + encoding);
+                float[] cached = queryEmbeddingService.toQueryEmbedding("저당 간식 " + encoding);
+
+                assertNotSame(computed, cached);
+                assertTrue(cosine(computed, cached) > 0.999, encoding);
+            } finally {
+                queryEmbeddingService.close();
+            }
+        }
+        assertEquals(2, embeddingService.embeddedTextCount());
+    }
+
+    @Test
+    void int8_양자화는_float32_대비_4배_가까이_작다() {
+        float[] vector = new float[384];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) Math.sin(i);
+        }
+
+        int float32Bytes = QueryEmbeddingCacheEncoding.FLOAT32.encode(vector).payloadBytes();
+        int float16Bytes = QueryEmbeddingCacheEncoding.FLOAT16.encode(vector).payloadBytes();
+        int int8Bytes = QueryEmbeddingCacheEncoding.INT8.encode(vector).payloadBytes();
+
+        assertEquals(1536, float32Bytes);
+        assertEquals(768, float16Bytes);
+        assertEquals(388, int8Bytes);
+    }
+
+    @Test
+    void 지원하지_않는_캐시_형식이면_예외를_던진다() {
+        assertThrows(IllegalArgumentException.class, () -> QueryEmbeddingCacheEncoding.from("int4"));
+    }
+
+    private double cosine(float[] left, float[] right) {
+        double dot = 0.0;
+        double leftNorm = 0.0;
+        double rightNorm = 0.0;
+        for (int i = 0; i < left.length; i++) {
+            dot += left[i] * right[i];
+            leftNorm += left[i] * left[i];
+            rightNorm += right[i] * right[i];
+        }
+        return dot / Math.sqrt(leftNorm * rightNorm);
+    }
+
     private AiSearchProperties testProperties(long timeoutMillis, long cacheTtlSeconds) {
+        return testProperties(timeoutMillis, cacheTtlSeconds, 2);
+    }
+
+    private AiSearchProperties testProperties(long timeoutMillis, long cacheTtlSeconds, int executorThreads) {
         return new AiSearchProperties(
                 "http://localhost:9200",
                 "elastic",
@@ -101,41 +308,36 @@ class QueryEmbeddingServiceTest {
                 cacheTtlSeconds,
                 100L,
                 timeoutMillis,
-                2,
+                executorThreads,
                 3
         );
     }
 
-    private static final class CountingEmbeddingService implements EmbeddingService {
-
-        private final long delayMillis;
-        private final AtomicInteger invocationCount = new AtomicInteger();
+    /**
+     * 첫 배치 호출을 release() 전까지 붙잡아 두어 그 사이 요청이 대기열에 쌓이게 한다.
+     */
+    private static final class BlockingBatchEmbeddingService extends RecordingEmbeddingService {
 
-        private CountingEmbeddingService(long delayMillis) {
-            this.delayMillis = delayMillis;
-        }
+        private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
 
         @Override
-        public List<Float> toEmbeddingVector(String text) {
-            invocationCount.incrementAndGet();
-            if (delayMillis > 0L) {
-                try {
-                    Thread.sleep(delayMillis);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new IllegalStateException("interrupted", e);
-                }
+        protected void beforeBatch(List<String> texts) {
+            firstBatchStarted.countDown();
+            try {
+                released.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted", e);
             }
-            return List.of((float) text.length());
         }
 
-        @Override
-        public int dimensions() {
-            return 1;
+        private boolean awaitFirstBatch() throws InterruptedException {
+            return firstBatchStarted.await(2, TimeUnit.SECONDS);
         }
 
-        private int invocationCount() {
-            return invocationCount.get();
+        private void release() {
+            released.countDown();
         }
     }
 }
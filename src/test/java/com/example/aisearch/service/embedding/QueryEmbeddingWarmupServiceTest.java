@@ -0,0 +1,129 @@
+package com.example.aisearch.service.embedding;
+
+import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.config.AiSearchQueryEmbeddingProperties;
+import com.example.aisearch.service.embedding.stub.RecordingEmbeddingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryEmbeddingWarmupServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void 캐시_덤프와_인기_검색어로_캐시를_채우고_이후_요청은_모델을_호출하지_않는다() throws IOException {
+        Path dumpFile = tempDir.resolve("query-cache.dump");
+        Files.write(dumpFile, List.of("어린이 간식"), StandardCharsets.UTF_8);
+        Path queriesFile = tempDir.resolve("top_queries.txt");
+        Files.write(queriesFile, List.of("# 주석", "어린이 간식\t120", "저당 과자\t80", "", "  비건   라면 "),
+                StandardCharsets.UTF_8);
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService();
+        QueryEmbeddingService queryEmbeddingService = queryEmbeddingService(embeddingService);
+        QueryEmbeddingWarmupService warmupService = warmupService(
+                queryEmbeddingService, embeddingService, queriesFile, dumpFile, 2, 60L);
+        try {
+            warmupService.warmUp();
+
+            QueryEmbeddingWarmupStatus status = warmupService.status();
+            assertEquals("COMPLETED", status.state());
+            assertEquals(3, status.totalQueries());
+            assertEquals(3, status.warmedQueries());
+            assertEquals(List.of(2, 1), embeddingService.batchSizes());
+
+            queryEmbeddingService.toQueryEmbedding("비건 라면");
+            assertEquals(List.of(2, 1), embeddingService.batchSizes());
+            assertEquals(0, embeddingService.singleInvocationCount());
+        } finally {
+            queryEmbeddingService.close();
+        }
+    }
+
+    @Test
+    void 종료_시_캐시의_검색어를_덤프_파일로_기록한다() throws IOException {
+        Path dumpFile = tempDir.resolve("dump/query-cache.dump");
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService();
+        QueryEmbeddingService queryEmbeddingService = queryEmbeddingService(embeddingService);
+        QueryEmbeddingWarmupService warmupService = warmupService(
+                queryEmbeddingService, embeddingService, tempDir.resolve("missing.txt"), dumpFile, 32, 60L);
+        try {
+            queryEmbeddingService.toQueryEmbedding("단백질 바");
+            queryEmbeddingService.toQueryEmbedding("무가당 두유");
+
+            warmupService.dumpCache();
+
+            List<String> dumped = Files.readAllLines(dumpFile, StandardCharsets.UTF_8);
+            assertEquals(2, dumped.size());
+            assertTrue(dumped.containsAll(List.of("단백질 바", "무가당 두유")));
+        } finally {
+            queryEmbeddingService.close();
+        }
+    }
+
+    private QueryEmbeddingService queryEmbeddingService(EmbeddingService embeddingService) {
+        return new QueryEmbeddingService(
+                embeddingService,
+                new EmbeddingInputFormatter(testProperties()),
+                testProperties()
+        );
+    }
+
+    private QueryEmbeddingWarmupService warmupService(
+            QueryEmbeddingService queryEmbeddingService,
+            EmbeddingService embeddingService,
+            Path queriesFile,
+            Path dumpFile,
+            int batchSize,
+            long timeBudgetSeconds
+    ) {
+        return new QueryEmbeddingWarmupService(
+                queryEmbeddingService,
+                embeddingService,
+                new DefaultResourceLoader(),
+                new AiSearchQueryEmbeddingProperties(
+                        "float32",
+                        0L,
+                        true,
+                        queriesFile.toUri().toString(),
+                        100,
+                        batchSize,
+                        timeBudgetSeconds,
+                        dumpFile.toString(),
+                        1,
+                        0L
+                )
+        );
+    }
+
+    private AiSearchProperties testProperties() {
+        return new AiSearchProperties(
+                "http://localhost:9200",
+                "elastic",
+                "password",
+                "food-products",
+                "food-products-read",
+                "food-synonyms",
+                "classpath:es/dictionary/synonyms_ko.txt",
+                "classpath:es/dictionary/synonyms_kr_regression.txt",
+                "djl://test",
+                "classpath:/model/test",
+                0.71,
+                300L,
+                1000L,
+                100L,
+                1000L,
+                2,
+                3
+        );
+    }
+}
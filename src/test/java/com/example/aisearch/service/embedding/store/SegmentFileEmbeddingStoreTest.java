@@ -0,0 +1,122 @@
+package com.example.aisearch.service.embedding.store;
+
+import com.example.aisearch.config.AiSearchEmbeddingQuantizationProperties;
+import com.example.aisearch.config.AiSearchOnnxEmbeddingProperties;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextHash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentFileEmbeddingStoreTest {
+
+    private static final String MODEL = "provider=djl|path=classpath:/model/kure-v1|url=null|dims=3";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 저장한_벡터는_다시_열어도_조회된다() {
+        String hash = EmbeddingTextHash.of("passage: 국산콩 두부");
+        SegmentFileEmbeddingStore store = new SegmentFileEmbeddingStore(directory, 1_000_000L, MODEL, 3);
+        store.putAll(Map.of(hash, new float[]{0.1f, 0.2f, 0.3f}));
+        store.close();
+
+        SegmentFileEmbeddingStore reopened = new SegmentFileEmbeddingStore(directory, 1_000_000L, MODEL, 3);
+
+        Map<String, float[]> found = reopened.findAll(List.of(hash, EmbeddingTextHash.of("없음")));
+
+        assertEquals(Set.of(hash), found.keySet());
+        assertArrayEquals(new float[]{0.1f, 0.2f, 0.3f}, found.get(hash));
+        reopened.close();
+    }
+
+    @Test
+    void 모델_식별자가_바뀌면_저장소를_비운다() {
+        String hash = EmbeddingTextHash.of("passage: 국산콩 두부");
+        SegmentFileEmbeddingStore store = new SegmentFileEmbeddingStore(directory, 1_000_000L, MODEL, 3);
+        store.putAll(Map.of(hash, new float[]{0.1f, 0.2f, 0.3f}));
+        store.close();
+
+        SegmentFileEmbeddingStore switched = new SegmentFileEmbeddingStore(
+                directory, 1_000_000L, "provider=djl|path=classpath:/model/bge-m3|url=null|dims=3", 3);
+
+        assertTrue(switched.findAll(List.of(hash)).isEmpty());
+        assertEquals(0, switched.size());
+        switched.close();
+    }
+
+    @Test
+    void 양자화_모드가_바뀌면_저장소를_비운다() {
+        String hash = EmbeddingTextHash.of("passage: 국산콩 두부");
+        AiSearchOnnxEmbeddingProperties onnx = new AiSearchOnnxEmbeddingProperties("classpath:/model/kure-v1-onnx", "model.onnx", 0);
+        String fp32 = SegmentFileEmbeddingStore.modelIdentity("onnx", null, null, onnx,
+                new AiSearchEmbeddingQuantizationProperties("none", "model_int8.onnx", null, 0.02, true), "none", 3);
+        String int8 = SegmentFileEmbeddingStore.modelIdentity("onnx", null, null, onnx,
+                new AiSearchEmbeddingQuantizationProperties("int8", "model_int8.onnx", null, 0.02, true), "none", 3);
+        SegmentFileEmbeddingStore store = new SegmentFileEmbeddingStore(directory, 1_000_000L, fp32, 3);
+        store.putAll(Map.of(hash, new float[]{0.1f, 0.2f, 0.3f}));
+        store.close();
+
+        SegmentFileEmbeddingStore switched = new SegmentFileEmbeddingStore(directory, 1_000_000L, int8, 3);
+
+        assertTrue(switched.findAll(List.of(hash)).isEmpty());
+        assertEquals(0, switched.size());
+        switched.close();
+    }
+
+    @Test
+    void 크기_제한을_넘으면_이번_실행에서_사용한_항목만_남긴다() {
+        String stale = EmbeddingTextHash.of("단종 상품");
+        String live = EmbeddingTextHash.of("판매 상품");
+        SegmentFileEmbeddingStore previousRun = new SegmentFileEmbeddingStore(directory, 1_000_000L, MODEL, 3);
+        previousRun.putAll(Map.of(stale, new float[]{1f, 0f, 0f}, live, new float[]{0f, 1f, 0f}));
+        previousRun.close();
+
+        // 헤더 + 레코드 1건(32 + 12byte)보다 조금 큰 제한
+        SegmentFileEmbeddingStore currentRun = new SegmentFileEmbeddingStore(directory, 150L, MODEL, 3);
+        currentRun.findAll(List.of(live));
+        currentRun.compactIfNeeded();
+
+        Map<String, float[]> found = currentRun.findAll(List.of(live, stale));
+
+        assertEquals(1, currentRun.size());
+        assertEquals(Set.of(live), found.keySet());
+        assertArrayEquals(new float[]{0f, 1f, 0f}, found.get(live));
+        currentRun.close();
+    }
+
+    @Test
+    void 기록이_중간에_끊긴_마지막_레코드는_버린다() throws IOException {
+        String hash = EmbeddingTextHash.of("passage: 국산콩 두부");
+        SegmentFileEmbeddingStore store = new SegmentFileEmbeddingStore(directory, 1_000_000L, MODEL, 3);
+        store.putAll(Map.of(hash, new float[]{0.1f, 0.2f, 0.3f}));
+        store.close();
+        try (FileChannel channel = FileChannel.open(directory.resolve("embeddings.seg"), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[10]));
+        }
+
+        SegmentFileEmbeddingStore reopened = new SegmentFileEmbeddingStore(directory, 1_000_000L, MODEL, 3);
+
+        assertEquals(1, reopened.size());
+        reopened.close();
+        assertEquals(0, (Files.size(directory.resolve("embeddings.seg")) - headerBytes()) % 44);
+    }
+
+    private long headerBytes() {
+        return 16 + MODEL.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.aisearch.service.embedding.stub;
+
+import com.example.aisearch.service.embedding.EmbeddingService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 단위 테스트용 임베딩 구현. 배치 호출 크기와 단건/텍스트별 추론 횟수를 기록한다.
+ *
+ * <p>1차원이면 텍스트 길이를 그대로 벡터로 돌려주어 결과가 어느 입력의 것인지 검증할 수 있다.
+ * 배치 호출 직전에 테스트가 끼어들어야 하면 {@link #beforeBatch(List)}를 재정의한다.
+ */
+public class RecordingEmbeddingService implements EmbeddingService {
+
+    private final int dimensions;
+    private final long delayMillis;
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger singleInvocationCount = new AtomicInteger();
+    private final AtomicInteger embeddedTextCount = new AtomicInteger();
+
+    public RecordingEmbeddingService() {
+        this(1, 0L);
+    }
+
+    /**
+     * @param dimensions  벡터 차원 (1이면 텍스트 길이, 그 외에는 텍스트 해시 기반 결정론적 벡터)
+     * @param delayMillis 텍스트 하나를 추론할 때마다 지연할 시간
+     */
+    public RecordingEmbeddingService(int dimensions, long delayMillis) {
+        this.dimensions = dimensions;
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public float[] toEmbeddingVector(String text) {
+        singleInvocationCount.incrementAndGet();
+        return embed(text);
+    }
+
+    @Override
+    public List<float[]> toEmbeddingVectors(List<String> texts) {
+        batchSizes.add(texts.size());
+        beforeBatch(texts);
+        return texts.stream()
+                .map(this::embed)
+                .toList();
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 배치 추론 직전에 호출된다. 기본 구현은 아무것도 하지 않는다.
+     */
+    protected void beforeBatch(List<String> texts) {
+    }
+
+    public List<Integer> batchSizes() {
+        return batchSizes;
+    }
+
+    public int singleInvocationCount() {
+        return singleInvocationCount.get();
+    }
+
+    /**
+     * 단건/배치 호출을 합쳐 실제로 벡터를 만든 텍스트 수
+     */
+    public int embeddedTextCount() {
+        return embeddedTextCount.get();
+    }
+
+    private float[] embed(String text) {
+        embeddedTextCount.incrementAndGet();
+        if (delayMillis > 0L) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted", e);
+            }
+        }
+        if (dimensions == 1) {
+            return new float[]{text.length()};
+        }
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) Math.sin(text.hashCode() + i);
+        }
+        return vector;
+    }
+}
@@ -5,7 +5,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -20,7 +19,7 @@ public class StubEmbeddingService implements EmbeddingService {
     private static final int DIMENSIONS = 64;
 
     @Override
-    public List<Float> toEmbeddingVector(String text) {
+    public float[] toEmbeddingVector(String text) {
         float[] vector = new float[DIMENSIONS];
         for (String token : tokenize(text)) {
             int tokenHash = token.hashCode();
@@ -32,12 +31,7 @@ public class StubEmbeddingService implements EmbeddingService {
         }
 
         normalize(vector);
-
-        List<Float> values = new ArrayList<>(DIMENSIONS);
-        for (float value : vector) {
-            values.add(value);
-        }
-        return values;
+        return vector;
     }
 
     @Override
@@ -0,0 +1,210 @@
+package com.example.aisearch.service.indexing;
+
+import com.example.aisearch.config.AiSearchEmbeddingTextProperties;
+import com.example.aisearch.model.FoodProduct;
+import com.example.aisearch.service.embedding.EmbeddingInputFormatter;
+import com.example.aisearch.service.embedding.EmbeddingService;
+import com.example.aisearch.service.indexing.bootstrap.ingest.BulkIndexingExecutor;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextBuilder;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextHash;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodDataLoader;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodProductDocumentMapper;
+import com.example.aisearch.service.indexing.bootstrap.ingest.IndexDocument;
+import com.example.aisearch.service.indexing.bootstrap.ingest.IndexedEmbeddingHashReader;
+import com.example.aisearch.service.indexing.domain.AliasSwitcher;
+import com.example.aisearch.service.indexing.domain.ReadAliasGeneration;
+import com.example.aisearch.service.indexing.orchestration.DeltaIndexingService;
+import com.example.aisearch.service.indexing.orchestration.result.DeltaIndexingResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeltaIndexingServiceTest {
+
+    private static final String LIVE_INDEX = "products-v20260320100000";
+
+    @Mock
+    private AliasSwitcher aliasSwitcher;
+
+    @Mock
+    private FoodDataLoader foodDataLoader;
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private EmbeddingInputFormatter embeddingInputFormatter;
+
+    @Mock
+    private IndexedEmbeddingHashReader embeddingHashReader;
+
+    @Mock
+    private BulkIndexingExecutor bulkIndexingExecutor;
+
+    private final EmbeddingTextBuilder embeddingTextBuilder =
+            new EmbeddingTextBuilder(new AiSearchEmbeddingTextProperties(96, Map.of()));
+    private final ReadAliasGeneration readAliasGeneration = new ReadAliasGeneration();
+
+    private DeltaIndexingService deltaIndexingService;
+
+    @BeforeEach
+    void setUp() {
+        deltaIndexingService = new DeltaIndexingService(
+                aliasSwitcher,
+                foodDataLoader,
+                embeddingService,
+                embeddingInputFormatter,
+                embeddingTextBuilder,
+                new FoodProductDocumentMapper(),
+                embeddingHashReader,
+                bulkIndexingExecutor,
+                readAliasGeneration
+        );
+    }
+
+    @Test
+    void 임베딩_텍스트가_바뀐_상품만_재임베딩하고_나머지는_부분_업데이트한다() {
+        FoodProduct priceOnly = food("1", "국산콩 두부", 3000);
+        FoodProduct renamed = food("2", "유기농 두부", 4000);
+        FoodProduct added = food("3", "순두부", 2500);
+        when(aliasSwitcher.findCurrentAliasedIndex()).thenReturn(LIVE_INDEX);
+        when(foodDataLoader.stream("data/changed.json")).thenReturn(Stream.of(priceOnly, renamed, added));
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(embeddingHashReader.findHashes(LIVE_INDEX, List.of("1", "2", "3"))).thenReturn(Map.of(
+                "1", EmbeddingTextHash.of(embeddingText(priceOnly)),
+                "2", EmbeddingTextHash.of("이전 상품명")
+        ));
+        when(embeddingService.openWorker()).thenCallRealMethod();
+        when(embeddingService.toEmbeddingVectors(List.of(embeddingText(renamed), embeddingText(added))))
+                .thenReturn(List.of(new float[]{0.1f}, new float[]{0.2f}));
+        when(bulkIndexingExecutor.bulkIndex(eq(LIVE_INDEX), anyList())).thenAnswer(invocation ->
+                (long) invocation.<List<IndexDocument>>getArgument(1).size());
+        when(bulkIndexingExecutor.bulkUpdate(eq(LIVE_INDEX), anyList())).thenAnswer(invocation ->
+                (long) invocation.<List<IndexDocument>>getArgument(1).size());
+
+        DeltaIndexingResult result = deltaIndexingService.applyChanges("data/changed.json");
+
+        assertEquals(LIVE_INDEX, result.targetIndex());
+        assertEquals(2L, result.reembeddedCount());
+        assertEquals(1L, result.partialUpdatedCount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<IndexDocument>> fullCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bulkIndexingExecutor).bulkIndex(eq(LIVE_INDEX), fullCaptor.capture());
+        IndexDocument reembedded = fullCaptor.getValue().get(0);
+        assertEquals("2", reembedded.id());
+        assertArrayEquals(new float[]{0.1f}, (float[]) reembedded.document().get("product_vector"));
+        assertEquals(EmbeddingTextHash.of(embeddingText(renamed)),
+                reembedded.document().get(FoodProductDocumentMapper.EMBEDDING_TEXT_HASH_FIELD));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<IndexDocument>> partialCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bulkIndexingExecutor).bulkUpdate(eq(LIVE_INDEX), partialCaptor.capture());
+        IndexDocument partial = partialCaptor.getValue().get(0);
+        assertEquals("1", partial.id());
+        assertEquals(3000, partial.document().get("sale_price"));
+        assertFalse(partial.document().containsKey("product_vector"));
+        assertFalse(partial.document().containsKey(FoodProductDocumentMapper.EMBEDDING_TEXT_HASH_FIELD));
+    }
+
+    @Test
+    void 요청_스레드가_virtual_thread여도_재임베딩은_플랫폼_스레드에서_실행한다() throws Exception {
+        FoodProduct renamed = food("2", "유기농 두부", 4000);
+        AtomicBoolean embeddedOnVirtualThread = new AtomicBoolean(true);
+        when(aliasSwitcher.findCurrentAliasedIndex()).thenReturn(LIVE_INDEX);
+        when(foodDataLoader.stream("data/changed.json")).thenReturn(Stream.of(renamed));
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(embeddingHashReader.findHashes(LIVE_INDEX, List.of("2"))).thenReturn(Map.of());
+        when(embeddingService.openWorker()).thenCallRealMethod();
+        when(embeddingService.toEmbeddingVectors(List.of(embeddingText(renamed)))).thenAnswer(invocation -> {
+            embeddedOnVirtualThread.set(Thread.currentThread().isVirtual());
+            return List.of(new float[]{0.1f});
+        });
+        when(bulkIndexingExecutor.bulkIndex(eq(LIVE_INDEX), anyList())).thenReturn(1L);
+        when(bulkIndexingExecutor.bulkUpdate(eq(LIVE_INDEX), anyList())).thenReturn(0L);
+
+        Thread.ofVirtual().start(() -> deltaIndexingService.applyChanges("data/changed.json")).join();
+
+        assertFalse(embeddedOnVirtualThread.get());
+    }
+
+    @Test
+    void 모든_상품의_임베딩_텍스트가_같으면_임베딩을_호출하지_않는다() {
+        FoodProduct priceOnly = food("1", "국산콩 두부", 3100);
+        when(aliasSwitcher.findCurrentAliasedIndex()).thenReturn(LIVE_INDEX);
+        when(foodDataLoader.stream("data/changed.json")).thenReturn(Stream.of(priceOnly));
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(embeddingHashReader.findHashes(LIVE_INDEX, List.of("1")))
+                .thenReturn(Map.of("1", EmbeddingTextHash.of(embeddingText(priceOnly))));
+        when(bulkIndexingExecutor.bulkUpdate(eq(LIVE_INDEX), anyList())).thenReturn(1L);
+
+        DeltaIndexingResult result = deltaIndexingService.applyChanges("data/changed.json");
+
+        assertEquals(0L, result.reembeddedCount());
+        assertEquals(1L, result.partialUpdatedCount());
+        verifyNoInteractions(embeddingService);
+    }
+
+    @Test
+    void 증분_반영을_마치면_검색_결과_캐시_세대를_올린다() {
+        FoodProduct priceOnly = food("1", "국산콩 두부", 3100);
+        when(aliasSwitcher.findCurrentAliasedIndex()).thenReturn(LIVE_INDEX);
+        when(foodDataLoader.stream("data/changed.json")).thenReturn(Stream.of(priceOnly));
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(embeddingHashReader.findHashes(LIVE_INDEX, List.of("1")))
+                .thenReturn(Map.of("1", EmbeddingTextHash.of(embeddingText(priceOnly))));
+        when(bulkIndexingExecutor.bulkUpdate(eq(LIVE_INDEX), anyList())).thenReturn(1L);
+        long before = readAliasGeneration.current();
+
+        deltaIndexingService.applyChanges("data/changed.json");
+
+        assertEquals(before + 1, readAliasGeneration.current());
+    }
+
+    @Test
+    void read_alias_대상_인덱스가_없으면_예외를_던진다() {
+        when(aliasSwitcher.findCurrentAliasedIndex()).thenReturn(null);
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> deltaIndexingService.applyChanges("data/changed.json")
+        );
+
+        assertTrue(exception.getMessage().startsWith("증분 색인 대상 인덱스가 없습니다."));
+        verifyNoInteractions(foodDataLoader, bulkIndexingExecutor);
+        assertEquals(0L, readAliasGeneration.current());
+    }
+
+    private String embeddingText(FoodProduct food) {
+        return embeddingTextBuilder.build(food).text();
+    }
+
+    private FoodProduct food(String id, String goodsName, int salePrice) {
+        FoodProduct food = new FoodProduct();
+        food.setId(id);
+        food.setGoodsName(goodsName);
+        food.setSalePrice(salePrice);
+        return food;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.aisearch.service.indexing;
+
+import com.example.aisearch.config.AiSearchEmbeddingTextProperties;
+import com.example.aisearch.model.FoodProduct;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingText;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextBuilder;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddingTextBuilderTest {
+
+    @Test
+    void 전체_상품명에서_상품명과_겹치는_토큰은_한번만_넣는다() {
+        EmbeddingTextBuilder builder = new EmbeddingTextBuilder(new AiSearchEmbeddingTextProperties(96, Map.of()));
+        FoodProduct food = new FoodProduct();
+        food.setGoodsName("국산콩 두부");
+        food.setGoodsFullName("[풀무원] 국산콩 두부 300g");
+        food.setSearchKeyword("두부,두부, 찌개용");
+        food.setBrandName("풀무원");
+
+        EmbeddingTextStats stats = new EmbeddingTextStats(builder.maxTokens());
+
+        EmbeddingText text = builder.build(food);
+        stats.record(text);
+
+        assertEquals("국산콩 두부 [풀무원] 300g 두부 찌개용 풀무원", text.text());
+        assertEquals(7, text.tokenCount());
+        // 중복 제거로만 줄었으므로 잘림이 아니다.
+        assertFalse(text.truncated());
+        assertTrue(stats.summary().contains("truncated=0"));
+    }
+
+    @Test
+    void 필드_예산과_최대_토큰_수를_넘는_토큰은_잘라낸다() {
+        EmbeddingTextBuilder builder = new EmbeddingTextBuilder(new AiSearchEmbeddingTextProperties(
+                4,
+                Map.of("goods-name", 3)
+        ));
+        FoodProduct food = new FoodProduct();
+        food.setGoodsName("a b c d e");
+        food.setSearchKeyword("x y");
+
+        EmbeddingText text = builder.build(food);
+
+        assertEquals("a b c x", text.text());
+        assertEquals(4, text.tokenCount());
+        assertEquals(7, text.originalTokenCount());
+        assertTrue(text.truncated());
+    }
+
+    @Test
+    void 예산에_걸려도_남은_토큰이_모두_중복이면_잘림으로_세지_않는다() {
+        EmbeddingTextBuilder builder = new EmbeddingTextBuilder(new AiSearchEmbeddingTextProperties(
+                96,
+                Map.of("goods-name", 2)
+        ));
+        FoodProduct food = new FoodProduct();
+        food.setGoodsName("두부 찌개 두부 찌개");
+
+        EmbeddingText text = builder.build(food);
+
+        assertEquals("두부 찌개", text.text());
+        assertFalse(text.truncated());
+    }
+
+    @Test
+    void 예산_안의_텍스트는_그대로_유지하고_분포를_집계한다() {
+        EmbeddingTextBuilder builder = new EmbeddingTextBuilder(new AiSearchEmbeddingTextProperties(96, Map.of()));
+        EmbeddingTextStats stats = new EmbeddingTextStats(builder.maxTokens());
+        FoodProduct food = new FoodProduct();
+        food.setGoodsName("유기농 두부");
+
+        EmbeddingText text = builder.build(food);
+        stats.record(text);
+
+        assertEquals("유기농 두부", text.text());
+        assertFalse(text.truncated());
+        assertTrue(stats.summary().startsWith("count=1, mean=2.0, p50=2"));
+    }
+}
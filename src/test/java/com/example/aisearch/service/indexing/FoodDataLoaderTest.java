@@ -0,0 +1,76 @@
+package com.example.aisearch.service.indexing;
+
+import com.example.aisearch.model.FoodProduct;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodDataLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FoodDataLoaderTest {
+
+    private final FoodDataLoader foodDataLoader = new FoodDataLoader(
+            new ObjectMapper(),
+            new DefaultResourceLoader(),
+            "classpath:data/goods_template_test_210.json"
+    );
+
+    @Test
+    void JSON_배열을_한건씩_스트리밍으로_읽는다() {
+        try (Stream<FoodProduct> foods = foodDataLoader.stream()) {
+            List<FoodProduct> loaded = foods.toList();
+
+            assertEquals(210, loaded.size());
+            assertEquals("51", loaded.get(0).getId());
+        }
+    }
+
+    @Test
+    void 소비한_만큼만_역직렬화한다(@TempDir Path tempDir) throws IOException {
+        // 두 번째 원소가 깨져 있어도 첫 번째 원소까지는 정상적으로 읽힌다.
+        Path data = tempDir.resolve("foods.json");
+        Files.writeString(data, "[{\"id\":\"1\",\"goods_name\":\"두부\"}, {\"id\": ]");
+
+        try (Stream<FoodProduct> foods = foodDataLoader.stream(data.toUri().toString())) {
+            Iterator<FoodProduct> iterator = foods.iterator();
+
+            assertEquals("1", iterator.next().getId());
+            assertThrows(IllegalStateException.class, iterator::hasNext);
+        }
+    }
+
+    @Test
+    void 빈_배열이면_빈_스트림을_반환한다(@TempDir Path tempDir) throws IOException {
+        Path data = tempDir.resolve("empty.json");
+        Files.writeString(data, "[]");
+
+        try (Stream<FoodProduct> foods = foodDataLoader.stream(data.toUri().toString())) {
+            assertFalse(foods.iterator().hasNext());
+        }
+    }
+
+    @Test
+    void JSON_배열이_아니면_예외를_던진다(@TempDir Path tempDir) throws IOException {
+        Path data = tempDir.resolve("object.json");
+        Files.writeString(data, "{\"id\":\"1\"}");
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> foodDataLoader.stream(data.toUri().toString())
+        );
+
+        assertTrue(exception.getMessage().startsWith("샘플 데이터는 JSON 배열이어야 합니다."));
+    }
+}
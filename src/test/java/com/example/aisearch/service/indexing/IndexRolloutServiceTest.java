@@ -4,10 +4,12 @@ import com.example.aisearch.service.indexing.bootstrap.ingest.ProductIndexingSer
 import com.example.aisearch.service.indexing.domain.AliasSwitcher;
 import com.example.aisearch.service.indexing.domain.IndexCleanupService;
 import com.example.aisearch.service.indexing.domain.IndexCreator;
+import com.example.aisearch.service.indexing.domain.IndexServingPreparer;
 import com.example.aisearch.service.indexing.orchestration.IndexRolloutService;
 import com.example.aisearch.service.indexing.orchestration.result.IndexRolloutResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -20,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +41,9 @@ class IndexRolloutServiceTest {
     @Mock
     private ProductIndexingService productIndexingService;
 
+    @Mock
+    private IndexServingPreparer indexServingPreparer;
+
     @InjectMocks
     private IndexRolloutService indexRolloutService;
 
@@ -82,4 +88,22 @@ class IndexRolloutServiceTest {
         assertEquals(List.of("products-v20260319080000"), result.cleanupDeletedIndices());
         assertEquals(null, result.cleanupErrorMessage());
     }
+
+    @Test
+    void 적재용_설정으로_색인한_뒤_서비스용_설정을_적용하고_alias를_전환한다() {
+        when(aliasSwitcher.findCurrentAliasedIndex()).thenReturn("products-v20260320090000");
+        when(indexCreator.createVersionedIndex()).thenReturn("products-v20260320100000");
+        when(productIndexingService.reindexData("products-v20260320100000", null)).thenReturn(210L);
+        when(indexCleanupService.cleanupOldVersionedIndices("products-v20260320100000"))
+                .thenReturn(new IndexCleanupService.IndexCleanupResult(3, List.of()));
+
+        indexRolloutService.rollOutFromSourceData();
+
+        InOrder inOrder = inOrder(indexCreator, productIndexingService, indexServingPreparer, aliasSwitcher);
+        inOrder.verify(indexCreator).createVersionedIndex();
+        inOrder.verify(indexServingPreparer).prepareForBulkLoad("products-v20260320100000");
+        inOrder.verify(productIndexingService).reindexData("products-v20260320100000", null);
+        inOrder.verify(indexServingPreparer).prepareForServing("products-v20260320100000");
+        inOrder.verify(aliasSwitcher).swapReadAlias("products-v20260320090000", "products-v20260320100000");
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.aisearch.service.indexing;
+
+import com.example.aisearch.config.AiSearchVectorIndexProperties;
+import com.example.aisearch.service.indexing.bootstrap.schema.IndexSchemaBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IndexSchemaBuilderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void int8_hnsw_설정을_index_options와_meta에_반영한다() throws Exception {
+        IndexSchemaBuilder builder = new IndexSchemaBuilder(
+                new DefaultResourceLoader(),
+                new AiSearchVectorIndexProperties("int8_hnsw", 32, 200)
+        );
+
+        JsonNode mappings = objectMapper.readTree(builder.buildMapping(384, "food-synonyms")).path("mappings");
+
+        JsonNode indexOptions = mappings.path("properties").path("product_vector").path("index_options");
+        assertEquals("int8_hnsw", indexOptions.path("type").asText());
+        assertEquals(32, indexOptions.path("m").asInt());
+        assertEquals(200, indexOptions.path("ef_construction").asInt());
+        assertEquals("int8_hnsw(m=32,ef_construction=200,dims=384)",
+                mappings.path("_meta").path(IndexSchemaBuilder.VECTOR_INDEX_META_KEY).asText());
+    }
+
+    @Test
+    void flat_방식은_HNSW_파라미터를_쓰지_않는다() throws Exception {
+        IndexSchemaBuilder builder = new IndexSchemaBuilder(
+                new DefaultResourceLoader(),
+                new AiSearchVectorIndexProperties("flat", 16, 100)
+        );
+
+        JsonNode mappings = objectMapper.readTree(builder.buildMapping(256, "food-synonyms")).path("mappings");
+
+        JsonNode indexOptions = mappings.path("properties").path("product_vector").path("index_options");
+        assertEquals("flat", indexOptions.path("type").asText());
+        assertFalse(indexOptions.has("m"));
+        assertEquals("flat(dims=256)", mappings.path("_meta").path(IndexSchemaBuilder.VECTOR_INDEX_META_KEY).asText());
+    }
+
+    @Test
+    void 지원하지_않는_색인_방식은_예외를_던진다() {
+        assertThrows(IllegalStateException.class, () -> new IndexSchemaBuilder(
+                new DefaultResourceLoader(),
+                new AiSearchVectorIndexProperties("ivf", 16, 100)
+        ));
+    }
+}
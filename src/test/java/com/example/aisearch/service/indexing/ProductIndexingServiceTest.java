@@ -0,0 +1,276 @@
+package com.example.aisearch.service.indexing;
+
+import com.example.aisearch.config.AiSearchEmbeddingTextProperties;
+import com.example.aisearch.config.AiSearchIndexingProperties;
+import com.example.aisearch.model.FoodProduct;
+import com.example.aisearch.service.embedding.EmbeddingInputFormatter;
+import com.example.aisearch.service.embedding.EmbeddingService;
+import com.example.aisearch.service.embedding.store.EmbeddingStore;
+import com.example.aisearch.service.embedding.store.NoOpEmbeddingStore;
+import com.example.aisearch.service.embedding.stub.RecordingEmbeddingService;
+import com.example.aisearch.service.indexing.bootstrap.ingest.BulkIndexingExecutor;
+import com.example.aisearch.service.indexing.bootstrap.ingest.BulkIngestSession;
+import com.example.aisearch.service.indexing.bootstrap.ingest.EmbeddingTextBuilder;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodDataLoader;
+import com.example.aisearch.service.indexing.bootstrap.ingest.FoodProductDocumentMapper;
+import com.example.aisearch.service.indexing.bootstrap.ingest.IndexDocument;
+import com.example.aisearch.service.indexing.bootstrap.ingest.ParallelIndexingPipeline;
+import com.example.aisearch.service.indexing.bootstrap.ingest.ProductIndexingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductIndexingServiceTest {
+
+    private static final String INDEX_NAME = "products-v20260320100000";
+
+    @Mock
+    private EmbeddingInputFormatter embeddingInputFormatter;
+
+    @Mock
+    private FoodDataLoader foodDataLoader;
+
+    @Mock
+    private BulkIndexingExecutor bulkIndexingExecutor;
+
+    @Test
+    void bulk_단위마다_배치_임베딩을_한번만_호출한다() {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService();
+        ProductIndexingService productIndexingService = productIndexingService(embeddingService, 1);
+        RecordingIngestSession session = new RecordingIngestSession();
+        when(foodDataLoader.stream("data/foods.json")).thenReturn(foods(250).stream());
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bulkIndexingExecutor.openIngestSession(INDEX_NAME)).thenReturn(session);
+
+        long indexedCount = productIndexingService.reindexData(INDEX_NAME, "data/foods.json");
+
+        assertEquals(250L, indexedCount);
+        assertEquals(List.of(100, 100, 50), embeddingService.batchSizes());
+        assertEquals(0, embeddingService.singleInvocationCount());
+        assertEquals(3, session.batches().size());
+        assertEquals("food-100", session.batches().get(1).get(0).id());
+        assertTrue(session.closed());
+    }
+
+    @Test
+    void 상품_스트림을_chunk_단위로_소비하고_색인이_끝나면_닫는다() {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService();
+        ProductIndexingService productIndexingService = productIndexingService(embeddingService, 1);
+        RecordingIngestSession session = new RecordingIngestSession();
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        when(foodDataLoader.stream("data/foods.json"))
+                .thenReturn(foods(120).stream().onClose(() -> streamClosed.set(true)));
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bulkIndexingExecutor.openIngestSession(INDEX_NAME)).thenReturn(session);
+
+        long indexedCount = productIndexingService.reindexData(INDEX_NAME, "data/foods.json");
+
+        assertEquals(120L, indexedCount);
+        assertEquals(List.of(100, 20), embeddingService.batchSizes());
+        assertTrue(streamClosed.get());
+    }
+
+    @Test
+    void 여러_임베딩_워커로_병렬_색인해도_모든_문서를_bulk로_전송한다() {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService();
+        ProductIndexingService productIndexingService = productIndexingService(embeddingService, 4);
+        RecordingIngestSession session = new RecordingIngestSession();
+        when(foodDataLoader.stream("data/foods.json")).thenReturn(foods(1050).stream());
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bulkIndexingExecutor.openIngestSession(INDEX_NAME)).thenReturn(session);
+
+        long indexedCount = productIndexingService.reindexData(INDEX_NAME, "data/foods.json");
+
+        assertEquals(1050L, indexedCount);
+        assertEquals(11, session.batches().size());
+    }
+
+    @Test
+    void 임베딩_워커가_실패하면_색인을_중단하고_예외를_전달한다() {
+        EmbeddingService failingEmbeddingService = new RecordingEmbeddingService() {
+            @Override
+            public List<float[]> toEmbeddingVectors(List<String> texts) {
+                throw new IllegalStateException("model failure");
+            }
+        };
+        ProductIndexingService productIndexingService = productIndexingService(failingEmbeddingService, 2);
+        RecordingIngestSession session = new RecordingIngestSession();
+        when(foodDataLoader.stream("data/foods.json")).thenReturn(foods(300).stream());
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bulkIndexingExecutor.openIngestSession(INDEX_NAME)).thenReturn(session);
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> productIndexingService.reindexData(INDEX_NAME, "data/foods.json")
+        );
+
+        assertEquals("임베딩 워커 실패: model failure", exception.getMessage());
+        assertTrue(session.closed());
+    }
+
+    @Test
+    void 임베딩_워커에서_Error가_발생해도_색인이_멈추지_않고_실패한다() {
+        EmbeddingService failingEmbeddingService = new RecordingEmbeddingService() {
+            @Override
+            public List<float[]> toEmbeddingVectors(List<String> texts) {
+                throw new UnsatisfiedLinkError("native library missing");
+            }
+        };
+        ProductIndexingService productIndexingService = productIndexingService(failingEmbeddingService, 2);
+        RecordingIngestSession session = new RecordingIngestSession();
+        when(foodDataLoader.stream("data/foods.json")).thenReturn(foods(300).stream());
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bulkIndexingExecutor.openIngestSession(INDEX_NAME)).thenReturn(session);
+
+        IllegalStateException exception = assertTimeoutPreemptively(
+                Duration.ofSeconds(10),
+                () -> assertThrows(
+                        IllegalStateException.class,
+                        () -> productIndexingService.reindexData(INDEX_NAME, "data/foods.json")
+                )
+        );
+
+        assertEquals("임베딩 워커 실패: native library missing", exception.getMessage());
+        assertTrue(session.closed());
+    }
+
+    @Test
+    void 임베딩_저장소에_있는_텍스트는_다시_임베딩하지_않는다() {
+        RecordingEmbeddingService embeddingService = new RecordingEmbeddingService();
+        InMemoryEmbeddingStore embeddingStore = new InMemoryEmbeddingStore();
+        when(foodDataLoader.stream("data/foods.json"))
+                .thenReturn(foods(150).stream())
+                .thenReturn(foods(160).stream());
+        when(embeddingInputFormatter.formatDocument(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bulkIndexingExecutor.openIngestSession(INDEX_NAME))
+                .thenReturn(new RecordingIngestSession())
+                .thenReturn(new RecordingIngestSession());
+
+        productIndexingService(embeddingService, embeddingStore, 1).reindexData(INDEX_NAME, "data/foods.json");
+        long indexedCount = productIndexingService(embeddingService, embeddingStore, 1)
+                .reindexData(INDEX_NAME, "data/foods.json");
+
+        assertEquals(160L, indexedCount);
+        // 두 번째 실행에서는 새로 추가된 10건만 모델을 호출한다.
+        assertEquals(List.of(100, 50, 10), embeddingService.batchSizes());
+        assertEquals(160, embeddingStore.size());
+        assertEquals(2, embeddingStore.compactionCount());
+    }
+
+    private ProductIndexingService productIndexingService(EmbeddingService embeddingService, int embeddingWorkers) {
+        return productIndexingService(embeddingService, new NoOpEmbeddingStore(), embeddingWorkers);
+    }
+
+    private ProductIndexingService productIndexingService(
+            EmbeddingService embeddingService,
+            EmbeddingStore embeddingStore,
+            int embeddingWorkers
+    ) {
+        ParallelIndexingPipeline indexingPipeline = new ParallelIndexingPipeline(
+                embeddingService,
+                embeddingInputFormatter,
+                new EmbeddingTextBuilder(new AiSearchEmbeddingTextProperties(96, Map.of())),
+                new FoodProductDocumentMapper(),
+                bulkIndexingExecutor,
+                embeddingStore,
+                new AiSearchIndexingProperties(embeddingWorkers, 2, 500, 5_242_880L, 4, 0, "1s", 0, 60L)
+        );
+        return new ProductIndexingService(foodDataLoader, indexingPipeline);
+    }
+
+    private List<FoodProduct> foods(int count) {
+        List<FoodProduct> foods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FoodProduct food = new FoodProduct();
+            food.setId("food-" + i);
+            food.setGoodsName("상품 " + i);
+            foods.add(food);
+        }
+        return foods;
+    }
+
+    private static final class RecordingIngestSession implements BulkIngestSession {
+
+        private final List<List<IndexDocument>> batches = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public void add(List<IndexDocument> documents) {
+            batches.add(List.copyOf(documents));
+        }
+
+        @Override
+        public long awaitCompletion() {
+            close();
+            return batches.stream().mapToLong(List::size).sum();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private List<List<IndexDocument>> batches() {
+            return batches;
+        }
+
+        private boolean closed() {
+            return closed;
+        }
+    }
+
+    private static final class InMemoryEmbeddingStore implements EmbeddingStore {
+
+        private final Map<String, float[]> embeddings = new ConcurrentHashMap<>();
+        private final AtomicInteger compactionCount = new AtomicInteger();
+
+        @Override
+        public Map<String, float[]> findAll(Collection<String> textHashes) {
+            Map<String, float[]> found = new HashMap<>();
+            for (String textHash : textHashes) {
+                float[] embedding = embeddings.get(textHash);
+                if (embedding != null) {
+                    found.put(textHash, embedding);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void putAll(Map<String, float[]> newEmbeddings) {
+            embeddings.putAll(newEmbeddings);
+        }
+
+        @Override
+        public void compactIfNeeded() {
+            compactionCount.incrementAndGet();
+        }
+
+        private int size() {
+            return embeddings.size();
+        }
+
+        private int compactionCount() {
+            return compactionCount.get();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.aisearch.service.search.cache;
+
+import com.example.aisearch.config.AiSearchResultCacheProperties;
+import com.example.aisearch.model.ProductHitSource;
+import com.example.aisearch.model.SearchHitResult;
+import com.example.aisearch.model.search.ProductSearchRequest;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.model.search.SearchSortOption;
+import com.example.aisearch.service.indexing.domain.ReadAliasGeneration;
+import com.example.aisearch.service.search.categoryboost.api.CategoryBoostRules;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostBetaTuner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SearchResultCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 5);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ReadAliasGeneration readAliasGeneration = new ReadAliasGeneration();
+    private final AtomicReference<String> ruleVersion = new AtomicReference<>("v1");
+    private final CategoryBoostBetaTuner betaTuner = new CategoryBoostBetaTuner();
+    private final AtomicInteger searchCount = new AtomicInteger();
+
+    @Test
+    void 같은_요청은_두번째부터_검색을_실행하지_않는다() {
+        SearchResultCache cache = cache(true);
+        ProductSearchRequest request = request("사과", List.of(3, 1));
+
+        SearchPageResult first = cache.get(request, FIRST_PAGE, this::search);
+        SearchPageResult second = cache.get(request("사과", List.of(1, 3, 1)), FIRST_PAGE, this::search);
+
+        assertSame(first, second);
+        assertEquals(1, searchCount.get());
+        assertEquals(1L, cache.stats().hitCount());
+        assertEquals(1L, cache.stats().missCount());
+    }
+
+    @Test
+    void alias가_전환되면_이전_결과를_쓰지_않는다() {
+        SearchResultCache cache = cache(true);
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+
+        readAliasGeneration.advance();
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+
+        assertEquals(2, searchCount.get());
+        assertEquals(1L, cache.stats().entryCount());
+    }
+
+    @Test
+    void 부스팅_룰_버전이나_beta가_바뀌면_다시_검색한다() {
+        SearchResultCache cache = cache(true);
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+
+        ruleVersion.set("v2");
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+        betaTuner.setBeta(2.0);
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+
+        assertEquals(3, searchCount.get());
+    }
+
+    @Test
+    void 페이지가_다르면_별도로_캐시한다() {
+        SearchResultCache cache = cache(true);
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+        cache.get(request("사과", null), PageRequest.of(1, 5), this::search);
+
+        assertEquals(2, searchCount.get());
+    }
+
+    @Test
+    void 캐시_불가_결과는_저장하지_않는다() {
+        SearchResultCache cache = cache(true);
+        cache.get(request("사과", null), FIRST_PAGE, () -> search().uncacheable());
+        cache.get(request("사과", null), FIRST_PAGE, () -> search().uncacheable());
+
+        assertEquals(2, searchCount.get());
+        assertEquals(0L, cache.stats().entryCount());
+    }
+
+    @Test
+    void 비활성화되어_있으면_항상_검색한다() {
+        SearchResultCache cache = cache(false);
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+        cache.get(request("사과", null), FIRST_PAGE, this::search);
+
+        assertEquals(2, searchCount.get());
+    }
+
+    private SearchResultCache cache(boolean enabled) {
+        CategoryBoostRules rules = new CategoryBoostRules() {
+            @Override
+            public Optional<Map<String, Double>> findByKeyword(String keyword) {
+                return Optional.empty();
+            }
+
+            @Override
+            public String version() {
+                return ruleVersion.get();
+            }
+        };
+        return new SearchResultCache(
+                new AiSearchResultCacheProperties(enabled, 1_048_576L, 60L),
+                readAliasGeneration,
+                rules,
+                betaTuner
+        );
+    }
+
+    private ProductSearchRequest request(String query, List<Integer> categoryIds) {
+        return new ProductSearchRequest(query, null, categoryIds, SearchSortOption.RELEVANCE_DESC);
+    }
+
+    private SearchPageResult search() {
+        searchCount.incrementAndGet();
+        return SearchPageResult.of(
+                FIRST_PAGE,
+                1L,
+                List.of(new SearchHitResult("food-1", 1.0, OBJECT_MAPPER.convertValue(
+                        Map.of("id", "food-1", "goods_name", "사과"), ProductHitSource.class)))
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.example.aisearch.service.search.strategy;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
+import com.example.aisearch.config.AiSearchAnnSearchProperties;
 import com.example.aisearch.config.AiSearchProperties;
 import com.example.aisearch.model.search.SearchSortOption;
 import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostBetaTuner;
@@ -15,12 +16,14 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class KnnSearchRequestSerializationTest {
     // 직렬화 구조 검증용 더미 벡터 (값 자체의 의미는 없다)
-    private static final List<Float> DUMMY_QUERY_VECTOR = List.of(0.11f, 0.22f, 0.33f);
+    private static final float[] DUMMY_QUERY_VECTOR = {0.11f, 0.22f, 0.33f};
     // 필터 직렬화 검증용 더미 카테고리 ID
     private static final List<Integer> DUMMY_CATEGORY_IDS = List.of(4);
 
@@ -50,7 +53,8 @@ class KnnSearchRequestSerializationTest {
             new ElasticsearchSearchRequestBuilder(
                     properties,
                     categoryBoostBetaTuner,
-                    new PainlessHybridScoreScriptFactory()
+                    new PainlessHybridScoreScriptFactory(),
+                    new AiSearchAnnSearchProperties(100, 400, 100)
             );
 
     @Test
@@ -102,6 +106,49 @@ class KnnSearchRequestSerializationTest {
         assertTrue(!appleJson.contains("Math.min(1.0"));
         assertTrue(filterOnlyJson.contains("\"terms\""));
         assertTrue(!filterOnlyJson.contains("\"script_score\""));
+        // 벡터/임베딩 해시는 _source에서 제외해 응답으로 받지 않는다.
+        assertTrue(appleJson.contains("\"_source\""));
+        assertTrue(appleJson.contains("\"excludes\""));
+        assertTrue(filterOnlyJson.contains("\"excludes\""));
     }
 
+    @Test
+    void ANN_요청은_knn_후보와_상위_후보_rescore로_직렬화된다() throws Exception {
+        com.example.aisearch.model.search.ProductSearchRequest request =
+                new com.example.aisearch.model.search.ProductSearchRequest(
+                        "사과",
+                        null,
+                        DUMMY_CATEGORY_IDS,
+                        SearchSortOption.CATEGORY_BOOSTING_DESC
+                );
+        Optional<Query> filterQuery = filterQueryBuilder.buildFilterQuery(request);
+        SearchRequest annRequest = searchRequestBuilder.buildAnnRequest(
+                "food-products-read",
+                filterQuery,
+                hybridBaseQueryBuilder.buildLexicalFallback(request, filterQuery),
+                hybridBaseQueryBuilder.build(request, filterQuery),
+                CategoryBoostingResult.withBoost(Map.of("4", 0.2)),
+                DUMMY_QUERY_VECTOR,
+                180,
+                20
+        );
+
+        String json = SearchDebugPrintSupport.toPrettyJson(annRequest);
+        SearchDebugPrintSupport.printSearchRequest("CASE C: ann + rescore", annRequest);
+
+        assertTrue(json.contains("\"knn\""));
+        assertTrue(json.contains("\"num_candidates\" : 400"));
+        // 페이지 끝(from + size)이 설정값보다 크면 k와 rescore window를 페이지 끝까지 늘린다.
+        assertTrue(json.contains("\"k\" : 200"));
+        assertTrue(json.contains("\"window_size\" : 200"));
+        // 임계값 미만 후보를 애플리케이션에서 거르기 위해 window 전체를 받는다.
+        assertTrue(json.contains("\"from\" : 0"));
+        assertTrue(json.contains("\"size\" : 200"));
+        assertTrue(json.contains("\"track_total_hits\" : false"));
+        assertTrue(json.contains("\"rescore_query\""));
+        assertTrue(json.contains("\"category_boost_by_id\""));
+        assertFalse(json.contains("\"min_score\""));
+        assertFalse(json.contains("\"sort\""));
+        assertTrue(json.contains("\"excludes\""));
+    }
 }
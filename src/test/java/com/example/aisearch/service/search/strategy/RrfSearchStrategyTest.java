@@ -0,0 +1,155 @@
+package com.example.aisearch.service.search.strategy;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.example.aisearch.config.AiSearchAnnSearchProperties;
+import com.example.aisearch.config.AiSearchHedgeProperties;
+import com.example.aisearch.config.AiSearchProperties;
+import com.example.aisearch.config.AiSearchRrfSearchProperties;
+import com.example.aisearch.model.ProductHitSource;
+import com.example.aisearch.model.search.ProductSearchRequest;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.model.search.SearchSortOption;
+import com.example.aisearch.service.embedding.QueryEmbeddingService;
+import com.example.aisearch.service.embedding.QueryEmbeddingUnavailableException;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostBetaTuner;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingDecider;
+import com.example.aisearch.service.search.categoryboost.policy.CategoryBoostingResult;
+import com.example.aisearch.service.search.query.HybridBaseQueryBuilder;
+import com.example.aisearch.service.search.query.SearchFilterQueryBuilder;
+import com.example.aisearch.service.search.strategy.hedge.LexicalFallbackHedge;
+import com.example.aisearch.service.search.strategy.mapper.DefaultSearchResponseMapper;
+import com.example.aisearch.service.search.strategy.request.ElasticsearchSearchRequestBuilder;
+import com.example.aisearch.service.search.strategy.script.PainlessHybridScoreScriptFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RrfSearchStrategyTest {
+
+    private static final float[] QUERY_VECTOR = {0.11f, 0.22f, 0.33f};
+    private static final ProductSearchRequest REQUEST =
+            new ProductSearchRequest("사과", null, null, SearchSortOption.RELEVANCE_DESC);
+
+    @Mock
+    private ElasticsearchAsyncClient client;
+
+    @Mock
+    private QueryEmbeddingService queryEmbeddingService;
+
+    @Mock
+    private CategoryBoostingDecider categoryBoostingDecider;
+
+    private final AiSearchProperties properties = new AiSearchProperties(
+            "http://localhost:9200",
+            "elastic",
+            "password",
+            "food-products",
+            "food-products-read",
+            "food-synonyms",
+            "classpath:es/dictionary/synonyms_ko.txt",
+            "classpath:es/dictionary/synonyms_kr_regression.txt",
+            "djl://dummy",
+            "classpath:/dummy",
+            0.74,
+            300L,
+            300L,
+            5000L,
+            1500L,
+            2,
+            3
+    );
+
+    private RrfSearchStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        CategoryBoostBetaTuner categoryBoostBetaTuner = new CategoryBoostBetaTuner();
+        strategy = new RrfSearchStrategy(
+                client,
+                queryEmbeddingService,
+                new SearchFilterQueryBuilder(),
+                new HybridBaseQueryBuilder(),
+                new ElasticsearchSearchRequestBuilder(
+                        properties,
+                        categoryBoostBetaTuner,
+                        new PainlessHybridScoreScriptFactory(),
+                        new AiSearchAnnSearchProperties(100, 400, 100)
+                ),
+                new DefaultSearchResponseMapper(),
+                categoryBoostingDecider,
+                categoryBoostBetaTuner,
+                new AiSearchRrfSearchProperties(50, 60, 100),
+                properties,
+                new LexicalFallbackHedge(new AiSearchHedgeProperties(false, 300L))
+        );
+        // 카테고리 4에 0.5 부스팅 (beta 기본값 1.0)
+        when(categoryBoostingDecider.decide(REQUEST)).thenReturn(CategoryBoostingResult.withBoost(Map.of("4", 0.5)));
+    }
+
+    @Test
+    void 융합_후_카테고리_부스팅으로_순위를_다시_매기고_오프셋_이후_페이지와_합집합_총건수를_반환한다() {
+        when(queryEmbeddingService.toQueryEmbeddingAsync("사과", true))
+                .thenReturn(CompletableFuture.completedFuture(QUERY_VECTOR));
+        // kNN 레그: a, b, c(카테고리 4) / BM25 레그: b, d
+        // RRF(c=60): b = 1/62 + 1/61, a = 1/61, d = 1/62, c = 1/63
+        // 부스팅 후 c = 1/63 * 1.5 > a 이므로 최종 순서는 b, c, a, d
+        stubLegs(
+                List.of(hit("a", 0.95, 1), hit("b", 0.90, 1), hit("c", 0.85, 4)),
+                List.of(hit("b", 7.0, 1), hit("d", 5.0, 1))
+        );
+
+        SearchPageResult firstPage = strategy.search(REQUEST, PageRequest.of(0, 2));
+        SearchPageResult secondPage = strategy.search(REQUEST, PageRequest.of(1, 2));
+
+        assertEquals(List.of("b", "c"), SearchResponseTestSupport.ids(firstPage));
+        assertEquals(List.of("a", "d"), SearchResponseTestSupport.ids(secondPage));
+        assertEquals(1.0 / 63 * 1.5, firstPage.results().get(1).score(), 1e-12);
+        assertEquals(4L, firstPage.totalElements());
+        assertEquals(2, firstPage.totalPages());
+    }
+
+    @Test
+    void 검색어_임베딩을_쓸_수_없으면_이미_보낸_BM25_레그로_fallback_페이지를_만든다() {
+        when(queryEmbeddingService.toQueryEmbeddingAsync("사과", true))
+                .thenReturn(CompletableFuture.failedFuture(new QueryEmbeddingUnavailableException("시간 초과")));
+        stubLegs(List.of(), List.of(hit("d", 5.0, 1), hit("b", 7.0, 1), hit("e", 3.0, 4)));
+
+        SearchPageResult page = strategy.search(REQUEST, PageRequest.of(1, 2));
+
+        assertEquals(List.of("e"), SearchResponseTestSupport.ids(page));
+        assertEquals(3L, page.totalElements());
+        assertFalse(page.cacheable());
+        // BM25 레그 한 번만 보낸다. (fallback 검색을 다시 보내지 않는다)
+        verify(client, times(1)).search(any(SearchRequest.class), eq(ProductHitSource.class));
+    }
+
+    private void stubLegs(List<Hit<ProductHitSource>> knnHits, List<Hit<ProductHitSource>> lexicalHits) {
+        when(client.search(any(SearchRequest.class), eq(ProductHitSource.class))).thenAnswer(invocation -> {
+            SearchRequest legRequest = invocation.getArgument(0);
+            boolean knnLeg = legRequest.knn() != null && !legRequest.knn().isEmpty();
+            return CompletableFuture.completedFuture(SearchResponseTestSupport.response(knnLeg ? knnHits : lexicalHits));
+        });
+    }
+
+    private static Hit<ProductHitSource> hit(String id, double score, int primaryCategoryId) {
+        return SearchResponseTestSupport.hit(id, score, Map.of("primary_lev3_category_id", primaryCategoryId));
+    }
+}
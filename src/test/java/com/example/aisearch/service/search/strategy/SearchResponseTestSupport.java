@@ -0,0 +1,48 @@
+package com.example.aisearch.service.search.strategy;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.example.aisearch.model.ProductHitSource;
+import com.example.aisearch.model.SearchHitResult;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Elasticsearch 없이 검색 전략/응답 매퍼를 검증할 때 쓰는 응답·hit 생성 도우미.
+ */
+public final class SearchResponseTestSupport {
+
+    public static final String READ_ALIAS = "food-products-read";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private SearchResponseTestSupport() {
+    }
+
+    public static List<String> ids(SearchPageResult page) {
+        return page.results().stream().map(SearchHitResult::id).toList();
+    }
+
+    public static SearchResponse<ProductHitSource> response(List<Hit<ProductHitSource>> hits) {
+        return SearchResponse.of(r -> r
+                .took(1)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(hits))
+        );
+    }
+
+    /**
+     * @param fields id 외에 source에 넣을 필드 (색인 필드명 기준, 예: goods_name)
+     */
+    public static Hit<ProductHitSource> hit(String id, double score, Map<String, Object> fields) {
+        Map<String, Object> document = new HashMap<>(fields);
+        document.put("id", id);
+        ProductHitSource source = OBJECT_MAPPER.convertValue(document, ProductHitSource.class);
+        return Hit.of(h -> h.index(READ_ALIAS).id(id).score(score).source(source));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.aisearch.service.search.strategy.fusion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReciprocalRankFusionTest {
+
+    @Test
+    void 순위의_역수를_합산한다() {
+        Map<String, Double> fused = ReciprocalRankFusion.fuse(
+                List.of(List.of("a", "b", "c"), List.of("b", "d")),
+                60
+        );
+
+        assertEquals(1.0 / 61, fused.get("a"), 1e-12);
+        assertEquals(1.0 / 62 + 1.0 / 61, fused.get("b"), 1e-12);
+        assertEquals(1.0 / 63, fused.get("c"), 1e-12);
+        assertEquals(1.0 / 62, fused.get("d"), 1e-12);
+    }
+
+    @Test
+    void 두_목록에_모두_있는_문서가_한쪽_1위보다_앞선다() {
+        Map<String, Double> fused = ReciprocalRankFusion.fuse(
+                List.of(List.of("vector-only", "both"), List.of("lexical-only", "both")),
+                60
+        );
+
+        assertTrue(fused.get("both") > fused.get("vector-only"));
+        assertTrue(fused.get("both") > fused.get("lexical-only"));
+    }
+
+    @Test
+    void 빈_목록이면_빈_결과를_반환한다() {
+        assertTrue(ReciprocalRankFusion.fuse(List.of(List.of(), List.of()), 60).isEmpty());
+    }
+
+    @Test
+    void 음수_상수는_허용하지_않는다() {
+        assertThrows(IllegalArgumentException.class, () -> ReciprocalRankFusion.fuse(List.of(), -1));
+    }
+}
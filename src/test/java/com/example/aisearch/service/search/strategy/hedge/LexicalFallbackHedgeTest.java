@@ -0,0 +1,109 @@
+package com.example.aisearch.service.search.strategy.hedge;
+
+import com.example.aisearch.config.AiSearchHedgeProperties;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.service.embedding.QueryEmbeddingUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LexicalFallbackHedgeTest {
+
+    private static final SearchPageResult VECTOR_RESULT = SearchPageResult.of(PageRequest.of(0, 5), 2, List.of());
+    private static final SearchPageResult LEXICAL_RESULT = VECTOR_RESULT.uncacheable();
+
+    private final LexicalFallbackHedge hedge = new LexicalFallbackHedge(new AiSearchHedgeProperties(true, 20L));
+
+    @Test
+    void 임베딩이_soft_deadline_안에_끝나면_BM25를_보내지_않는다() {
+        AtomicInteger lexicalCalls = new AtomicInteger();
+
+        SearchPageResult result = hedge.race(
+                CompletableFuture.completedFuture(new float[]{0.1f}),
+                vector -> CompletableFuture.completedFuture(VECTOR_RESULT),
+                () -> {
+                    lexicalCalls.incrementAndGet();
+                    return CompletableFuture.completedFuture(LEXICAL_RESULT);
+                }
+        ).join();
+
+        assertSame(VECTOR_RESULT, result);
+        assertEquals(0, lexicalCalls.get());
+        assertEquals(new LexicalFallbackHedgeStats(true, 20L, 1, 0, 0), hedge.stats());
+    }
+
+    @Test
+    void 임베딩이_늦으면_BM25를_함께_보내고_먼저_끝난_결과를_쓴다() throws Exception {
+        CompletableFuture<float[]> slowEmbedding = new CompletableFuture<>();
+
+        SearchPageResult result = hedge.race(
+                slowEmbedding,
+                vector -> CompletableFuture.completedFuture(VECTOR_RESULT),
+                () -> CompletableFuture.completedFuture(LEXICAL_RESULT)
+        ).get(2, TimeUnit.SECONDS);
+
+        assertSame(LEXICAL_RESULT, result);
+        assertFalse(result.cacheable());
+        // BM25가 이겨도 임베딩은 취소하지 않는다. (늦게 끝난 벡터는 캐시에 남아야 한다)
+        assertFalse(slowEmbedding.isCancelled());
+        assertEquals(new LexicalFallbackHedgeStats(true, 20L, 1, 1, 1), hedge.stats());
+    }
+
+    @Test
+    void hedge로_보낸_BM25가_실패하면_벡터_검색_결과를_기다린다() throws Exception {
+        CompletableFuture<float[]> slowEmbedding = new CompletableFuture<>();
+        CompletableFuture<SearchPageResult> lexical = new CompletableFuture<>();
+
+        CompletableFuture<SearchPageResult> result = hedge.race(
+                slowEmbedding,
+                vector -> CompletableFuture.completedFuture(VECTOR_RESULT),
+                () -> lexical
+        );
+        lexical.completeExceptionally(new IllegalStateException("검색 요청 실패"));
+        Thread.sleep(50L);
+        slowEmbedding.complete(new float[]{0.1f});
+
+        assertSame(VECTOR_RESULT, result.get(2, TimeUnit.SECONDS));
+        assertEquals(new LexicalFallbackHedgeStats(true, 20L, 1, 1, 0), hedge.stats());
+    }
+
+    @Test
+    void soft_deadline_전에_임베딩이_불가하면_hedge가_아닌_fallback으로_전환한다() {
+        SearchPageResult result = hedge.race(
+                CompletableFuture.failedFuture(new QueryEmbeddingUnavailableException("모델 장애")),
+                vector -> CompletableFuture.completedFuture(VECTOR_RESULT),
+                () -> CompletableFuture.completedFuture(LEXICAL_RESULT)
+        ).join();
+
+        assertSame(LEXICAL_RESULT, result);
+        assertEquals(new LexicalFallbackHedgeStats(true, 20L, 1, 0, 0), hedge.stats());
+    }
+
+    @Test
+    void 벡터_검색의_ES_실패는_BM25로_감추지_않는다() {
+        AtomicInteger lexicalCalls = new AtomicInteger();
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> hedge.race(
+                CompletableFuture.completedFuture(new float[]{0.1f}),
+                vector -> CompletableFuture.failedFuture(new IllegalStateException("검색 요청 실패")),
+                () -> {
+                    lexicalCalls.incrementAndGet();
+                    return CompletableFuture.completedFuture(LEXICAL_RESULT);
+                }
+        ).join());
+
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertEquals(0, lexicalCalls.get());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.aisearch.service.search.strategy.mapper;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.example.aisearch.model.ProductHitSource;
+import com.example.aisearch.model.search.SearchPageResult;
+import com.example.aisearch.service.search.strategy.SearchResponseTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DefaultSearchResponseMapperTest {
+
+    private final DefaultSearchResponseMapper mapper = new DefaultSearchResponseMapper();
+
+    @Test
+    void ANN_rescore_window에서_키워드로만_들어온_유사도_낮은_문서는_결과와_총건수에서_빠진다() {
+        // "사과즙"은 multi_match로만 후보에 들어왔고 벡터 유사도가 임계값 미만이라 rescore 스크립트가 0점을 줬다.
+        SearchResponse<ProductHitSource> response = SearchResponseTestSupport.response(List.of(
+                SearchResponseTestSupport.hit("food-1", 0.91, Map.of("goods_name", "사과")),
+                SearchResponseTestSupport.hit("food-2", 0.84, Map.of("goods_name", "부사 사과")),
+                SearchResponseTestSupport.hit("food-3", 0.0, Map.of("goods_name", "사과즙")),
+                SearchResponseTestSupport.hit("food-4", 0.72, Map.of("goods_name", "홍로"))
+        ));
+
+        SearchPageResult firstPage = mapper.toRescoredWindowPageResult(response, PageRequest.of(0, 2));
+        SearchPageResult secondPage = mapper.toRescoredWindowPageResult(response, PageRequest.of(1, 2));
+
+        assertEquals(List.of("food-1", "food-2"), SearchResponseTestSupport.ids(firstPage));
+        assertEquals(List.of("food-4"), SearchResponseTestSupport.ids(secondPage));
+        assertEquals(3L, firstPage.totalElements());
+        assertEquals(2, firstPage.totalPages());
+    }
+}